@@ -0,0 +1,72 @@
+package cpusim;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.util.Arrays;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/*
+ * Runs the benchmarks, e.g.
+ * java -jar benchmarks/target/benchmarks.jar [JMH options] [benchmark regexp]
+ * Takes the usual JMH options, but unless told otherwise with -rf/-rff, writes the results as JSON to
+ * jmh-results/commit.json, named for the git commit being measured, so results from two commits can be compared.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class BenchmarkMain {
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+
+        // listing and help go straight to JMH
+        if (cli.shouldHelp() || cli.shouldList() || cli.shouldListWithParams() || cli.shouldListProfilers()
+                || cli.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+        if (!cli.getResult().hasValue() && !cli.getResultFormat().hasValue()) {
+            File dir = new File("jmh-results");
+            dir.mkdirs();
+            options.resultFormat(ResultFormatType.JSON).result(new File(dir, commit() + ".json").getPath());
+        }
+        new Runner(options.build()).run();
+    }
+
+    /*
+     * @returns the short hash of the current git commit, with -dirty added if
+     * there are changes not committed, or "local" if it cannot be found.
+     */
+    static String commit() {
+        try {
+            String hash = git("rev-parse", "--short", "HEAD");
+            if (hash.isEmpty()) {
+                return "local";
+            }
+            return git("status", "--porcelain", "--untracked-files=no").isEmpty() ? hash : hash + "-dirty";
+        } catch (Exception e) {
+            return "local";
+        }
+    }
+
+    static String git(String... args) throws Exception {
+        String[] command = new String[args.length + 1];
+        command[0] = "git";
+        System.arraycopy(args, 0, command, 1, args.length);
+        Process p = new ProcessBuilder(Arrays.asList(command)).redirectErrorStream(true).start();
+        StringBuilder out = new StringBuilder();
+        try (BufferedReader r = new BufferedReader(new InputStreamReader(p.getInputStream()))) {
+            for (String line = r.readLine(); line != null; line = r.readLine()) {
+                out.append(line);
+            }
+        }
+        return p.waitFor() == 0 ? out.toString().trim() : "";
+    }
+}
@@ -0,0 +1,75 @@
+package cpusim;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * Reads a whole job file, text or binary, the way the simulation does, taking every job off the source. Also times
+ * parsing the file into a Workload, as a sweep does.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParseBenchmark {
+
+    @Param({ "1000", "100000", "1000000" })
+    public int jobs;
+
+    String text;
+    String binary;
+
+    @Setup
+    public void setup() throws Exception {
+        text = Workloads.textFile(jobs);
+        binary = Workloads.binaryFile(jobs);
+    }
+
+    @Benchmark
+    public long readText() throws Exception {
+        return drain(JobSource.open(text));
+    }
+
+    @Benchmark
+    public long readBinary() throws Exception {
+        return drain(JobSource.open(binary));
+    }
+
+    @Benchmark
+    public int workload() throws Exception {
+        try (JobSource source = JobSource.open(text)) {
+            return new Workload(source).size();
+        }
+    }
+
+    /*
+     * @returns the sum of every burst, so no job can be skipped.
+     */
+    static long drain(JobSource source) {
+        long sum = 0;
+        try (source) {
+            while (source.hasNext()) {
+                for (int b : source.next().bursts) {
+                    sum += b;
+                }
+            }
+        }
+        return sum;
+    }
+}
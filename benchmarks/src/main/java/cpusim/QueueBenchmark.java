@@ -0,0 +1,143 @@
+package cpusim;
+
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * Compares the ready and blocked queues against the collections they replaced. Each queue is filled with size
+ * processes, then one operation takes a process off and puts it back, which is what a queue does once the
+ * simulation is running. The IntQueue and IntHeap benchmarks hold job numbers instead of processes, as in TableSim.
+ * The CFS ready queue charges each process its burst length before putting it back, as a CFS slice would, so it
+ * goes behind the others instead of always to the end of the tree.
+ * Run with -prof gc to see the bytes allocated per operation.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class QueueBenchmark {
+
+    @Param({ "1000", "1000000" })
+    public int size;
+
+    int[] keys;
+    LinkedList<PCB> linkedList;
+    FIFOReadyQueue fifo;
+    BlockedQueue blocked;
+    IntQueue intQueue;
+    PriorityQueue<PCB> priorityQueue;
+    SJFReadyQueue sjf;
+    IntHeap intHeap;
+    CFSReadyQueue cfs;
+
+    @Setup
+    public void setup() {
+
+        // random burst lengths, as in a job file
+        SplittableRandom random = new SplittableRandom(Workloads.SEED);
+        keys = new int[size];
+        linkedList = new LinkedList<>();
+        fifo = new FIFOReadyQueue();
+        blocked = new BlockedQueue();
+        intQueue = new IntQueue();
+        priorityQueue = new PriorityQueue<>(10, new Comparator<PCB>() {
+
+            // the comparison the old SJF ready queue made
+            public int compare(PCB p1, PCB p2) {
+                return Integer.compare(p1.bursts[p1.curBurst], p2.bursts[p2.curBurst]);
+            }
+        });
+        sjf = new SJFReadyQueue();
+        intHeap = new IntHeap();
+        cfs = new CFSReadyQueue(0);
+        for (int i = 0; i < size; i++) {
+            keys[i] = 1 + random.nextInt(250);
+            PCB p = new PCB(i, 0, 1, new int[] { keys[i] });
+            linkedList.add(p);
+            fifo.addProcess(p);
+            blocked.addProcess(p);
+            intQueue.add(i);
+            priorityQueue.add(p);
+            sjf.addProcess(p);
+            intHeap.add(i, keys[i]);
+            cfs.addProcess(new PCB(i, 0, 1, new int[] { keys[i] }));
+        }
+    }
+
+    @Benchmark
+    public PCB linkedList() {
+        PCB p = linkedList.remove();
+        linkedList.add(p);
+        return p;
+    }
+
+    @Benchmark
+    public PCB fifoReadyQueue() {
+        PCB p = fifo.getNext();
+        fifo.addProcess(p);
+        return p;
+    }
+
+    @Benchmark
+    public PCB blockedQueue() {
+        PCB p = blocked.getNext();
+        blocked.addProcess(p);
+        return p;
+    }
+
+    @Benchmark
+    public int intQueue() {
+        int j = intQueue.remove();
+        intQueue.add(j);
+        return j;
+    }
+
+    @Benchmark
+    public PCB priorityQueue() {
+        PCB p = priorityQueue.remove();
+        priorityQueue.add(p);
+        return p;
+    }
+
+    @Benchmark
+    public PCB sjfReadyQueue() {
+        PCB p = sjf.getNext();
+        sjf.addProcess(p);
+        return p;
+    }
+
+    @Benchmark
+    public PCB cfsReadyQueue() {
+        PCB p = cfs.getNext();
+        p.vruntime += p.bursts[0];
+        cfs.addProcess(p);
+        return p;
+    }
+
+    @Benchmark
+    public int intHeap() {
+        int j = intHeap.remove();
+        intHeap.add(j, keys[j]);
+        return j;
+    }
+}
@@ -0,0 +1,59 @@
+package cpusim;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * Runs a whole simulation, with nothing printed, on a made up workload that is parsed once beforehand. Covers every
+ * built in algorithm on both the PCB simulation and the job table. Every run goes through one SimulationBuilder, so
+ * runs after the first reuse its simulation state, as repeated runs embedded in a service would.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class SimulationBenchmark {
+
+    @Param({ "FCFS", "SJF", "RR" })
+    public String algorithm;
+
+    @Param({ "1000", "100000", "1000000" })
+    public int jobs;
+
+    @Param({ "pcb", "table" })
+    public String store;
+
+    static final int QUANTUM = 10;
+
+    SimulationBuilder builder;
+
+    @Setup
+    public void setup() throws Exception {
+        builder = new SimulationBuilder().workload(Workloads.workload(jobs)).policy(algorithm).quantum(QUANTUM)
+                .table(store.equals("table"));
+    }
+
+    /*
+     * @returns the final time, so the run cannot be skipped.
+     */
+    @Benchmark
+    public int run() throws Exception {
+        return builder.run().getFinalTime();
+    }
+}
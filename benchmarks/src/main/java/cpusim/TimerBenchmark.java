@@ -0,0 +1,104 @@
+package cpusim;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * Compares the TimingWheel with a binary heap (the EventQueue) as a store of I/O completion timers. Both are filled
+ * with pending timers spread evenly over the next 2 * pending time units, then each invocation expires the earliest
+ * BATCH timers and puts each one back at a random time up to 2 * pending ahead, so the number pending stays the same
+ * and the clock moves about one time unit per timer. Everything is set up again for each iteration, which keeps the
+ * clock well inside an int. The wheel expires everything due at a time together, so an invocation can run a few
+ * timers over BATCH; the score is the time per timer either way.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TimerBenchmark {
+    static final int BATCH = 1024;
+
+    @Param({ "1000", "1000000" })
+    public int pending;
+
+    int[] delays;
+    int next;
+    TimingWheel wheel;
+    IntQueue due;
+    int now;
+    EventQueue heap;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+
+        // a ring of random delays, so drawing one costs the same for both
+        SplittableRandom random = new SplittableRandom(Workloads.SEED);
+        delays = new int[1 << 16];
+        for (int i = 0; i < delays.length; i++) {
+            delays[i] = 1 + random.nextInt(2 * pending);
+        }
+
+        wheel = new TimingWheel();
+        due = new IntQueue();
+        heap = new EventQueue();
+        for (int i = 0; i < pending; i++) {
+            int time = delay();
+            wheel.add(time, i);
+            heap.schedule(time, EventQueue.IO, i);
+        }
+        now = 0;
+        next = 0;
+    }
+
+    int delay() {
+        next = (next + 1) & (delays.length - 1);
+        return delays[next];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int timingWheel() {
+        int done = 0;
+        while (done < BATCH) {
+            now = wheel.nextTime();
+            wheel.advance(now, due);
+            while (due.getSize() > 0) {
+                wheel.add(now + delay(), due.remove());
+                done++;
+            }
+        }
+        return done;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int binaryHeap() {
+        int sum = 0;
+        for (int done = 0; done < BATCH; done++) {
+            long event = heap.poll();
+            int time = EventQueue.timeOf(event);
+            heap.schedule(time + delay(), EventQueue.IO, EventQueue.dataOf(event));
+            sum += time;
+        }
+        return sum;
+    }
+}
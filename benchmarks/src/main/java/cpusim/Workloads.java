@@ -0,0 +1,72 @@
+package cpusim;
+
+import java.io.File;
+import java.util.HashMap;
+
+/*
+ * Made up job files for the benchmarks, the same for a given number of jobs every time so results can be compared
+ * between commits. Jobs come from a Generator with bursty arrivals and a mix of CPU and I/O bound jobs. Files are
+ * written to the temp directory once per run of the benchmarks and deleted on exit.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+final class Workloads {
+    static final long SEED = 20221109L;
+    static final String SPEC = "gen:seed=" + SEED + ",arrival=bursty:2:20:200,burst=exp:40,cpu=0.3,jobs=";
+
+    // files already written in this JVM, by format and number of jobs
+    static final HashMap<String, String> files = new HashMap<>();
+
+    /*
+     * @param jobs is the number of jobs
+     *
+     * @returns the text job file with that many jobs.
+     */
+    static synchronized String textFile(int jobs) throws Exception {
+        String key = "txt" + jobs;
+        if (!files.containsKey(key)) {
+            File f = File.createTempFile("cpusim-" + jobs + "-", ".txt");
+            f.deleteOnExit();
+            copy(new Generator(SPEC + jobs), new TextTraceWriter(f.getPath()));
+            files.put(key, f.getPath());
+        }
+        return files.get(key);
+    }
+
+    /*
+     * @param jobs is the number of jobs
+     *
+     * @returns the binary job file with that many jobs, the same jobs as the
+     * text file.
+     */
+    static synchronized String binaryFile(int jobs) throws Exception {
+        String key = "bin" + jobs;
+        if (!files.containsKey(key)) {
+            File f = File.createTempFile("cpusim-" + jobs + "-", ".bin");
+            f.deleteOnExit();
+            copy(JobSource.open(textFile(jobs)), new BinaryTraceWriter(f.getPath(), 1024, true));
+            files.put(key, f.getPath());
+        }
+        return files.get(key);
+    }
+
+    /*
+     * @param jobs is the number of jobs
+     *
+     * @returns the parsed jobs of the text file with that many jobs.
+     */
+    static Workload workload(int jobs) throws Exception {
+        try (JobSource source = JobSource.open(textFile(jobs))) {
+            return new Workload(source);
+        }
+    }
+
+    static void copy(JobSource in, TraceWriter out) throws Exception {
+        try (in; out) {
+            while (in.hasNext()) {
+                out.write(in.next());
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package cpusim;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/*
+ * Report sink that hands its events to another sink on a writer thread, so the simulation never waits on formatting
+ * or I/O. Events are packed as ints into batches; a full batch goes to the writer thread, which unpacks it into the
+ * other sink and hands the empty batch back for reuse. The simulation only blocks when the writer thread has fallen
+ * a few batches behind. Events reach the other sink in the order they happened.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param out Is the sink the events end up in.
+ * param batch Is the batch being filled: the number of ints used, then the events.
+ * param full Is the batches waiting for the writer thread.
+ * param free Is the batches the writer thread is done with.
+ * param failure Is the first error from the writer thread, thrown again on close.
+ */
+public final class AsyncSink implements ReportSink, Runnable {
+
+    // kinds of event, each followed by FIELDS ints
+    static final int JOB = 0;
+    static final int SNAPSHOT = 1;
+    static final int FIELDS = 7;
+
+    static final int BATCH = 4096 * (FIELDS + 1) + 1;
+    static final int BATCHES = 4;
+
+    // handed to the writer thread to tell it there is nothing more
+    static final int[] END = new int[0];
+
+    final ReportSink out;
+    final ArrayBlockingQueue<int[]> full;
+    final ArrayBlockingQueue<int[]> free;
+    final Thread writer;
+    int[] batch;
+    volatile Exception failure;
+
+    /*
+     * @param out Is the sink to write to, used only by the writer thread from now
+     * on.
+     */
+    public AsyncSink(ReportSink out) {
+        this.out = out;
+        full = new ArrayBlockingQueue<>(BATCHES + 1);
+        free = new ArrayBlockingQueue<>(BATCHES);
+        for (int i = 0; i < BATCHES; i++) {
+            int[] b = new int[BATCH];
+            b[0] = 1;
+            free.add(b);
+        }
+        batch = free.remove();
+
+        writer = new Thread(this, "report-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public void jobDone(int jobID, int arr, int compTime, int pc, int wait, int turnaround, int cpuShots) {
+        int k = reserve();
+        batch[k] = JOB;
+        batch[k + 1] = jobID;
+        batch[k + 2] = arr;
+        batch[k + 3] = compTime;
+        batch[k + 4] = pc;
+        batch[k + 5] = wait;
+        batch[k + 6] = turnaround;
+        batch[k + 7] = cpuShots;
+    }
+
+    public void snapshot(int time, int ready, int blocked, int completed) {
+        int k = reserve();
+        batch[k] = SNAPSHOT;
+        batch[k + 1] = time;
+        batch[k + 2] = ready;
+        batch[k + 3] = blocked;
+        batch[k + 4] = completed;
+    }
+
+    /*
+     * Sends what is left to the writer thread, waits for it to write everything
+     * and closes the other sink.
+     */
+    public void close() throws Exception {
+        if (batch[0] > 1) {
+            hand(batch);
+        }
+        full.put(END);
+        writer.join();
+        out.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /*
+     * Unpacks batches into the other sink until told to stop. After an error the
+     * batches are still taken, so the simulation does not block, but dropped.
+     */
+    public void run() {
+        try {
+            for (int[] b = full.take(); b != END; b = full.take()) {
+                if (failure == null) {
+                    try {
+                        write(b);
+                    } catch (Exception e) {
+                        failure = e;
+                    }
+                }
+                b[0] = 1;
+                free.put(b);
+            }
+        } catch (InterruptedException e) {
+            failure = e;
+        }
+    }
+
+    void write(int[] b) {
+        for (int k = 1; k < b[0]; k += FIELDS + 1) {
+            if (b[k] == JOB) {
+                out.jobDone(b[k + 1], b[k + 2], b[k + 3], b[k + 4], b[k + 5], b[k + 6], b[k + 7]);
+            } else {
+                out.snapshot(b[k + 1], b[k + 2], b[k + 3], b[k + 4]);
+            }
+        }
+    }
+
+    /*
+     * @returns where the next event goes in the batch, after handing the batch
+     * to the writer thread if it is full.
+     */
+    int reserve() {
+        if (batch[0] == BATCH) {
+            hand(batch);
+            try {
+                batch = free.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+        int k = batch[0];
+        batch[0] = k + FIELDS + 1;
+        return k;
+    }
+
+    void hand(int[] b) {
+        try {
+            full.put(b);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package cpusim;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/*
+ * Runs one algorithm over many job files in one JVM, e.g. a night's traces from every host, and prints one table with
+ * a row for each file. Each file is its own task: it is read into a Workload, simulated on its own, and its Report
+ * kept, so a file that cannot be read or run only fails its own row.
+ * Reading is waiting on the disk and simulating is using a processor, so the two are kept apart. Every file is read
+ * on a virtual thread (a thread each where the JVM has none, before Java 21), which then hands the simulation to a
+ * fixed pool of one worker per processor and waits for it, so files are read while others are simulated. Each worker
+ * takes one of as many SimulationBuilders, which reuse their run state from one file to the next. At most two files
+ * per worker are read ahead of the workers, so memory stays bounded however many files there are.
+ * The files are a directory, whose every file is taken, or a path whose file name is a glob, e.g. traces/*.txt, in
+ * name order.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param files Is the job files, in name order.
+ * param reports Is the report of each file, null if it failed.
+ * param errors Is why each file failed, null if it did not.
+ * param reading Is the time spent reading each file, in nanoseconds.
+ * param simulating Is the time spent simulating each file, in nanoseconds.
+ * param builders Is the builders free for a worker to take.
+ * param loaded Is the permits to read a file, one for each that can be held in memory at once.
+ */
+public class Batch {
+    final Path[] files;
+    final Report[] reports;
+    final String[] errors;
+    final long[] reading;
+    final long[] simulating;
+    final ArrayBlockingQueue<SimulationBuilder> builders;
+    final Semaphore loaded;
+
+    /*
+     * @param files Is the job files.
+     *
+     * @param params Is the parameter map from Main.handleArgs, which every
+     * builder is set up from.
+     *
+     * @param workers Is the number of simulations run at once.
+     */
+    Batch(Path[] files, HashMap<String, String> params, int workers) throws Exception {
+        this.files = files;
+        reports = new Report[files.length];
+        errors = new String[files.length];
+        reading = new long[files.length];
+        simulating = new long[files.length];
+        builders = new ArrayBlockingQueue<>(workers);
+        for (int i = 0; i < workers; i++) {
+            SimulationBuilder builder = Main.builder(params).output("quiet").file(files[0].toString());
+
+            // a setting that cannot run fails here rather than in every file's row
+            builder.check();
+            builders.add(builder);
+        }
+        loaded = new Semaphore(2 * workers);
+    }
+
+    /*
+     * Reads, simulates and reports on one file. Runs on a reading thread.
+     *
+     * @param i is the file's index
+     *
+     * @param workers is the pool to simulate on
+     */
+    void run(int i, ExecutorService workers) {
+        try {
+            loaded.acquire();
+            try {
+                long start = System.nanoTime();
+                Workload workload;
+                try (JobSource source = JobSource.open(files[i].toString())) {
+                    workload = new Workload(source);
+                }
+                reading[i] = System.nanoTime() - start;
+
+                // the reading thread waits for a worker, leaving its own to read the next file
+                reports[i] = workers.submit(() -> simulate(i, workload)).get();
+            } finally {
+                loaded.release();
+            }
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            errors[i] = cause.getMessage() != null ? cause.getMessage() : cause.toString();
+        }
+    }
+
+    /*
+     * Simulates one file with a free builder. Runs on a worker.
+     *
+     * @returns the file's report.
+     */
+    Report simulate(int i, Workload workload) throws Exception {
+        SimulationBuilder builder = builders.take();
+        try {
+            long start = System.nanoTime();
+            Report report = builder.workload(workload).run();
+            simulating[i] = System.nanoTime() - start;
+            return report;
+        } finally {
+            builders.add(builder);
+        }
+    }
+
+    /*
+     * Finds the files, runs them all and prints the table.
+     *
+     * @param params is the parameter map from Main.handleArgs
+     */
+    static void run(HashMap<String, String> params) throws Exception {
+        Path[] files = files(params.get("batch"));
+        int n = Runtime.getRuntime().availableProcessors();
+        Batch batch = new Batch(files, params, n);
+
+        ExecutorService workers = Executors.newFixedThreadPool(n);
+        ExecutorService readers = readers(2 * n);
+        long start = System.nanoTime();
+        for (int i = 0; i < files.length; i++) {
+            int file = i;
+            readers.execute(() -> batch.run(file, workers));
+        }
+
+        // every file has a row once the readers are done
+        readers.shutdown();
+        readers.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS);
+        long nanos = System.nanoTime() - start;
+        workers.shutdown();
+
+        boolean virtual = !(readers instanceof ThreadPoolExecutor);
+        batch.print(params.get("algorithm") + (params.containsKey("quantum") ? " " + params.get("quantum") : ""),
+                nanos, n, virtual);
+        int failed = 0;
+        for (String error : batch.errors) {
+            failed += error == null ? 0 : 1;
+        }
+        if (failed > 0) {
+            throw new Exception("Illegal job files. " + failed + " of " + files.length + " could not be run.");
+        }
+    }
+
+    /*
+     * @returns a virtual thread per task if the JVM has them (Java 21 on),
+     * looked up by name since this builds for 17, or else a pool of that many
+     * platform threads.
+     */
+    static ExecutorService readers(int threads) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(threads);
+        }
+    }
+
+    /*
+     * Lists the job files of a directory, or the files a glob matches.
+     *
+     * @param spec is a directory, or a path whose file name is a glob, e.g.
+     * traces/*.txt
+     *
+     * @returns the files in name order.
+     */
+    static Path[] files(String spec) throws Exception {
+        Path path = Paths.get(spec);
+        Path dir = path;
+        PathMatcher matcher = p -> true;
+        if (!Files.isDirectory(path)) {
+            dir = path.getParent() != null ? path.getParent() : Paths.get(".");
+            matcher = FileSystems.getDefault().getPathMatcher("glob:" + path.getFileName());
+        }
+        if (!Files.isDirectory(dir)) {
+            throw new Exception("Illegal --batch " + spec + ". There is no directory " + dir);
+        }
+        PathMatcher match = matcher;
+        Path[] files;
+        try (Stream<Path> list = Files.list(dir)) {
+            files = list.filter(p -> Files.isRegularFile(p) && match.matches(p.getFileName())).sorted()
+                    .toArray(Path[]::new);
+        }
+        if (files.length == 0) {
+            throw new Exception("Illegal --batch " + spec + ". No job files match it.");
+        }
+        return files;
+    }
+
+    /*
+     * Prints a row for each file and one for every job of every file together,
+     * the failures, and the wall time and throughput of the whole batch.
+     *
+     * @param title is the algorithm run
+     *
+     * @param nanos is the wall time of the batch
+     *
+     * @param workers is the number of simulations run at once
+     *
+     * @param virtual is True if the files were read on virtual threads
+     */
+    void print(String title, long nanos, int workers, boolean virtual) {
+        title = "BATCH REPORT: " + title;
+        int left = (89 - title.length()) / 2;
+        String line = "===========================================================================================";
+        System.out.println();
+        System.out.println(line);
+        System.out.printf("|%s%s%s|%n", " ".repeat(left), title, " ".repeat(89 - title.length() - left));
+        System.out.println(line);
+        System.out.printf("| %-27s | %-8s | %-10s | %-9s | %-9s | %-9s |%n", "File", "Jobs", "Total Time", "Avg Wait",
+                "Avg Turn", "p99 Wait");
+        System.out.println(line);
+        Report all = new Report(title, 0);
+        long read = 0;
+        long simulated = 0;
+        for (int i = 0; i < files.length; i++) {
+            String name = files[i].getFileName().toString();
+            if (name.length() > 27) {
+                name = "..." + name.substring(name.length() - 24);
+            }
+            Report r = reports[i];
+            if (r == null) {
+                System.out.printf("| %-27s | %-56s |%n", name, "failed, see below");
+                continue;
+            }
+            printRow(name, r);
+            all.merge(r);
+            read += reading[i];
+            simulated += simulating[i];
+        }
+        System.out.println(line);
+
+        // the total time of every file together is that of the longest
+        printRow("All files", all);
+        System.out.println(line);
+        for (int i = 0; i < files.length; i++) {
+            if (errors[i] != null) {
+                System.out.printf("%s: %s%n", files[i], errors[i]);
+            }
+        }
+
+        double seconds = nanos / 1e9;
+        System.out.printf("%d files, %d jobs in %d ms, %.0f jobs/sec, on %d workers reading on %s%n", files.length,
+                all.getJobs(), nanos / 1000000, all.getJobs() / seconds, workers,
+                virtual ? "virtual threads" : "platform threads");
+        System.out.printf("reading took %d ms and simulating %d ms in all%n", read / 1000000, simulated / 1000000);
+    }
+
+    static void printRow(String name, Report r) {
+        System.out.printf("| %-27s | %-8d | %-10d | %-9d | %-9d | %-9d |%n", name, r.getJobs(), r.getFinalTime(),
+                (int) r.getAverageWait(), (int) r.getAverageTurnaround(), r.getWait().valueAt(99));
+    }
+}
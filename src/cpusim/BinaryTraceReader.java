@@ -0,0 +1,245 @@
+package cpusim;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/*
+ * Reads a binary job file written by BinaryTraceWriter, as the simulation asks for jobs. The file is memory mapped
+ * and each job is decoded straight from the mapping into its PCB, with no copy of the file held anywhere. Files
+ * bigger than the largest mapping Java allows are mapped one window at a time.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param buf Is the mapped window of the file, starting at base.
+ * param end Is the offset where the jobs end and the index starts.
+ * param prevID Is the id of the previous job, which the next one is stored relative to.
+ * param prevArr Is the arrival time of the previous job.
+ * param extras Is True if the file was written with the extras flag, so jobs may carry extra fields.
+ */
+public class BinaryTraceReader implements JobSource {
+    static final long WINDOW = 1L << 30;
+
+    final String fname;
+    FileChannel channel;
+    MappedByteBuffer buf;
+    long base;
+    long end;
+    int jobs;
+    int stride;
+    long indexOffset;
+    int taken;
+    int prevID;
+    int prevArr;
+    boolean extras;
+    PCB lookahead;
+
+    /*
+     * @param fname is the name of the binary job file
+     */
+    public BinaryTraceReader(String fname) throws IOException {
+        this.fname = fname;
+        channel = FileChannel.open(Paths.get(fname), StandardOpenOption.READ);
+        try {
+            readHeader();
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /*
+     * Checks the header and maps the first window of jobs.
+     */
+    void readHeader() throws IOException {
+        if (channel.size() < BinaryTraceWriter.HEADER_SIZE) {
+            throw new IOException(fname + " is not a binary job file");
+        }
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, BinaryTraceWriter.HEADER_SIZE);
+        if (header.getInt() != BinaryTraceWriter.MAGIC) {
+            throw new IOException(fname + " is not a binary job file");
+        }
+        int version = header.getInt();
+        if (version != BinaryTraceWriter.VERSION) {
+            throw new IOException(fname + " is version " + version + " of the binary job file format, expected "
+                    + BinaryTraceWriter.VERSION);
+        }
+        int flags = header.getInt();
+        jobs = header.getInt();
+        extras = (flags & BinaryTraceWriter.FLAG_EXTRAS) != 0;
+        indexOffset = (flags & BinaryTraceWriter.FLAG_INDEX) != 0 ? header.getLong() : 0;
+        header.position(24);
+        stride = header.getInt();
+
+        end = indexOffset != 0 ? indexOffset : channel.size();
+        map(BinaryTraceWriter.HEADER_SIZE);
+    }
+
+    /*
+     * @returns True if the file is a binary job file, judging by its first bytes.
+     */
+    static boolean isBinary(String fname) throws IOException {
+        try (FileChannel c = FileChannel.open(Paths.get(fname), StandardOpenOption.READ)) {
+            return c.size() >= 4 && c.map(FileChannel.MapMode.READ_ONLY, 0, 4).getInt() == BinaryTraceWriter.MAGIC;
+        }
+    }
+
+    public boolean hasNext() {
+        return channel != null && taken < jobs;
+    }
+
+    public PCB peek() {
+        if (lookahead == null && hasNext()) {
+            lookahead = readJob();
+        }
+        return lookahead;
+    }
+
+    public PCB next() {
+        PCB out = peek();
+        if (out == null) {
+            throw new NoSuchElementException("No more jobs in " + fname);
+        }
+        lookahead = null;
+        taken++;
+        return out;
+    }
+
+    public int total() {
+        return jobs;
+    }
+
+    /*
+     * Closes the file. The mapping goes once nothing refers to it.
+     */
+    public void close() {
+        lookahead = null;
+        buf = null;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                channel = null;
+            }
+        }
+    }
+
+    /*
+     * Moves the reader to the first job arriving at or after the given time,
+     * using the index to skip straight to the right stride, or reading through
+     * the jobs if the file has no index. Never moves the reader back.
+     * 
+     * @param time is the arrival time to look for
+     */
+    public void seekArrival(int time) throws Exception {
+        int entries = (jobs + stride - 1) / stride;
+        if (indexOffset == 0 || !hasNext()) {
+            JobSource.super.seekArrival(time);
+            return;
+        }
+
+        // binary search for the last indexed job arriving before the time
+        ByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, 12L * entries);
+        int lo = 0;
+        int hi = entries - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (index.getInt(12 * mid) < time) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+
+        if (lo * stride > taken) {
+            map(index.getLong(12 * lo + 4));
+            taken = lo * stride;
+            lookahead = null;
+        }
+        while (hasNext() && peek().arr < time) {
+            next();
+        }
+    }
+
+    /*
+     * Decodes the next job from the mapping.
+     */
+    PCB readJob() {
+        if (taken % stride == 0) {
+            prevID = 0;
+            prevArr = 0;
+        }
+        int jobID = prevID + unzigzag(readVarint());
+        int arr = prevArr + unzigzag(readVarint());
+        int count = readVarint();
+        int[] bursts = new int[extras ? count >>> 1 : count];
+        for (int i = 0; i < bursts.length; i++) {
+            bursts[i] = readVarint();
+        }
+        prevID = jobID;
+        prevArr = arr;
+        PCB out = new PCB(jobID, arr, bursts.length, bursts);
+
+        // I/O lengths, device, deadline and period, if the job has them
+        if (extras && (count & 1) != 0) {
+            int which = readVarint();
+            if ((which & BinaryTraceWriter.EXTRA_IO) != 0) {
+                out.io = new int[bursts.length - 1];
+                for (int i = 0; i < out.io.length; i++) {
+                    out.io[i] = readVarint();
+                }
+            }
+            if ((which & BinaryTraceWriter.EXTRA_DEVICE) != 0) {
+                out.device = readVarint();
+            }
+            if ((which & BinaryTraceWriter.EXTRA_DEADLINE) != 0) {
+                out.deadline = readVarint();
+            }
+            if ((which & BinaryTraceWriter.EXTRA_PERIOD) != 0) {
+                out.period = readVarint();
+            }
+        }
+        return out;
+    }
+
+    int readVarint() {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (!buf.hasRemaining()) {
+                map(base + buf.position());
+            }
+            b = buf.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /*
+     * Maps the window of the file starting at an offset.
+     * 
+     * @param offset is the offset in the file
+     */
+    void map(long offset) {
+        try {
+            base = offset;
+            buf = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(WINDOW, end - offset));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,194 @@
+package cpusim;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/*
+ * Writes jobs to the compact binary job file format read by BinaryTraceReader. The layout is:
+ * 
+ * header (32 bytes): magic "CPUT", version, flags, number of jobs, offset of the index (long), index stride, unused
+ * jobs: id, arrival, number of bursts, bursts... as varints, one job after the other. With the extras flag, the
+ * number of bursts is shifted up one bit, and a low bit of 1 means the bursts are followed by a varint saying which
+ * extra fields come next (1 the I/O lengths, one less than the bursts, 2 the I/O device, 4 the deadline, 8 the
+ * period), then those fields in that order
+ * index (optional): arrival time (int) and file offset (long) of every stride-th job
+ * 
+ * Ids and arrival times are stored as the zigzag encoded difference from the previous job, which is one byte for
+ * ordinary job files. Every stride-th job starts the differences over from 0, so a reader can start decoding at any
+ * index entry. Bursts are stored as they are, most of them fit in one or two bytes.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param out Is the buffer jobs are written to before they go to the file.
+ * param indexArrivals Is the arrival time of each indexed job.
+ * param indexOffsets Is the file offset of each indexed job.
+ */
+public class BinaryTraceWriter implements TraceWriter {
+    static final int MAGIC = 0x43505554;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int FLAG_INDEX = 1;
+    static final int FLAG_EXTRAS = 2;
+    static final int EXTRA_IO = 1;
+    static final int EXTRA_DEVICE = 2;
+    static final int EXTRA_DEADLINE = 4;
+    static final int EXTRA_PERIOD = 8;
+
+    FileChannel channel;
+    ByteBuffer out;
+    long offset;
+    int stride;
+    boolean index;
+    int jobs;
+    int prevID;
+    int prevArr;
+    int[] indexArrivals;
+    long[] indexOffsets;
+
+    /*
+     * @param fname is the name of the file to write, replaced if it exists
+     * 
+     * @param stride is the number of jobs between index entries
+     * 
+     * @param index is True to write the arrival time index at the end of the file
+     */
+    public BinaryTraceWriter(String fname, int stride, boolean index) throws IOException {
+        channel = FileChannel.open(Paths.get(fname), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        out = ByteBuffer.allocateDirect(1 << 16);
+        this.stride = stride;
+        this.index = index;
+        indexArrivals = new int[64];
+        indexOffsets = new long[64];
+
+        // header is filled in on close, once the counts are known
+        channel.position(HEADER_SIZE);
+        offset = HEADER_SIZE;
+    }
+
+    /*
+     * Adds a job to the end of the file.
+     * 
+     * @param p is the job
+     */
+    public void write(PCB p) throws IOException {
+        if (p.burstCount + 1 != p.bursts.length) {
+            throw new IllegalArgumentException("Job " + p.jobID + " has " + p.bursts.length
+                    + " bursts but a count of " + (p.burstCount + 1));
+        }
+
+        // each stride starts from scratch, and is indexed
+        if (jobs % stride == 0) {
+            int k = jobs / stride;
+            if (k == indexArrivals.length) {
+                indexArrivals = Arrays.copyOf(indexArrivals, k * 2);
+                indexOffsets = Arrays.copyOf(indexOffsets, k * 2);
+            }
+            indexArrivals[k] = p.arr;
+            indexOffsets[k] = offset + out.position();
+            prevID = 0;
+            prevArr = 0;
+        }
+
+        if (p.io != null && p.io.length != p.bursts.length - 1) {
+            throw new IllegalArgumentException("Job " + p.jobID + " has " + p.io.length + " I/O lengths for "
+                    + p.bursts.length + " bursts");
+        }
+        int extras = (p.io != null ? EXTRA_IO : 0) | (p.device >= 0 ? EXTRA_DEVICE : 0)
+                | (p.deadline > 0 ? EXTRA_DEADLINE : 0) | (p.period > 0 ? EXTRA_PERIOD : 0);
+
+        ensure(5 * (7 + 2 * p.bursts.length));
+        putVarint(zigzag(p.jobID - prevID));
+        putVarint(zigzag(p.arr - prevArr));
+        putVarint(p.bursts.length << 1 | (extras != 0 ? 1 : 0));
+        for (int b : p.bursts) {
+            putVarint(b);
+        }
+        if (extras != 0) {
+            putVarint(extras);
+            if (p.io != null) {
+                for (int t : p.io) {
+                    putVarint(t);
+                }
+            }
+            if (p.device >= 0) {
+                putVarint(p.device);
+            }
+            if (p.deadline > 0) {
+                putVarint(p.deadline);
+            }
+            if (p.period > 0) {
+                putVarint(p.period);
+            }
+        }
+
+        prevID = p.jobID;
+        prevArr = p.arr;
+        jobs++;
+    }
+
+    /*
+     * Writes the index and the header, and closes the file.
+     */
+    public void close() throws IOException {
+        flush();
+        long indexOffset = 0;
+        if (index) {
+            indexOffset = offset;
+            int entries = (jobs + stride - 1) / stride;
+            for (int k = 0; k < entries; k++) {
+                ensure(12);
+                out.putInt(indexArrivals[k]);
+                out.putLong(indexOffsets[k]);
+            }
+            flush();
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putInt((index ? FLAG_INDEX : 0) | FLAG_EXTRAS).putInt(jobs);
+        header.putLong(indexOffset).putInt(stride).putInt(0);
+        header.flip();
+        channel.write(header, 0);
+        channel.close();
+    }
+
+    /*
+     * Makes sure the buffer has room for a number of bytes, emptying it into the
+     * file if not.
+     * 
+     * @param bytes is the number of bytes about to be written
+     */
+    void ensure(int bytes) throws IOException {
+        if (out.remaining() < bytes) {
+            flush();
+            if (out.capacity() < bytes) {
+                out = ByteBuffer.allocateDirect(bytes);
+            }
+        }
+    }
+
+    void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            offset += channel.write(out);
+        }
+        out.clear();
+    }
+
+    void putVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+}
@@ -1,8 +1,11 @@
-import java.util.LinkedList;
+package cpusim;
+
+import java.util.ArrayDeque;
 import java.util.Queue;
 
 /*
- * Data structure used to hold processes waiting for I/O. Typical FIFO queue used for implementation.
+ * Data structure used to hold processes waiting for I/O. Typical FIFO queue used for implementation, on an ArrayDeque
+ * so that adding a process allocates nothing once the queue has reached its largest size.
  * Ommitted method headers that are self explanitory.
  * 
  * @author Jay Turnsek
@@ -12,7 +15,7 @@ public class BlockedQueue {
     Queue<PCB> processes;
 
     public BlockedQueue() {
-        processes = new LinkedList<>();
+        processes = new ArrayDeque<>();
     }
 
     public void addProcess(PCB proc) {
@@ -21,7 +24,7 @@ public class BlockedQueue {
 
     /*
      * Used to check if the current process at the top of the queue has completed
-     * it's I/O operation (assumed to be 10 time units)
+     * it's I/O operation (ioComp is set when it reaches the top)
      * 
      * @param cpuTime the current time of the cpu counter
      * 
@@ -43,6 +46,23 @@ public class BlockedQueue {
         return this.processes.size();
     }
 
+    public void clear() {
+        processes.clear();
+    }
+
+    public void save(Checkpoint out) {
+        out.writeInt(processes.size());
+        for (PCB p : processes) {
+            out.writePCB(p);
+        }
+    }
+
+    public void load(Checkpoint in) throws Exception {
+        for (int n = in.readInt(); n > 0; n--) {
+            processes.add(in.readPCB());
+        }
+    }
+
     public String toString() {
         String out = "";
         for (PCB p : this.processes) {
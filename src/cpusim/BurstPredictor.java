@@ -0,0 +1,124 @@
+package cpusim;
+
+import java.util.Arrays;
+
+/*
+ * Guesses the length of each process's next CPU burst from the bursts it has already run, so SJF and SRTF can run
+ * without knowing the future. The guess is kept in the process (PCB.estimate, one float) and is updated each time
+ * a burst ends, from the length that burst turned out to be (PCB.burstRan):
+ * exp exponential averaging, estimate = alpha * burst + (1 - alpha) * estimate (the textbook estimator)
+ * last the last burst
+ * mean the mean of every burst so far
+ * A process's first burst is guessed as initial. The error of every guess, guess minus burst, goes into the report.
+ * Settings go after the algorithm's name and a colon, separated by commas, e.g. SJF:predict=exp,alpha=0.5,initial=10
+ * predict=exp|last|mean turns the predictor on
+ * alpha=a is the weight of the last burst under exp, from 0 to 1 (default 0.5)
+ * initial=n is the guess for the first burst (default 10)
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param kind Is the estimator.
+ * param alpha Is the weight of the last burst under exp.
+ * param initial Is the guess for a process's first burst.
+ */
+public final class BurstPredictor {
+    static final int EXP = 0;
+    static final int LAST = 1;
+    static final int MEAN = 2;
+    static final String[] KINDS = { "exp", "last", "mean" };
+    static final String SETTINGS = "Settings are predict=exp|last|mean, alpha=a, initial=n.";
+
+    final int kind;
+    final float alpha;
+    final int initial;
+
+    BurstPredictor(int kind, float alpha, int initial) {
+        this.kind = kind;
+        this.alpha = alpha;
+        this.initial = initial;
+    }
+
+    /*
+     * Makes the predictor for the settings of an algorithm.
+     *
+     * @param name is the name of the algorithm, for error messages
+     *
+     * @param settings is everything after the colon
+     */
+    static BurstPredictor parse(String name, String settings) throws Exception {
+        int kind = -1;
+        float alpha = 0.5f;
+        int initial = 10;
+        for (String setting : settings.split(",")) {
+            String[] kv = setting.split("=", 2);
+            if (kv.length != 2) {
+                throw new Exception("Illegal " + name + " setting " + setting + ". " + SETTINGS);
+            }
+            if (kv[0].equals("predict")) {
+                kind = Arrays.asList(KINDS).indexOf(kv[1]);
+                if (kind == -1) {
+                    throw new Exception("Illegal " + name + " predictor " + kv[1] + ". Choose from "
+                            + String.join(", ", KINDS) + ".");
+                }
+            } else if (kv[0].equals("alpha")) {
+                alpha = Float.parseFloat(kv[1]);
+                if (!(alpha >= 0 && alpha <= 1)) {
+                    throw new Exception("Illegal " + name + " alpha " + kv[1] + ". Must be from 0 to 1.");
+                }
+            } else if (kv[0].equals("initial")) {
+                initial = Integer.parseInt(kv[1]);
+                if (initial < 0) {
+                    throw new Exception("Illegal " + name + " initial " + kv[1] + ". Must be at least 0.");
+                }
+            } else {
+                throw new Exception("Illegal " + name + " setting " + setting + ". " + SETTINGS);
+            }
+        }
+        if (kind == -1) {
+            throw new Exception("Illegal " + name + " settings " + settings + ". predict is needed. " + SETTINGS);
+        }
+        return new BurstPredictor(kind, alpha, initial);
+    }
+
+    /*
+     * @returns the guess for the length of a process's current burst.
+     */
+    float guess(PCB process) {
+        return process.curBurst == 0 ? initial : process.estimate;
+    }
+
+    /*
+     * @returns the guess for what is left of a process's current burst, never
+     * below 0, given that it has run ran of it.
+     */
+    int left(PCB process, int ran) {
+        return Math.max(0, Math.round(guess(process)) - ran);
+    }
+
+    /*
+     * Keeps the error of the guess for a burst that has just ended, and updates
+     * the guess for the next one. Called before the process moves on to its next
+     * burst.
+     *
+     * @param process is the process, with burstRan the length of the burst
+     *
+     * @param report is where the error goes
+     */
+    void update(PCB process, Report report) {
+        float guess = guess(process);
+        int burst = process.burstRan;
+        report.addPrediction(Math.round(guess) - burst);
+        switch (kind) {
+            case LAST:
+                process.estimate = burst;
+                break;
+            case MEAN:
+                process.estimate = guess + (burst - guess) / (process.curBurst + 1);
+                break;
+            default:
+                process.estimate = alpha * burst + (1 - alpha) * guess;
+                break;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package cpusim;
+
+/*
+ * Completely fair scheduler, after the one in Linux: the process that has had the least CPU time (its virtual
+ * runtime) runs next, from a ready queue kept in a balanced tree. Instead of a fixed quantum, the slice is the target
+ * latency shared out among the processes that can run on the core, so every one of them gets a turn within the
+ * latency, but never less than the minimum granularity, so a long queue does not spend all its time switching.
+ * Settings go after the name and a colon, separated by commas, e.g. CFS:latency=80,granularity=10
+ * latency=n is the target latency (default 80)
+ * granularity=n is the shortest slice (default 10)
+ * A process coming back from I/O gets up to half the latency of sleeper credit (see CFSReadyQueue).
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param latency Is the target latency.
+ * param granularity Is the shortest slice.
+ * param settings Is the settings as given, null if none.
+ */
+public final class CFSPolicy implements SchedulingPolicy {
+    static final String SETTINGS = "Settings are latency=n, granularity=n.";
+
+    int latency = 80;
+    int granularity = 10;
+    String settings;
+
+    public String name() {
+        return "CFS";
+    }
+
+    public String label() {
+        return settings == null ? name() : name() + ":" + settings;
+    }
+
+    public ReadyQueue newReadyQueue() {
+        return new CFSReadyQueue(latency / 2);
+    }
+
+    public int slice(PCB process, int quantum) {
+        return slice(process, quantum, 1);
+    }
+
+    public int slice(PCB process, int quantum, int runnable) {
+        int run = Math.min(Math.max(latency / runnable, granularity), process.bursts[process.curBurst]);
+
+        // the slice always runs in full, so it is charged up front
+        process.vruntime += run;
+        return run;
+    }
+
+    public void configure(String settings) throws Exception {
+        for (String setting : settings.split(",")) {
+            String[] kv = setting.split("=", 2);
+            if (kv.length != 2) {
+                throw new Exception("Illegal CFS setting " + setting + ". " + SETTINGS);
+            }
+            int value = Integer.parseInt(kv[1]);
+            if (value < 1) {
+                throw new Exception("Illegal CFS " + kv[0] + " " + kv[1] + ". Must be at least 1.");
+            }
+            if (kv[0].equals("latency")) {
+                latency = value;
+            } else if (kv[0].equals("granularity")) {
+                granularity = value;
+            } else {
+                throw new Exception("Illegal CFS setting " + setting + ". " + SETTINGS);
+            }
+        }
+        this.settings = settings;
+    }
+}
@@ -0,0 +1,142 @@
+package cpusim;
+
+import java.util.Arrays;
+
+/*
+ * Ready Queue of the completely fair scheduler, ordered by virtual runtime, the CPU time each process has had so
+ * far. Each process is parked in a slot of an array, and the slots are ordered in an IntTree keyed by the process's
+ * virtual runtime, so the process that has had the least CPU time comes out next and processes with equal virtual
+ * runtime come out in the order they were added.
+ * The queue keeps the smallest virtual runtime it has handed out, which only goes up. A process joining the queue
+ * is moved up to it: a new process starts there, and one coming back from I/O starts at most sleeper credit below
+ * it, so a process cannot bank CPU time while it is away and then hold the core for as long as it was gone.
+ * Freed slots are reused, so adding a process allocates nothing once the queue has reached its largest size.
+ * Self explanitory methods have no description.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param processes Is the process parked in each slot, null if the slot is free.
+ * param tree Is the tree of used slots, keyed by virtual runtime.
+ * param free Is the slots that can be reused.
+ * param minVruntime Is the smallest virtual runtime handed out so far.
+ * param credit Is the most a process coming back from I/O can be placed below minVruntime.
+ */
+public class CFSReadyQueue implements ReadyQueue {
+    PCB[] processes;
+    IntTree tree;
+    IntQueue free;
+    long minVruntime;
+    final long credit;
+
+    /*
+     * @param credit Is the sleeper credit of a process coming back from I/O.
+     */
+    public CFSReadyQueue(long credit) {
+        this.credit = credit;
+        processes = new PCB[16];
+        tree = new IntTree();
+        free = new IntQueue();
+        for (int s = 0; s < processes.length; s++) {
+            free.add(s);
+        }
+    }
+
+    public void addProcess(PCB proc) {
+        if (free.getSize() == 0) {
+            grow();
+        }
+        proc.vruntime = Math.max(proc.vruntime, proc.cpuShots == 0 ? minVruntime : minVruntime - credit);
+        int slot = free.remove();
+        processes[slot] = proc;
+        tree.add(slot, proc.vruntime);
+    }
+
+    public int getSize() {
+        return tree.getSize();
+    }
+
+    public PCB getNext() {
+        int slot = tree.remove();
+        PCB out = processes[slot];
+        processes[slot] = null;
+        free.add(slot);
+        minVruntime = Math.max(minVruntime, out.vruntime);
+        return out;
+    }
+
+    /*
+     * Writes the processes with the order the tree breaks their ties in. Load
+     * adds them back sorted, which keeps that order.
+     */
+    public void save(Checkpoint out) {
+        out.writeLong(minVruntime);
+        out.writeInt(tree.getSize());
+        for (int slot = 0; slot < processes.length; slot++) {
+            if (processes[slot] != null) {
+                out.writePCB(processes[slot]);
+                out.writeLong(tree.order[slot + 1]);
+            }
+        }
+    }
+
+    public void load(Checkpoint in) throws Exception {
+        minVruntime = in.readLong();
+        int n = in.readInt();
+        PCB[] loaded = new PCB[n];
+        long[] order = new long[n];
+        Integer[] sorted = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            loaded[i] = in.readPCB();
+            order[i] = in.readLong();
+            sorted[i] = i;
+        }
+        Arrays.sort(sorted, (a, b) -> loaded[a].vruntime != loaded[b].vruntime
+                ? Long.compare(loaded[a].vruntime, loaded[b].vruntime)
+                : Long.compare(order[a], order[b]));
+        for (int i : sorted) {
+            if (free.getSize() == 0) {
+                grow();
+            }
+            int slot = free.remove();
+            processes[slot] = loaded[i];
+            tree.add(slot, loaded[i].vruntime);
+        }
+    }
+
+    /*
+     * Frees every slot, in order, as a new queue has them, and starts the
+     * virtual runtimes from 0 again.
+     */
+    public boolean reset() {
+        tree.clear();
+        Arrays.fill(processes, null);
+        free.clear();
+        for (int s = 0; s < processes.length; s++) {
+            free.add(s);
+        }
+        minVruntime = 0;
+        return true;
+    }
+
+    /*
+     * Doubles the number of slots, all of them in use.
+     */
+    void grow() {
+        int old = processes.length;
+        processes = Arrays.copyOf(processes, old * 2);
+        for (int s = old; s < processes.length; s++) {
+            free.add(s);
+        }
+    }
+
+    public String toString() {
+        String out = "";
+        for (PCB p : processes) {
+            if (p != null) {
+                out += p.toString() + " | vruntime : " + Long.toString(p.vruntime) + "\n";
+            }
+        }
+        return out;
+    }
+}
@@ -1,3 +1,5 @@
+package cpusim;
+
 /*
  * CPU class to hold the current process and the overall processing counter.
  * 
@@ -9,6 +11,7 @@ public class CPU {
     int counter;
     int deadline;
     int jobsCompleted;
+    long busyTime;
 
     /*
      * @param curProcess Denotes process currently being used by the CPU; null if
@@ -21,12 +24,15 @@ public class CPU {
      * 
      * @param jobsCompleted Tracks how many jobs the CPU has completed since
      * simulation start
+     * 
+     * @param busyTime Tracks how much time the CPU has spent running processes
      */
     public CPU() {
         curProcess = null;
         counter = 0;
         deadline = 0;
         jobsCompleted = 0;
+        busyTime = 0;
     }
 
     public void pushProcess(PCB proc) {
@@ -41,6 +47,16 @@ public class CPU {
         this.counter++;
     }
 
+    /*
+     * Moves the counter straight to a later time, skipping the time units in
+     * between where nothing happens.
+     * 
+     * @param time Time to move to
+     */
+    public void jumpTo(int time) {
+        this.counter = time;
+    }
+
     public int getCounter() {
         return counter;
     }
@@ -64,4 +80,31 @@ public class CPU {
         return this.counter >= this.deadline && curProcess != null;
     }
 
+    /*
+     * Puts the CPU back as it was when new, for another run.
+     */
+    public void reset() {
+        curProcess = null;
+        counter = 0;
+        deadline = 0;
+        jobsCompleted = 0;
+        busyTime = 0;
+    }
+
+    public void save(Checkpoint out) {
+        out.writePCB(curProcess);
+        out.writeInt(counter);
+        out.writeInt(deadline);
+        out.writeInt(jobsCompleted);
+        out.writeLong(busyTime);
+    }
+
+    public void load(Checkpoint in) throws Exception {
+        curProcess = in.readPCB();
+        counter = in.readInt();
+        deadline = in.readInt();
+        jobsCompleted = in.readInt();
+        busyTime = in.readLong();
+    }
+
 }
@@ -0,0 +1,288 @@
+package cpusim;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/*
+ * Snapshot of the whole state of a running Simulation, held as bytes so it can be written out on another thread
+ * (see CheckpointWriter) while the simulation goes on, and read back to resume the run exactly where it left off.
+ * Each part of the simulation writes its own state into the snapshot and reads it back in the same order; this class
+ * only holds the bytes and encodes the values. Numbers are zigzag varints, so the small numbers that most of the
+ * state is made of take a byte or two each; floats and doubles are kept as their raw bits. Every live process is in
+ * exactly one place (a core, a ready queue, a blocked queue or in flight on an I/O timer), so each PCB is written
+ * in full where it is found.
+ * The layout of the file is:
+ *
+ * header: magic "CPCK", version, then the run the checkpoint is of (see Main), as a length and bytes
+ * state: everything the simulation wrote, see Simulation.save
+ *
+ * Self explanitory methods have no description.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param buf Is the bytes of the snapshot, valid up to size when writing.
+ * param size Is the number of bytes written so far.
+ * param pos Is where the next value is read from.
+ */
+public final class Checkpoint {
+    static final int MAGIC = 0x4350434B;
+    static final int VERSION = 5;
+
+    // the states a PCB can be in, written as their index
+    static final String[] STATES = { "Ready", "Running", "Blocked", "Held" };
+
+    byte[] buf;
+    int size;
+    int pos;
+
+    /*
+     * Starts an empty snapshot with the header of a run.
+     *
+     * @param run Is the description of the run, checked on resume.
+     */
+    public Checkpoint(String run) {
+        buf = new byte[1 << 12];
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            writeByte(MAGIC >>> shift);
+        }
+        writeInt(VERSION);
+        writeString(run);
+    }
+
+    Checkpoint(byte[] bytes) {
+        buf = bytes;
+        size = bytes.length;
+    }
+
+    /*
+     * Reads a checkpoint file, leaving the snapshot ready to read the state
+     * after the header.
+     *
+     * @param path is the file
+     *
+     * @param run is the description of the run resuming from it, which has to
+     * be the one the checkpoint is of
+     */
+    static Checkpoint read(String path, String run) throws Exception {
+        Checkpoint in = new Checkpoint(Files.readAllBytes(Paths.get(path)));
+        int magic = 0;
+        for (int i = 0; i < 4 && in.pos < in.size; i++) {
+            magic = (magic << 8) | (in.buf[in.pos++] & 0xFF);
+        }
+        if (magic != MAGIC || in.readInt() != VERSION) {
+            throw new Exception("Illegal checkpoint file " + path);
+        }
+        String was = in.readString();
+        if (!was.equals(run)) {
+            throw new Exception("Illegal resume. " + path + " is a checkpoint of " + was + ", not " + run + ".");
+        }
+        return in;
+    }
+
+    /*
+     * @returns the bytes written so far.
+     */
+    byte[] toBytes() {
+        return Arrays.copyOf(buf, size);
+    }
+
+    void writeByte(int b) {
+        if (size == buf.length) {
+            buf = Arrays.copyOf(buf, size * 2);
+        }
+        buf[size++] = (byte) b;
+    }
+
+    void writeBoolean(boolean b) {
+        writeByte(b ? 1 : 0);
+    }
+
+    void writeInt(int value) {
+        writeLong(value);
+    }
+
+    void writeLong(long value) {
+        long v = (value << 1) ^ (value >> 63);
+        while ((v & ~0x7FL) != 0) {
+            writeByte((int) (v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        writeByte((int) v);
+    }
+
+    void writeFloat(float value) {
+        writeInt(Float.floatToRawIntBits(value));
+    }
+
+    void writeDouble(double value) {
+        writeLong(Double.doubleToRawLongBits(value));
+    }
+
+    void writeString(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeInt(bytes.length);
+        for (byte b : bytes) {
+            writeByte(b);
+        }
+    }
+
+    /*
+     * Writes an array as its length and values, -1 for null.
+     */
+    void writeInts(int[] values) {
+        writeInt(values == null ? -1 : values.length);
+        if (values != null) {
+            for (int v : values) {
+                writeInt(v);
+            }
+        }
+    }
+
+    void writeLongs(long[] values) {
+        writeInt(values.length);
+        for (long v : values) {
+            writeLong(v);
+        }
+    }
+
+    /*
+     * Writes a process in full, or null.
+     */
+    void writePCB(PCB p) {
+        writeBoolean(p != null);
+        if (p == null) {
+            return;
+        }
+        writeInt(p.jobID);
+        writeInt(p.arr);
+        writeInt(Arrays.asList(STATES).indexOf(p.state));
+        writeInt(p.pc);
+        writeInt(p.burstCount);
+        writeInts(p.bursts);
+        writeInt(p.curBurst);
+        writeInt(p.ioComp);
+        writeInt(p.cpuShots);
+        writeInt(p.lastCore);
+        writeInt(p.firstRun);
+        writeInts(p.io);
+        writeInt(p.device);
+        writeInt(p.ioTime);
+        writeInt(p.ioQueued);
+        writeInt(p.level);
+        writeLong(p.vruntime);
+        writeInt(p.burstRan);
+        writeFloat(p.estimate);
+        writeInt(p.deadline);
+        writeInt(p.period);
+        writeFloat(p.util);
+    }
+
+    int readByte() throws Exception {
+        if (pos == size) {
+            throw new Exception("Illegal checkpoint. The file ends too soon.");
+        }
+        return buf[pos++] & 0xFF;
+    }
+
+    boolean readBoolean() throws Exception {
+        return readByte() != 0;
+    }
+
+    int readInt() throws Exception {
+        return (int) readLong();
+    }
+
+    long readLong() throws Exception {
+        long v = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = readByte();
+            v |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    float readFloat() throws Exception {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    double readDouble() throws Exception {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    String readString() throws Exception {
+        byte[] bytes = new byte[readInt()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) readByte();
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    int[] readInts() throws Exception {
+        int n = readInt();
+        if (n == -1) {
+            return null;
+        }
+        int[] out = new int[n];
+        for (int i = 0; i < n; i++) {
+            out[i] = readInt();
+        }
+        return out;
+    }
+
+    /*
+     * Reads an array written by writeLongs into one of the same length.
+     *
+     * @param into is the array, which the values replace
+     */
+    void readLongs(long[] into) throws Exception {
+        if (readInt() != into.length) {
+            throw new Exception("Illegal checkpoint. An array is not the length of this run's.");
+        }
+        for (int i = 0; i < into.length; i++) {
+            into[i] = readLong();
+        }
+    }
+
+    void readInts(int[] into) throws Exception {
+        if (readInt() != into.length) {
+            throw new Exception("Illegal checkpoint. An array is not the length of this run's.");
+        }
+        for (int i = 0; i < into.length; i++) {
+            into[i] = readInt();
+        }
+    }
+
+    PCB readPCB() throws Exception {
+        if (!readBoolean()) {
+            return null;
+        }
+        PCB p = new PCB(readInt(), readInt(), 1, null);
+        p.state = STATES[readInt()];
+        p.pc = readInt();
+        p.burstCount = readInt();
+        p.bursts = readInts();
+        p.curBurst = readInt();
+        p.ioComp = readInt();
+        p.cpuShots = readInt();
+        p.lastCore = readInt();
+        p.firstRun = readInt();
+        p.io = readInts();
+        p.device = readInt();
+        p.ioTime = readInt();
+        p.ioQueued = readInt();
+        p.level = readInt();
+        p.vruntime = readLong();
+        p.burstRan = readInt();
+        p.estimate = readFloat();
+        p.deadline = readInt();
+        p.period = readInt();
+        p.util = readFloat();
+        return p;
+    }
+}
@@ -0,0 +1,97 @@
+package cpusim;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/*
+ * Writes checkpoints to a file on a writer thread, so the simulation only stops for as long as it takes to copy its
+ * state into a Checkpoint. Each checkpoint is written to a file next to the checkpoint file and then moved over it,
+ * so a crash while writing leaves the last whole checkpoint in place. If a checkpoint is taken while the one before
+ * it is still waiting to be written, the simulation waits for the writer thread to catch up. A checkpoint that could
+ * not be written stops the run at the next one.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param path Is the checkpoint file.
+ * param temp Is the file each checkpoint is written to before it is moved over path.
+ * param pending Is the checkpoints waiting for the writer thread.
+ * param failure Is the first error from the writer thread, thrown again on close.
+ */
+public final class CheckpointWriter implements Runnable, AutoCloseable {
+
+    // handed to the writer thread to tell it there is nothing more
+    static final byte[] END = new byte[0];
+
+    final Path path;
+    final Path temp;
+    final ArrayBlockingQueue<byte[]> pending;
+    final Thread writer;
+    volatile Exception failure;
+
+    /*
+     * @param path Is the checkpoint file, replaced by each checkpoint.
+     */
+    public CheckpointWriter(String path) {
+        this.path = Paths.get(path);
+        temp = Paths.get(path + ".tmp");
+        pending = new ArrayBlockingQueue<>(1);
+
+        writer = new Thread(this, "checkpoint-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /*
+     * Hands a checkpoint to the writer thread, after throwing the error of an
+     * earlier one if it could not be written, so the run does not go on with no
+     * checkpoint behind it.
+     */
+    public void write(Checkpoint checkpoint) {
+        if (failure != null) {
+            throw new RuntimeException("Illegal checkpoint. It could not be written to " + path + ": " + failure,
+                    failure);
+        }
+        try {
+            pending.put(checkpoint.toBytes());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    /*
+     * Waits for the writer thread to write every checkpoint handed to it.
+     */
+    public void close() throws Exception {
+        pending.put(END);
+        writer.join();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /*
+     * Writes checkpoints until told to stop. After an error the checkpoints are
+     * still taken, so the simulation does not block, but dropped.
+     */
+    public void run() {
+        try {
+            for (byte[] bytes = pending.take(); bytes != END; bytes = pending.take()) {
+                if (failure == null) {
+                    try {
+                        Files.write(temp, bytes);
+                        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (Exception e) {
+                        failure = e;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            failure = e;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package cpusim;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+/*
+ * Report sink that prints to the console the way the simulation always has: a bordered line for every job that
+ * finishes, and a table row for every 200 level report, under a header printed when the sink is made.
+ * Lines are built by hand instead of with printf, and written through a large buffer that is only flushed on close.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param out Is the buffered console.
+ * param line Is reused to build each line.
+ */
+public final class ConsoleSink implements ReportSink {
+    static final String NL = System.lineSeparator();
+    static final String BORDER = "-".repeat(145);
+
+    final PrintWriter out;
+    final StringBuilder line;
+
+    public ConsoleSink() {
+        out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16), false);
+        line = new StringBuilder(256);
+
+        // header of labels for intermediate reports (every 200 time steps)
+        line.append("| ");
+        cell("TIME", 7).cell("READY", 7).cell("BLOCKED", 7).cell("COMP", 7);
+        endRow();
+    }
+
+    /*
+     * Prints nicely formatted report with borders, containing all the times of
+     * the job.
+     */
+    public void jobDone(int jobID, int arr, int compTime, int pc, int wait, int turnaround, int cpuShots) {
+        line.append(NL).append(BORDER).append(NL).append("| ");
+        cell("JOB " + jobID + " DONE.", 12);
+        cell("Arr Time: " + arr, 16);
+        cell("Comp Time: " + compTime, 20);
+        cell("Proc Time: " + pc, 16);
+        cell("Wait Time: " + wait, 20);
+        cell("Turnaround Time: " + turnaround, 25);
+        cell("CPU shots:" + cpuShots, 13);
+        line.append(NL).append(BORDER).append(NL).append(NL);
+        out.write(line.toString());
+        line.setLength(0);
+    }
+
+    /*
+     * Prints a row of the 200 level table: the current time, processes in ready
+     * queue, processes in blocked queue, and jobs completed.
+     */
+    public void snapshot(int time, int ready, int blocked, int completed) {
+        line.append("| ");
+        cell(Integer.toString(time), 7).cell(Integer.toString(ready), 7).cell(Integer.toString(blocked), 7)
+                .cell(Integer.toString(completed), 7);
+        endRow();
+    }
+
+    /*
+     * Flushes everything printed so far. The console itself stays open for the
+     * final report.
+     */
+    public void close() {
+        out.flush();
+    }
+
+    /*
+     * Adds a cell padded with spaces to at least width characters, then the
+     * border before the next cell.
+     */
+    ConsoleSink cell(String s, int width) {
+        line.append(s);
+        for (int i = s.length(); i < width; i++) {
+            line.append(' ');
+        }
+        line.append(" | ");
+        return this;
+    }
+
+    /*
+     * Writes out a row of the 200 level table, which has no space after its
+     * last border.
+     */
+    void endRow() {
+        line.setLength(line.length() - 1);
+        out.write(line.append(NL).toString());
+        line.setLength(0);
+    }
+}
@@ -0,0 +1,138 @@
+package cpusim;
+
+import java.util.Arrays;
+
+/*
+ * Ready Queue of the real-time algorithms, a priority queue keyed either by the time each process's current burst is
+ * due (earliest deadline first) or by its period (rate monotonic, shortest period first). Processes without a
+ * deadline or period come after every one with them, in the order they were added.
+ * Processes with equal keys, those without a deadline or period among them, come out in the order they were added.
+ * Each process is parked in a slot of an array, and the slots are ordered in a stable IntHeap keyed when the process
+ * is added, so adding a process allocates nothing once the queue has reached its largest size. The heap is 4-ary,
+ * which keeps it shallow; being stable, its order does not depend on the arity.
+ * Self explanitory methods have no description.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param processes Is the process parked in each slot, null if the slot is free.
+ * param heap Is the heap of used slots, keyed by due time or period, ties in the order they were added.
+ * param free Is the slots that can be reused.
+ * param byPeriod Is True to key by period, False to key by due time.
+ */
+public class DeadlineReadyQueue implements ReadyQueue {
+    PCB[] processes;
+    IntHeap heap;
+    IntQueue free;
+    final boolean byPeriod;
+
+    /*
+     * @param byPeriod Is True to key by period (rate monotonic), False to key by
+     * due time (earliest deadline first).
+     */
+    public DeadlineReadyQueue(boolean byPeriod) {
+        this.byPeriod = byPeriod;
+        processes = new PCB[16];
+        heap = new IntHeap(4, true);
+        free = new IntQueue();
+        for (int s = 0; s < processes.length; s++) {
+            free.add(s);
+        }
+    }
+
+    /*
+     * @returns the key this queue orders a process by.
+     */
+    int keyOf(PCB proc) {
+        return key(proc, byPeriod);
+    }
+
+    /*
+     * @returns the key of a process, smallest first.
+     */
+    static int key(PCB proc, boolean byPeriod) {
+        if (byPeriod) {
+            return proc.period > 0 ? proc.period : Integer.MAX_VALUE;
+        }
+        return proc.dueTime();
+    }
+
+    public void addProcess(PCB proc) {
+        if (free.getSize() == 0) {
+            grow();
+        }
+        int slot = free.remove();
+        processes[slot] = proc;
+        heap.add(slot, keyOf(proc));
+    }
+
+    public int getSize() {
+        return heap.getSize();
+    }
+
+    public PCB getNext() {
+        int slot = heap.remove();
+        PCB out = processes[slot];
+        processes[slot] = null;
+        free.add(slot);
+        return out;
+    }
+
+    /*
+     * Writes the processes in the order of the heap's array, with their keys and
+     * sequence numbers, so load can put them back in the same places without
+     * sifting and keep the order of ties.
+     */
+    public void save(Checkpoint out) {
+        out.writeInt(heap.getSize());
+        for (int k = 0; k < heap.getSize(); k++) {
+            out.writePCB(processes[heap.items[k]]);
+            out.writeInt(heap.keys[k]);
+            out.writeLong(heap.seqAt(k));
+        }
+    }
+
+    public void load(Checkpoint in) throws Exception {
+        for (int n = in.readInt(); n > 0; n--) {
+            if (free.getSize() == 0) {
+                grow();
+            }
+            int slot = free.remove();
+            processes[slot] = in.readPCB();
+            heap.restore(slot, in.readInt(), in.readLong());
+        }
+    }
+
+    /*
+     * Frees every slot, in order, as a new queue has them.
+     */
+    public boolean reset() {
+        heap.clear();
+        Arrays.fill(processes, null);
+        free.clear();
+        for (int s = 0; s < processes.length; s++) {
+            free.add(s);
+        }
+        return true;
+    }
+
+    /*
+     * Doubles the number of slots, all of them in use.
+     */
+    void grow() {
+        int old = processes.length;
+        processes = Arrays.copyOf(processes, old * 2);
+        for (int s = old; s < processes.length; s++) {
+            free.add(s);
+        }
+    }
+
+    public String toString() {
+        String out = "";
+        for (int k = 0; k < heap.getSize(); k++) {
+            out += "Process " + Integer.toString(processes[heap.items[k]].jobID) + " | key : "
+                    + Integer.toString(heap.keys[k]) + "\n";
+        }
+        return out;
+    }
+}
@@ -0,0 +1,39 @@
+package cpusim;
+
+/*
+ * Earliest Deadline First: the process whose current burst is due soonest runs next, for its whole burst, and a
+ * process joining a busy core's ready queue that is due sooner than the running one takes the core from it. Due
+ * times come from the deadline and period fields of the job file (see PCB.dueTime); processes without them run
+ * when nothing with a deadline is ready.
+ * A periodic job is only admitted while the utilization of the periodic jobs, shared over the cores, stays at 1 or
+ * below, the bound up to which EDF meets every deadline on one core.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public final class EDFPolicy implements SchedulingPolicy {
+
+    public String name() {
+        return "EDF";
+    }
+
+    public ReadyQueue newReadyQueue() {
+        return new DeadlineReadyQueue(false);
+    }
+
+    public int slice(PCB process, int quantum) {
+        return process.bursts[process.curBurst];
+    }
+
+    public boolean preemptive() {
+        return true;
+    }
+
+    public boolean preempts(PCB arriving, PCB running, int left) {
+        return arriving.dueTime() < running.dueTime();
+    }
+
+    public boolean admits(int tasks, double utilization) {
+        return utilization <= 1;
+    }
+}
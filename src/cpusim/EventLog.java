@@ -0,0 +1,174 @@
+package cpusim;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * Append-only log of what the simulation did to each process, one fixed size record per event, for finding out after
+ * the run why a job waited as long as it did. EventReplay reads it back into the report or a timeline per job,
+ * without running the scheduler again.
+ * The log is a series of segment files, path.0000, path.0001, ..., each mapped into memory. Records are packed as
+ * ints into a batch, and a full batch is copied into the mapping in one go; the operating system writes the pages
+ * out. When a segment is full the next one is mapped. The number of records in a segment is kept in its header as
+ * each batch goes in, so the log of a run that crashed can still be read up to its last whole batch. The last
+ * segment is cut down to its records on close; a segment that is not full is the last one, so segments left over
+ * from an earlier, longer run are never read. Everything is little-endian.
+ * The layout of each segment is:
+ *
+ * header: HEADER bytes: magic "CPUE", version, segment number, number of records, cores (0 for a single CPU),
+ * 1 if the algorithm is preemptive, then the name of the algorithm as a length and bytes
+ * records: RECORD bytes each: time, job id, kind (a byte), flags (a byte), core (two bytes), value
+ *
+ * The kinds of record, and their value:
+ * DISPATCH a process is loaded into a core; the length of its slice. Flag STOLEN if it came from another core's queue
+ * COMPLETE the slice of the process on a core ends; the time it ran. Flag BURST_DONE if its burst ended with it
+ * BLOCK the process goes to I/O; the length of the I/O. Core is the core it last ran on
+ * UNBLOCK the process's I/O is done; the length of the I/O. Core is the core it goes back to
+ * PREEMPT the process is taken off a core by another; the time it ran
+ * EXIT the job is done; its arrival time
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param path Is the name the segment files start with.
+ * param header Is the header of every segment, all but its segment number and count.
+ * param out Is the mapping of the current segment.
+ * param records Is the records part of out, as ints.
+ * param batch Is the records not yet copied into the mapping, 4 ints each, up to used.
+ * param segment Is the number of the current segment.
+ * param count Is the number of records in the current segment.
+ */
+public final class EventLog implements EventRecorder, AutoCloseable {
+    static final int MAGIC = 0x43505545;
+    static final int VERSION = 1;
+    static final int HEADER = 256;
+    static final int RECORD = 16;
+    static final int SEGMENT = 1 << 26;
+    static final int PER_SEGMENT = (SEGMENT - HEADER) / RECORD;
+    static final int BATCH = 4096;
+
+    // where the segment number and count are in the header
+    static final int SEGMENT_AT = 8;
+    static final int COUNT_AT = 12;
+
+    // kinds of record
+    static final int DISPATCH = 0;
+    static final int COMPLETE = 1;
+    static final int BLOCK = 2;
+    static final int UNBLOCK = 3;
+    static final int PREEMPT = 4;
+    static final int EXIT = 5;
+    static final String[] KINDS = { "dispatch", "complete", "block", "unblock", "preempt", "exit" };
+
+    // flags of a record
+    static final int STOLEN = 1;
+    static final int BURST_DONE = 2;
+
+    final String path;
+    final byte[] header;
+    MappedByteBuffer out;
+    IntBuffer records;
+    final int[] batch;
+    int used;
+    int segment;
+    int count;
+
+    /*
+     * @param path Is the name the segment files start with, each replaced if it
+     * exists.
+     *
+     * @param algo Is the name of the algorithm, as the report has it.
+     *
+     * @param cores Is the number of cores, 0 for a single CPU.
+     *
+     * @param preemptive Is True if the algorithm is preemptive.
+     */
+    public EventLog(String path, String algo, int cores, boolean preemptive) throws IOException {
+        this.path = path;
+        byte[] name = algo.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(name.length, HEADER - 28);
+        header = new byte[HEADER];
+        ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN).putInt(MAGIC).putInt(VERSION).putInt(0).putInt(0)
+                .putInt(cores).putInt(preemptive ? 1 : 0).putInt(length).put(name, 0, length);
+        batch = new int[4 * BATCH];
+        map();
+    }
+
+    /*
+     * @returns the name of a segment file.
+     */
+    static String segmentName(String path, int segment) {
+        return String.format("%s.%04d", path, segment);
+    }
+
+    public void record(int time, int kind, int flags, int core, int job, int value) {
+        int k = used;
+        batch[k] = time;
+        batch[k + 1] = job;
+        batch[k + 2] = kind | (flags << 8) | (core << 16);
+        batch[k + 3] = value;
+        used = k + 4;
+        if (used == batch.length) {
+            flush();
+        }
+    }
+
+    /*
+     * Copies the batch into the mapping, going on to the next segment when the
+     * current one is full.
+     */
+    void flush() {
+        for (int from = 0; from < used;) {
+            int n = Math.min(4 * (PER_SEGMENT - count), used - from);
+            records.put(batch, from, n);
+            from += n;
+            count += n / 4;
+            out.putInt(COUNT_AT, count);
+            if (count == PER_SEGMENT) {
+                segment++;
+                try {
+                    map();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+        used = 0;
+    }
+
+    /*
+     * Copies what is left of the batch and cuts the last segment down to its
+     * records.
+     */
+    public void close() throws IOException {
+        flush();
+        try (FileChannel channel = FileChannel.open(Paths.get(segmentName(path, segment)),
+                StandardOpenOption.WRITE)) {
+            channel.truncate(HEADER + (long) count * RECORD);
+        }
+        out = null;
+        records = null;
+    }
+
+    /*
+     * Maps a new segment and writes its header.
+     */
+    void map() throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(segmentName(path, segment)), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            out = channel.map(FileChannel.MapMode.READ_WRITE, 0, SEGMENT);
+        }
+        out.order(ByteOrder.LITTLE_ENDIAN);
+        out.put(header, 0, HEADER);
+        out.putInt(SEGMENT_AT, segment);
+        records = out.slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        count = 0;
+    }
+}
@@ -0,0 +1,140 @@
+package cpusim;
+
+import java.util.Arrays;
+
+/*
+ * Time ordered queue of pending simulation events. The simulation loop uses it to jump the CPU counter straight to
+ * the next time something happens, instead of stepping through every idle time unit.
+ * Each event is packed into a single long holding its time, its phase and a small data field, and kept in a binary
+ * min-heap. Events due at the same time come out in phase order, which is the order the steps of a single time unit
+ * are carried out in.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param heap Is the binary heap of packed events.
+ * param size Is the number of events in the heap.
+ */
+public class EventQueue {
+
+    // Phases of a single time unit, in the order they are handled.
+    static final int PRE_REPORT = 0;
+    static final int DISPATCH = 1;
+    static final int BURST = 2;
+    static final int IO = 3;
+    static final int REPORT = 4;
+    static final int SAMPLE = 5;
+    static final int BOOST = 6;
+    static final int ARRIVAL = 7;
+    static final int RELEASE = 8;
+
+    long[] heap;
+    int size;
+
+    public EventQueue() {
+        heap = new long[16];
+        size = 0;
+    }
+
+    /*
+     * Adds an event to the queue.
+     *
+     * @param time is the time the event is due
+     *
+     * @param phase is the step of the time unit the event belongs to
+     *
+     * @param data is extra information for the event, under 2^24
+     */
+    public void schedule(int time, int phase, int data) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+
+        // sift the new event up from the bottom of the heap
+        long event = ((long) time << 32) | ((long) phase << 24) | data;
+        int k = size++;
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            if (heap[parent] <= event) {
+                break;
+            }
+            heap[k] = heap[parent];
+            k = parent;
+        }
+        heap[k] = event;
+    }
+
+    /*
+     * @returns the time of the earliest event, or Integer.MAX_VALUE if there are
+     * none.
+     */
+    public int nextTime() {
+        return size == 0 ? Integer.MAX_VALUE : timeOf(heap[0]);
+    }
+
+    /*
+     * Removes the earliest event from the queue.
+     *
+     * @returns the packed event, to be read with timeOf, phaseOf and dataOf.
+     */
+    public long poll() {
+        long out = heap[0];
+        long last = heap[--size];
+
+        // sift the last event down from the top of the heap
+        int k = 0;
+        int half = size >>> 1;
+        while (k < half) {
+            int child = 2 * k + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (last <= heap[child]) {
+                break;
+            }
+            heap[k] = heap[child];
+            k = child;
+        }
+        heap[k] = last;
+        return out;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /*
+     * Writes the heap as it is, so load puts back every event in the same
+     * place.
+     */
+    public void save(Checkpoint out) {
+        out.writeInt(size);
+        for (int k = 0; k < size; k++) {
+            out.writeLong(heap[k]);
+        }
+    }
+
+    public void load(Checkpoint in) throws Exception {
+        size = in.readInt();
+        heap = new long[Math.max(16, size)];
+        for (int k = 0; k < size; k++) {
+            heap[k] = in.readLong();
+        }
+    }
+
+    static int timeOf(long event) {
+        return (int) (event >>> 32);
+    }
+
+    static int phaseOf(long event) {
+        return (int) (event >>> 24) & 0xFF;
+    }
+
+    static int dataOf(long event) {
+        return (int) event & 0xFFFFFF;
+    }
+}
@@ -0,0 +1,38 @@
+package cpusim;
+
+/*
+ * Where a simulation reports what it does to each process as it happens, one call per event: each dispatch, end of
+ * a slice, block, unblock, preemption and exit, with the kinds, flags and values listed in EventLog. EventLog keeps
+ * the events in a file for EventReplay; TraceExporter turns them into a trace to look at in Perfetto.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public interface EventRecorder {
+
+    /*
+     * @param time is the time of the event
+     *
+     * @param kind is the kind of event, e.g. EventLog.DISPATCH
+     *
+     * @param flags is the flags of the event, 0 for none
+     *
+     * @param core is the core
+     *
+     * @param job is the job id
+     *
+     * @param value is the value of the event, see EventLog
+     */
+    void record(int time, int kind, int flags, int core, int job, int value);
+
+    /*
+     * @returns a recorder that hands each event to one recorder and then the
+     * other.
+     */
+    static EventRecorder both(EventRecorder first, EventRecorder second) {
+        return (time, kind, flags, core, job, value) -> {
+            first.record(time, kind, flags, core, job, value);
+            second.record(time, kind, flags, core, job, value);
+        };
+    }
+}
@@ -0,0 +1,250 @@
+package cpusim;
+
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/*
+ * Reads an event log written by EventLog and rebuilds from it, without running the scheduler again, either
+ * report the final report of the run: the totals and percentiles of every job, the per core table of a multi-core
+ * run and the preemptions of a preemptive algorithm. The tables the log has nothing for (burst predictions,
+ * deadlines, I/O devices and MLFQ levels) are left out.
+ * timeline every record of the jobs with ids from first to last (every job if not given), one line each in the
+ * order they happened, e.g. to see where a job spent its time waiting.
+ * For example
+ * java -cp cpusim.jar cpusim.EventReplay run.log report
+ * java -cp cpusim.jar cpusim.EventReplay run.log timeline 100-120
+ * The log is read one segment at a time through a read-only mapping, and the report only keeps a few numbers per
+ * job in the system, dropped when it exits, so logs of any length can be replayed.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param algo Is the name of the algorithm, from the log's header.
+ * param cores Is the number of cores, 0 for a single CPU.
+ * param preemptive Is True if the algorithm is preemptive.
+ * param first Is the first job of the timeline.
+ * param last Is the last job of the timeline.
+ * param report Is the report being rebuilt, null for a timeline.
+ * param slots Is the row of each job that has not exited yet, by job id.
+ * param free Is the rows that can be reused.
+ * param rows Is the number of rows handed out so far.
+ * param pc Is the processing time of the job in each row so far, CPU and I/O.
+ * param shots Is the number of times the job in each row was dispatched.
+ * param firstRun Is the time the job in each row was first dispatched.
+ * param lastCore Is the core the job in each row last ran on, plus 1, 0 if none.
+ * param busy Is the time each core spent running processes.
+ * param done Is the number of jobs each core finished.
+ * param finalTime Is the time of the last record.
+ */
+public class EventReplay {
+    String algo;
+    int cores;
+    boolean preemptive;
+    int first = Integer.MIN_VALUE;
+    int last = Integer.MAX_VALUE;
+    Report report;
+    IntMap slots = new IntMap();
+    IntQueue free = new IntQueue();
+    int rows;
+    int[] pc = new int[64];
+    int[] shots = new int[64];
+    int[] firstRun = new int[64];
+    int[] lastCore = new int[64];
+    long[] busy = new long[1];
+    int[] done = new int[1];
+    int finalTime;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1 || args.length > 3 || (args.length > 1 && !args[1].equals("report")
+                && !args[1].equals("timeline")) || (args.length == 3 && !args[1].equals("timeline"))) {
+            throw new Exception("Illegal arguments. Input should be: log [report | timeline [first-last]]");
+        }
+        EventReplay replay = new EventReplay();
+        if (args.length > 1 && args[1].equals("timeline")) {
+            if (args.length == 3) {
+                String[] ends = args[2].split("-", 2);
+                replay.first = Integer.parseInt(ends[0]);
+                replay.last = ends.length > 1 ? Integer.parseInt(ends[1]) : replay.first;
+            }
+            System.out.printf("%-10s | %-8s | %-8s | %-4s | %s%n", "Time", "Job", "Event", "Core", "Detail");
+            replay.read(args[0]);
+        } else {
+            replay.report = new Report("", 0);
+            replay.read(args[0]);
+            replay.finish().print();
+        }
+    }
+
+    /*
+     * Reads every segment of a log in turn, handing each record to record.
+     *
+     * @param path is the name the segment files start with
+     */
+    void read(String path) throws Exception {
+        for (int segment = 0;; segment++) {
+            Path file = Paths.get(EventLog.segmentName(path, segment));
+            if (!Files.exists(file)) {
+                if (segment == 0) {
+                    throw new Exception("Illegal event log " + path + ". There is no " + file);
+                }
+                return;
+            }
+            MappedByteBuffer in;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            in.order(ByteOrder.LITTLE_ENDIAN);
+            if (in.limit() < EventLog.HEADER || in.getInt(0) != EventLog.MAGIC
+                    || in.getInt(4) != EventLog.VERSION || in.getInt(EventLog.SEGMENT_AT) != segment) {
+                throw new Exception("Illegal event log segment " + file);
+            }
+            int count = in.getInt(EventLog.COUNT_AT);
+            if (segment == 0) {
+                header(in);
+            }
+            for (int i = 0; i < count; i++) {
+                int at = EventLog.HEADER + i * EventLog.RECORD;
+                int packed = in.getInt(at + 8);
+                record(in.getInt(at), in.getInt(at + 4), packed & 0xFF, (packed >>> 8) & 0xFF, packed >>> 16,
+                        in.getInt(at + 12));
+            }
+
+            // a segment that is not full is the last one
+            if (count < EventLog.PER_SEGMENT) {
+                return;
+            }
+        }
+    }
+
+    /*
+     * Takes the run's settings from the header of the first segment.
+     */
+    void header(MappedByteBuffer in) {
+        cores = in.getInt(16);
+        preemptive = in.getInt(20) != 0;
+        byte[] name = new byte[in.getInt(24)];
+        for (int i = 0; i < name.length; i++) {
+            name[i] = in.get(28 + i);
+        }
+        algo = new String(name, StandardCharsets.UTF_8);
+        busy = new long[Math.max(cores, 1)];
+        done = new int[Math.max(cores, 1)];
+    }
+
+    /*
+     * Handles one record, see EventLog for what each field is.
+     */
+    void record(int time, int job, int kind, int flags, int core, int value) {
+        finalTime = time;
+        if (report == null) {
+            if (job >= first && job <= last) {
+                System.out.printf("%-10d | %-8d | %-8s | %-4d | %s%n", time, job, EventLog.KINDS[kind], core,
+                        detail(kind, flags, value));
+            }
+            return;
+        }
+
+        int row = rowOf(job);
+        switch (kind) {
+            case EventLog.DISPATCH:
+                if (shots[row]++ == 0) {
+                    firstRun[row] = time;
+                }
+                if (lastCore[row] != 0 && lastCore[row] != core + 1) {
+                    report.migrations++;
+                }
+                lastCore[row] = core + 1;
+                if ((flags & EventLog.STOLEN) != 0) {
+                    report.steals++;
+                }
+                break;
+            case EventLog.PREEMPT:
+                report.preemptions++;
+                pc[row] += value;
+                busy[core] += value;
+                break;
+            case EventLog.COMPLETE:
+                pc[row] += value;
+                busy[core] += value;
+                break;
+            case EventLog.UNBLOCK:
+                pc[row] += value;
+                break;
+            case EventLog.EXIT:
+                // as PCB.handleReports works them out, the value being the arrival time
+                int turnaround = time - value;
+                report.addData(pc[row], turnaround - pc[row], turnaround, firstRun[row] - value, shots[row]);
+                done[core]++;
+                slots.remove(job, -1);
+                free.add(row);
+                break;
+        }
+    }
+
+    /*
+     * @returns the row of a job, giving it a cleared one if it has none yet.
+     */
+    int rowOf(int job) {
+        int row = slots.get(job, -1);
+        if (row != -1) {
+            return row;
+        }
+        if (free.getSize() > 0) {
+            row = free.remove();
+        } else {
+            row = rows++;
+            if (row == pc.length) {
+                pc = Arrays.copyOf(pc, row * 2);
+                shots = Arrays.copyOf(shots, row * 2);
+                firstRun = Arrays.copyOf(firstRun, row * 2);
+                lastCore = Arrays.copyOf(lastCore, row * 2);
+            }
+        }
+        pc[row] = 0;
+        shots[row] = 0;
+        firstRun[row] = 0;
+        lastCore[row] = 0;
+        slots.put(job, row);
+        return row;
+    }
+
+    /*
+     * @returns what the value and flags of a record mean, for the timeline.
+     */
+    static String detail(int kind, int flags, int value) {
+        switch (kind) {
+            case EventLog.DISPATCH:
+                return "slice " + value + ((flags & EventLog.STOLEN) != 0 ? ", stolen" : "");
+            case EventLog.COMPLETE:
+                return "ran " + value + ((flags & EventLog.BURST_DONE) != 0 ? ", burst done" : "");
+            case EventLog.PREEMPT:
+                return "ran " + value;
+            case EventLog.EXIT:
+                return "arrived " + value;
+            default:
+                return "io " + value;
+        }
+    }
+
+    /*
+     * @returns the rebuilt report, once every record has been read.
+     */
+    Report finish() {
+        report.algo = algo;
+        report.totalJobs = report.jobsDone;
+        report.finalTime = finalTime;
+        report.preemptive = preemptive;
+        if (cores > 0) {
+            report.coreBusy = busy;
+            report.coreJobs = done;
+        }
+        return report;
+    }
+}
@@ -0,0 +1,26 @@
+package cpusim;
+
+/*
+ * First-Come-First-Serve: processes run in the order they reach the ready queue, each for its whole burst.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public final class FCFSPolicy implements SchedulingPolicy {
+
+    public String name() {
+        return "FCFS";
+    }
+
+    public ReadyQueue newReadyQueue() {
+        return new FIFOReadyQueue();
+    }
+
+    public int slice(PCB process, int quantum) {
+        return process.bursts[process.curBurst];
+    }
+
+    public int tableOrder() {
+        return TableSim.IN_ORDER;
+    }
+}
@@ -1,8 +1,12 @@
-import java.util.LinkedList;
+package cpusim;
+
+import java.util.ArrayDeque;
 import java.util.Queue;
 
 /*
  * Ready Queue implementation using simple FIFO queue; holds processes in waiting for CPU.
+ * Kept on an ArrayDeque, a ring buffer, so adding a process allocates nothing once the queue has reached its largest
+ * size.
  * Self explanitory methods have no description.
  * 
  * @author Jay Turnsek
@@ -10,11 +14,11 @@ import java.util.Queue;
  * 
  * param processes Is the queue of processes.
  */
-public class FIFOReadyQueue {
+public class FIFOReadyQueue implements ReadyQueue {
     Queue<PCB> processes;
 
     public FIFOReadyQueue() {
-        processes = new LinkedList<>();
+        processes = new ArrayDeque<>();
     }
 
     public void addProcess(PCB proc) {
@@ -29,6 +33,24 @@ public class FIFOReadyQueue {
         return this.processes.remove();
     }
 
+    public void save(Checkpoint out) {
+        out.writeInt(processes.size());
+        for (PCB p : processes) {
+            out.writePCB(p);
+        }
+    }
+
+    public void load(Checkpoint in) throws Exception {
+        for (int n = in.readInt(); n > 0; n--) {
+            processes.add(in.readPCB());
+        }
+    }
+
+    public boolean reset() {
+        processes.clear();
+        return true;
+    }
+
     public String toString() {
         String out = "";
         for (PCB p : this.processes) {
@@ -0,0 +1,83 @@
+package cpusim;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/*
+ * Report sink that writes every event to a file, one line each, for reading by other programs. As CSV, the first
+ * line names the columns and the columns that do not apply to an event are left empty:
+ * event,time,job,arrival,proc,wait,turnaround,shots,ready,blocked,completed
+ * As JSON lines, each line is an object holding only the fields of its event, e.g.
+ * {"event":"job","time":512,"job":7,"arrival":40,"proc":96,"wait":376,"turnaround":472,"shots":3}
+ * {"event":"snapshot","time":600,"ready":9,"blocked":1,"completed":12}
+ * The time of a job is the time it completed.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param out Is the buffered file.
+ * param json Is True for JSON lines, False for CSV.
+ * param line Is reused to build each line.
+ */
+public final class FileSink implements ReportSink {
+    final BufferedWriter out;
+    final boolean json;
+    final StringBuilder line;
+
+    /*
+     * @param path Is the file to write, replaced if it exists.
+     *
+     * @param json Is True for JSON lines, False for CSV.
+     */
+    public FileSink(String path, boolean json) throws IOException {
+        this.out = new BufferedWriter(new FileWriter(path), 1 << 16);
+        this.json = json;
+        this.line = new StringBuilder(128);
+        if (!json) {
+            out.write("event,time,job,arrival,proc,wait,turnaround,shots,ready,blocked,completed\n");
+        }
+    }
+
+    public void jobDone(int jobID, int arr, int compTime, int pc, int wait, int turnaround, int cpuShots) {
+        if (json) {
+            line.append("{\"event\":\"job\",\"time\":").append(compTime).append(",\"job\":").append(jobID)
+                    .append(",\"arrival\":").append(arr).append(",\"proc\":").append(pc).append(",\"wait\":")
+                    .append(wait).append(",\"turnaround\":").append(turnaround).append(",\"shots\":")
+                    .append(cpuShots).append("}\n");
+        } else {
+            line.append("job,").append(compTime).append(',').append(jobID).append(',').append(arr).append(',')
+                    .append(pc).append(',').append(wait).append(',').append(turnaround).append(',')
+                    .append(cpuShots).append(",,,\n");
+        }
+        write();
+    }
+
+    public void snapshot(int time, int ready, int blocked, int completed) {
+        if (json) {
+            line.append("{\"event\":\"snapshot\",\"time\":").append(time).append(",\"ready\":").append(ready)
+                    .append(",\"blocked\":").append(blocked).append(",\"completed\":").append(completed)
+                    .append("}\n");
+        } else {
+            line.append("snapshot,").append(time).append(",,,,,,,").append(ready).append(',').append(blocked)
+                    .append(',').append(completed).append('\n');
+        }
+        write();
+    }
+
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /*
+     * Writes out the line built so far, and clears it for the next one.
+     */
+    void write() {
+        try {
+            out.append(line);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        line.setLength(0);
+    }
+}
@@ -0,0 +1,209 @@
+package cpusim;
+
+import java.util.NoSuchElementException;
+
+/*
+ * Makes up jobs from random distributions, built one at a time as the simulation takes them, so a workload of any
+ * size can be run without a job file. The same spec and seed always give the same jobs. A generator is opened like
+ * a job file, with a name of the form
+ * gen:key=value,key=value,...
+ * e.g. gen:jobs=1000000,seed=7,arrival=bursty:2:50:2000,burst=lognormal:3:1,cpu=0.2
+ * Any key left out takes its default:
+ * jobs=1000 is the number of jobs
+ * seed=1 is the seed of the random numbers
+ * arrival=poisson:5 is how jobs arrive:
+ * poisson:gap jobs arrive independently, gap time units apart on average
+ * bursty:gap:size:idle jobs arrive in busy periods of size jobs on average, gap apart, with an idle
+ * period of idle time units on average between busy periods
+ * burst=exp:20 is the length of a burst:
+ * exp:mean exponential with the given mean
+ * lognormal:mu:sigma log-normal, the log of the length being normal with mean mu and deviation sigma
+ * bimodal:short:long:p exponential with mean long with probability p, mean short otherwise
+ * cpu=0.3 is the share of jobs that are CPU bound, with 1 to 3 bursts each 4 times as long. The rest are I/O
+ * bound, with 4 to 24 bursts as drawn.
+ * Every burst is at least 1 time unit long. Like the job files, the generator can be converted to a text or binary
+ * file with TraceConverter.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param random Is the generator of random numbers.
+ * param next Is the number of the next job.
+ * param arrival Is the arrival time of the last job.
+ * param busyLeft Is the number of jobs left in the current busy period (bursty only).
+ * param lookahead Is the next job, once peeked at.
+ */
+public class Generator implements JobSource {
+    static final String PREFIX = "gen:";
+
+    static final int POISSON = 0;
+    static final int BURSTY = 1;
+    static final int EXP = 0;
+    static final int LOGNORMAL = 1;
+    static final int BIMODAL = 2;
+
+    int jobs = 1000;
+    long seed = 1;
+    int arrivalKind = POISSON;
+    double[] arrivalParams = { 5 };
+    int burstKind = EXP;
+    double[] burstParams = { 20 };
+    double cpuShare = 0.3;
+
+    SplitMix64 random;
+    int next;
+    long arrival;
+    int busyLeft;
+    PCB lookahead;
+
+    /*
+     * @param spec Is the generator name, gen: followed by its settings.
+     */
+    public Generator(String spec) throws Exception {
+        String settings = spec.substring(PREFIX.length());
+        for (String item : settings.isEmpty() ? new String[0] : settings.split(",")) {
+            String[] kv = item.split("=", 2);
+            if (kv.length != 2) {
+                throw new Exception("Illegal generator setting " + item + ". Settings are key=value.");
+            }
+            String[] parts = kv[1].split(":");
+            switch (kv[0]) {
+                case "jobs":
+                    jobs = Integer.parseInt(kv[1]);
+                    break;
+                case "seed":
+                    seed = Long.parseLong(kv[1]);
+                    break;
+                case "arrival":
+                    arrivalKind = kind(parts[0], new String[] { "poisson", "bursty" }, kv[1]);
+                    arrivalParams = params(parts, arrivalKind == POISSON ? 1 : 3, kv[1]);
+                    break;
+                case "burst":
+                    burstKind = kind(parts[0], new String[] { "exp", "lognormal", "bimodal" }, kv[1]);
+                    burstParams = params(parts, burstKind == EXP ? 1 : burstKind == LOGNORMAL ? 2 : 3, kv[1]);
+                    break;
+                case "cpu":
+                    cpuShare = Double.parseDouble(kv[1]);
+                    break;
+                default:
+                    throw new Exception("Illegal generator setting " + kv[0]
+                            + ". Choose from jobs, seed, arrival, burst, cpu.");
+            }
+        }
+        if (jobs < 0 || cpuShare < 0 || cpuShare > 1) {
+            throw new Exception("Illegal generator " + spec + ". jobs must be at least 0 and cpu from 0 to 1.");
+        }
+        random = new SplitMix64(seed);
+    }
+
+    /*
+     * @returns True if a job file name is a generator spec.
+     */
+    static boolean isGenerator(String fname) {
+        return fname.startsWith(PREFIX);
+    }
+
+    public boolean hasNext() {
+        // the last job may already be made, waiting to be taken
+        return lookahead != null || next < jobs;
+    }
+
+    public PCB peek() {
+        if (lookahead == null && next < jobs) {
+            lookahead = make();
+        }
+        return lookahead;
+    }
+
+    public PCB next() {
+        PCB out = peek();
+        if (out == null) {
+            throw new NoSuchElementException();
+        }
+        lookahead = null;
+        return out;
+    }
+
+    public int total() {
+        return jobs;
+    }
+
+    /*
+     * Draws the next job.
+     */
+    PCB make() {
+        int id = next++;
+
+        // time since the last job
+        if (id > 0) {
+            if (arrivalKind == POISSON) {
+                arrival += (long) random.nextExponential(arrivalParams[0]);
+            } else {
+                if (busyLeft == 0) {
+                    arrival += (long) random.nextExponential(arrivalParams[2]);
+                    busyLeft = 1 + (int) random.nextExponential(arrivalParams[1]);
+                } else {
+                    arrival += (long) random.nextExponential(arrivalParams[0]);
+                }
+                busyLeft--;
+            }
+        }
+
+        // CPU bound jobs have few long bursts, I/O bound jobs many short ones
+        boolean cpuBound = random.nextDouble() < cpuShare;
+        int count = cpuBound ? 1 + random.nextInt(3) : 4 + random.nextInt(21);
+        int[] bursts = new int[count];
+        for (int b = 0; b < count; b++) {
+            double length = burst();
+            if (cpuBound) {
+                length *= 4;
+            }
+            bursts[b] = (int) Math.max(1, Math.min(Integer.MAX_VALUE / 4, Math.round(length)));
+        }
+        return new PCB(id, (int) Math.min(arrival, Integer.MAX_VALUE), count, bursts);
+    }
+
+    /*
+     * @returns a burst length from the burst distribution.
+     */
+    double burst() {
+        switch (burstKind) {
+            case LOGNORMAL:
+                return Math.exp(burstParams[0] + burstParams[1] * random.nextGaussian());
+            case BIMODAL:
+                return random.nextExponential(random.nextDouble() < burstParams[2] ? burstParams[1] : burstParams[0]);
+            default:
+                return random.nextExponential(burstParams[0]);
+        }
+    }
+
+    /*
+     * @returns the position of a distribution's name in the list of names.
+     */
+    static int kind(String name, String[] names, String value) throws Exception {
+        for (int k = 0; k < names.length; k++) {
+            if (names[k].equals(name)) {
+                return k;
+            }
+        }
+        throw new Exception("Illegal distribution " + value + ". Choose from " + String.join(", ", names) + ".");
+    }
+
+    /*
+     * @returns the numbers after a distribution's name, checking there are the
+     * right number of them and that they are not negative.
+     */
+    static double[] params(String[] parts, int count, String value) throws Exception {
+        if (parts.length != count + 1) {
+            throw new Exception("Illegal distribution " + value + ". It takes " + count + " numbers after its name.");
+        }
+        double[] out = new double[count];
+        for (int i = 0; i < count; i++) {
+            out[i] = Double.parseDouble(parts[i + 1]);
+            if (out[i] < 0) {
+                throw new Exception("Illegal distribution " + value + ". Numbers cannot be negative.");
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,137 @@
+package cpusim;
+
+/*
+ * Counts how often each value turns up, in a fixed number of buckets, so percentiles can be read off at the end
+ * without keeping every value. Values below 128 get a bucket each; above that every power of two range is split
+ * into 64 buckets, so a value is known to within 1/64 (about 1.6%) of itself however large it is. All int values fit
+ * in 1664 buckets, so recording is a few shifts and an increment with nothing allocated, and two histograms over
+ * the same kind of value can be added together bucket by bucket.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param counts Is the number of values recorded in each bucket.
+ * param total Is the number of values recorded.
+ * param max Is the largest value recorded.
+ */
+public final class Histogram {
+
+    // values below 2^SUB_BITS are exact, above that each power of two has HALF buckets
+    static final int SUB_BITS = 7;
+    static final int HALF = 1 << (SUB_BITS - 1);
+    static final int BUCKETS = (33 - SUB_BITS) * HALF;
+
+    final long[] counts = new long[BUCKETS];
+    long total;
+    int max;
+
+    /*
+     * Adds a value. Negative values count as 0.
+     *
+     * @param value is the value
+     */
+    public void record(int value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts[bucket(value)]++;
+        total++;
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /*
+     * Adds every value recorded in another histogram to this one.
+     *
+     * @param other is the other histogram, left as it is
+     */
+    public void merge(Histogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        max = Math.max(max, other.max);
+    }
+
+    /*
+     * @param percentile is from 0 to 100
+     *
+     * @returns the smallest value that the given percent of values are at or
+     * below, rounded up to the top of its bucket but never above the largest
+     * value recorded. 0 if nothing was recorded.
+     */
+    public int valueAt(double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return (int) Math.min(max, highest(i));
+            }
+        }
+        return max;
+    }
+
+    public long count() {
+        return total;
+    }
+
+    public int max() {
+        return max;
+    }
+
+    /*
+     * Writes the buckets that are not empty, each as the gap from the one
+     * before and its count.
+     */
+    public void save(Checkpoint out) {
+        out.writeLong(total);
+        out.writeInt(max);
+        int last = -1;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts[i] != 0) {
+                out.writeInt(i - last);
+                out.writeLong(counts[i]);
+                last = i;
+            }
+        }
+        out.writeInt(0);
+    }
+
+    public void load(Checkpoint in) throws Exception {
+        total = in.readLong();
+        max = in.readInt();
+        int i = -1;
+        for (int gap = in.readInt(); gap != 0; gap = in.readInt()) {
+            i += gap;
+            counts[i] = in.readLong();
+        }
+    }
+
+    /*
+     * @returns the bucket of a value that is not negative.
+     */
+    static int bucket(int value) {
+        if (value < 2 * HALF) {
+            return value;
+        }
+        int shift = 31 - Integer.numberOfLeadingZeros(value) - (SUB_BITS - 1);
+        return shift * HALF + (value >>> shift);
+    }
+
+    /*
+     * @returns the largest value that falls in a bucket.
+     */
+    static long highest(int bucket) {
+        if (bucket < 2 * HALF) {
+            return bucket;
+        }
+        int shift = bucket / HALF - 1;
+        long sub = bucket % HALF + HALF;
+        return ((sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,308 @@
+package cpusim;
+
+import java.util.Arrays;
+
+/*
+ * The I/O devices of the simulated system. Each device serves one process at a time from its own FIFO blocked queue,
+ * and a process's I/O only starts once it reaches the top of its device's queue. Processes are given a device
+ * either per job, so all of a job's I/O goes to the same device (the one named in the job file, or job id modulo
+ * the number of devices), or per burst, where each I/O goes to the device with the shortest queue at that moment.
+ * The length of each I/O is the one given in the job file if there is one, otherwise drawn from a distribution:
+ * fixed:n every I/O takes n time units (default fixed:10, which is the original single device model)
+ * exp:mean exponential with the given mean, at least 1
+ * uniform:lo:hi any whole number from lo to hi
+ * The draws come from a SplitMix64 with seed 1, so a run always gives the same results.
+ * With 0 devices there is no queueing at all: every I/O starts as soon as its burst ends and finishes on its own
+ * time, as if there were a device for each process. The processes doing I/O are then kept in a TimingWheel keyed
+ * by the time their I/O completes, and everything due at a time is released together.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param queues Is the blocked queue of each device.
+ * param perBurst Is True to pick a device for each I/O, False to keep each job on one device.
+ * param busy Is the time each device has spent doing I/O.
+ * param served Is the number of I/O operations each device has finished.
+ * param delay Is the total time processes have waited in each device's queue before their I/O started.
+ * param maxQueue Is the longest each device's queue has been (with 0 devices, the most I/Os at once).
+ * param timers Is the I/O completion time of each process doing I/O, with 0 devices.
+ * param inFlight Is the process of each timer's slot.
+ * param freeSlots Is the slots of inFlight not in use.
+ * param due Is where the timers that are due are handed back.
+ */
+public final class IOSubsystem {
+    static final int FIXED = 0;
+    static final int EXP = 1;
+    static final int UNIFORM = 2;
+    static final long SEED = 1;
+
+    final BlockedQueue[] queues;
+    final boolean perBurst;
+    final int kind;
+    final double[] params;
+    final SplitMix64 random;
+    final long[] busy;
+    final int[] served;
+    final long[] delay;
+    final int[] maxQueue;
+    final boolean unlimited;
+    final TimingWheel timers;
+    final IntQueue freeSlots;
+    final IntQueue due;
+    PCB[] inFlight;
+    int busyNow;
+
+    /*
+     * A single device where every I/O takes 10 time units.
+     */
+    public IOSubsystem() {
+        this(1, false, FIXED, 10);
+    }
+
+    /*
+     * @param devices Is the number of devices, 0 for no queueing.
+     *
+     * @param perBurst Is True to pick a device for each I/O, False to keep each
+     * job on one device.
+     *
+     * @param kind Is the distribution of I/O lengths not given in the job file.
+     *
+     * @param params Is the numbers of the distribution.
+     */
+    public IOSubsystem(int devices, boolean perBurst, int kind, double... params) {
+        queues = new BlockedQueue[devices];
+        for (int d = 0; d < devices; d++) {
+            queues[d] = new BlockedQueue();
+        }
+        this.perBurst = perBurst;
+        this.kind = kind;
+        this.params = params;
+        random = new SplitMix64(SEED);
+
+        // without queueing, the statistics are kept as for a single device
+        unlimited = devices == 0;
+        int stats = Math.max(devices, 1);
+        busy = new long[stats];
+        served = new int[stats];
+        delay = new long[stats];
+        maxQueue = new int[stats];
+        timers = unlimited ? new TimingWheel() : null;
+        freeSlots = new IntQueue();
+        due = new IntQueue();
+        inFlight = new PCB[0];
+    }
+
+    /*
+     * Makes the I/O devices for the command line options.
+     *
+     * @param devices is the number of devices
+     *
+     * @param assign is job to keep each job on one device, or burst to pick a
+     * device for each I/O
+     *
+     * @param time is the distribution of I/O lengths, e.g. exp:25
+     */
+    static IOSubsystem open(int devices, String assign, String time) throws Exception {
+        if (devices < 0) {
+            throw new Exception("Illegal number of I/O devices. Must be at least 0.");
+        }
+        if (!assign.equals("job") && !assign.equals("burst")) {
+            throw new Exception("Illegal I/O assignment " + assign + ". Choose from job, burst.");
+        }
+        String[] parts = time.split(":");
+        int kind = Generator.kind(parts[0], new String[] { "fixed", "exp", "uniform" }, time);
+        double[] params = Generator.params(parts, kind == UNIFORM ? 2 : 1, time);
+        if (kind == UNIFORM && params[1] < params[0]) {
+            throw new Exception("Illegal distribution " + time + ". hi cannot be below lo.");
+        }
+        return new IOSubsystem(devices, assign.equals("burst"), kind, params);
+    }
+
+    public int size() {
+        return queues.length;
+    }
+
+    /*
+     * Puts the devices back as they were when new, for another run: empty
+     * queues, no I/O in flight, no statistics and the random numbers from the
+     * start again. The arrays grown so far are kept.
+     */
+    void reset() {
+        for (BlockedQueue queue : queues) {
+            queue.clear();
+        }
+        random.state = SEED;
+        Arrays.fill(busy, 0);
+        Arrays.fill(served, 0);
+        Arrays.fill(delay, 0);
+        Arrays.fill(maxQueue, 0);
+        if (unlimited) {
+            timers.clear();
+            Arrays.fill(inFlight, null);
+            freeSlots.clear();
+            for (int slot = 0; slot < inFlight.length; slot++) {
+                freeSlots.add(slot);
+            }
+            due.clear();
+            busyNow = 0;
+        }
+    }
+
+    /*
+     * @returns the device a job's next I/O goes to.
+     *
+     * @param jobID is the job's id
+     *
+     * @param named is the device given in the job file, -1 if none
+     */
+    int device(int jobID, int named) {
+        if (perBurst) {
+            int best = 0;
+            for (int d = 1; d < queues.length; d++) {
+                if (queues[d].getSize() < queues[best].getSize()) {
+                    best = d;
+                }
+            }
+            return best;
+        }
+        return Math.floorMod(named >= 0 ? named : jobID, queues.length);
+    }
+
+    /*
+     * @returns the length of an I/O operation.
+     *
+     * @param given is the length from the job file, -1 if none
+     */
+    int duration(int given) {
+        if (given >= 0) {
+            return given;
+        }
+        switch (kind) {
+            case EXP:
+                return (int) Math.max(1, Math.round(random.nextExponential(params[0])));
+            case UNIFORM:
+                return (int) params[0] + random.nextInt((int) params[1] - (int) params[0] + 1);
+            default:
+                return (int) params[0];
+        }
+    }
+
+    /*
+     * Keeps the per device statistics for an I/O that starts now.
+     *
+     * @param d is the device
+     *
+     * @param waited is how long the process waited in the queue
+     *
+     * @param length is the length of the I/O
+     */
+    void started(int d, int waited, int length) {
+        delay[d] += waited;
+        busy[d] += length;
+    }
+
+    /*
+     * Keeps track of the longest queue of a device, after a process joins it.
+     *
+     * @param d is the device
+     *
+     * @param length is the length of its queue
+     */
+    void queued(int d, int length) {
+        maxQueue[d] = Math.max(maxQueue[d], length);
+    }
+
+    /*
+     * Starts the I/O of a process right away, with 0 devices.
+     *
+     * @param process is the process, with its ioComp set
+     */
+    void startNow(PCB process) {
+        if (freeSlots.getSize() == 0) {
+            int old = inFlight.length;
+            inFlight = Arrays.copyOf(inFlight, Math.max(16, old * 2));
+            for (int slot = old; slot < inFlight.length; slot++) {
+                freeSlots.add(slot);
+            }
+        }
+        int slot = freeSlots.remove();
+        inFlight[slot] = process;
+        timers.add(process.ioComp, slot);
+        busyNow++;
+        started(0, 0, process.ioTime);
+        queued(0, busyNow);
+    }
+
+    /*
+     * @returns a process whose I/O is done, from its slot in due, with 0
+     * devices.
+     */
+    PCB finish(int slot) {
+        PCB out = inFlight[slot];
+        inFlight[slot] = null;
+        freeSlots.add(slot);
+        busyNow--;
+        served[0]++;
+        return out;
+    }
+
+    /*
+     * Writes the blocked queues, the processes in flight, the statistics and
+     * the state of the random numbers to a checkpoint.
+     */
+    void save(Checkpoint out) {
+        for (BlockedQueue queue : queues) {
+            queue.save(out);
+        }
+        out.writeLong(random.state);
+        out.writeLongs(busy);
+        out.writeInts(served);
+        out.writeLongs(delay);
+        out.writeInts(maxQueue);
+        if (unlimited) {
+            timers.save(out);
+            freeSlots.save(out);
+            due.save(out);
+            out.writeInt(inFlight.length);
+            for (PCB p : inFlight) {
+                out.writePCB(p);
+            }
+            out.writeInt(busyNow);
+        }
+    }
+
+    void load(Checkpoint in) throws Exception {
+        for (BlockedQueue queue : queues) {
+            queue.load(in);
+        }
+        random.state = in.readLong();
+        in.readLongs(busy);
+        in.readInts(served);
+        in.readLongs(delay);
+        in.readInts(maxQueue);
+        if (unlimited) {
+            timers.load(in);
+            freeSlots.load(in);
+            due.load(in);
+            inFlight = new PCB[in.readInt()];
+            for (int slot = 0; slot < inFlight.length; slot++) {
+                inFlight[slot] = in.readPCB();
+            }
+            busyNow = in.readInt();
+        }
+    }
+
+    /*
+     * @returns the number of processes waiting for or doing I/O on all devices.
+     */
+    int waiting() {
+        if (unlimited) {
+            return busyNow;
+        }
+        int out = 0;
+        for (BlockedQueue q : queues) {
+            out += q.getSize();
+        }
+        return out;
+    }
+}
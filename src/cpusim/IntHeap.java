@@ -0,0 +1,193 @@
+package cpusim;
+
+import java.util.Arrays;
+
+/*
+ * D-ary min-heap of ints, each with an int key that is stored alongside it when it is added, so comparing two items
+ * never has to look anything up. Items are job numbers or slots, and keep the key they were added with until they
+ * are removed, as every queue using the heap keys a process once, when it is added.
+ * With the default arity of 2, items move around the heap exactly as they would in a java.util.PriorityQueue, so
+ * items with equal keys come out in the same order. A stable heap instead gives items with equal keys out in the
+ * order they were added, by a sequence number kept with each, whatever the arity; a wider heap is shallower, which
+ * makes adding cheaper. Nothing is allocated once the arrays have grown to the most items held. Self explanitory
+ * methods have no description.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param arity Is the number of children of each node.
+ * param items Is the heap of items.
+ * param keys Is the key of the item in the same position of items.
+ * param seqs Is the sequence number of the item in the same position of items, null unless the heap is stable.
+ * param nextSeq Is the sequence number of the next item added.
+ */
+public final class IntHeap {
+    final int arity;
+    int[] items;
+    int[] keys;
+    long[] seqs;
+    long nextSeq;
+    int size;
+
+    public IntHeap() {
+        this(2);
+    }
+
+    /*
+     * @param arity Is the number of children of each node, at least 2.
+     */
+    public IntHeap(int arity) {
+        this(arity, false);
+    }
+
+    /*
+     * @param stable Is True to give items with equal keys out in the order they
+     * were added.
+     */
+    public IntHeap(int arity, boolean stable) {
+        this.arity = arity;
+        items = new int[16];
+        keys = new int[16];
+        if (stable) {
+            seqs = new long[16];
+        }
+    }
+
+    /*
+     * Adds an item that is not already in the heap.
+     *
+     * @param item is the item
+     *
+     * @param key is its key, smallest first
+     */
+    public void add(int item, int key) {
+        grow();
+        siftUp(size++, item, key, nextSeq++);
+    }
+
+    /*
+     * Puts an item at the bottom of the heap without sifting it, for putting
+     * back a heap's array as it was, in order from the top.
+     *
+     * @param seq is its sequence number, if the heap is stable
+     */
+    void restore(int item, int key, long seq) {
+        grow();
+        place(size++, item, key, seq);
+        nextSeq = Math.max(nextSeq, seq + 1);
+    }
+
+    /*
+     * @returns the sequence number of the item at position k, 0 unless the heap
+     * is stable.
+     */
+    long seqAt(int k) {
+        return seqs == null ? 0 : seqs[k];
+    }
+
+    public int peek() {
+        return items[0];
+    }
+
+    public int peekKey() {
+        return keys[0];
+    }
+
+    public int remove() {
+        int out = items[0];
+        int n = --size;
+        if (n > 0) {
+            siftDown(0, items[n], keys[n], seqAt(n));
+        }
+        return out;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+        nextSeq = 0;
+    }
+
+    /*
+     * Makes room for one more item.
+     */
+    void grow() {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+            if (seqs != null) {
+                seqs = Arrays.copyOf(seqs, size * 2);
+            }
+        }
+    }
+
+    /*
+     * @returns True if an item with the given key and sequence number comes out
+     * before the item at position k. Without sequence numbers, equal keys do not.
+     */
+    boolean before(int key, long seq, int k) {
+        return key < keys[k] || (key == keys[k] && seqs != null && seq < seqs[k]);
+    }
+
+    /*
+     * @returns True if the item at position k comes out before an item with the
+     * given key and sequence number.
+     */
+    boolean after(int key, long seq, int k) {
+        return keys[k] < key || (keys[k] == key && seqs != null && seqs[k] < seq);
+    }
+
+    /*
+     * Moves an item up from position k until its parent comes out before it.
+     */
+    void siftUp(int k, int item, int key, long seq) {
+        while (k > 0) {
+            int parent = (k - 1) / arity;
+            if (!before(key, seq, parent)) {
+                break;
+            }
+            place(k, items[parent], keys[parent], seqAt(parent));
+            k = parent;
+        }
+        place(k, item, key, seq);
+    }
+
+    /*
+     * Moves an item down from position k until it comes out before every child,
+     * or with an equal key when the heap is not stable. Among children with
+     * equal keys the first one is taken.
+     */
+    void siftDown(int k, int item, int key, long seq) {
+        int n = size;
+        while (true) {
+            int first = k * arity + 1;
+            if (first >= n) {
+                break;
+            }
+            int child = first;
+            int last = Math.min(first + arity, n);
+            for (int c = first + 1; c < last; c++) {
+                if (before(keys[c], seqAt(c), child)) {
+                    child = c;
+                }
+            }
+            if (!after(key, seq, child)) {
+                break;
+            }
+            place(k, items[child], keys[child], seqAt(child));
+            k = child;
+        }
+        place(k, item, key, seq);
+    }
+
+    void place(int k, int item, int key, long seq) {
+        items[k] = item;
+        keys[k] = key;
+        if (seqs != null) {
+            seqs[k] = seq;
+        }
+    }
+}
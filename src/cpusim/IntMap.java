@@ -0,0 +1,124 @@
+package cpusim;
+
+import java.util.Arrays;
+
+/*
+ * Map from int keys to int values by open addressing with linear probing, doubling when it is half full, so it only
+ * allocates while still growing. Removing an entry shifts the ones after it back, so no deleted markers build up and
+ * a map that has items put in and taken out forever stays the size of its largest number of entries at once. Used
+ * for what is kept per job only while the job is in some state, e.g. blocked. Self explanitory methods have no
+ * description.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param keys Is the key of each slot, its length always a power of two.
+ * param values Is the value of each slot.
+ * param used Is True for a slot that holds an entry.
+ */
+public final class IntMap {
+    int[] keys;
+    int[] values;
+    boolean[] used;
+    int size;
+
+    public IntMap() {
+        keys = new int[16];
+        values = new int[16];
+        used = new boolean[16];
+    }
+
+    public void put(int key, int value) {
+        if (2 * (size + 1) > keys.length) {
+            grow();
+        }
+        int i = slot(key);
+        if (!used[i]) {
+            used[i] = true;
+            keys[i] = key;
+            size++;
+        }
+        values[i] = value;
+    }
+
+    /*
+     * @returns the value for the key, or missing if there is none.
+     */
+    public int get(int key, int missing) {
+        int i = slot(key);
+        return used[i] ? values[i] : missing;
+    }
+
+    /*
+     * Takes an entry out of the map.
+     *
+     * @returns its value, or missing if there is none for the key.
+     */
+    public int remove(int key, int missing) {
+        int i = slot(key);
+        if (!used[i]) {
+            return missing;
+        }
+        int out = values[i];
+        used[i] = false;
+        size--;
+
+        // moves back each entry after the hole that would not be found past it
+        int mask = keys.length - 1;
+        for (int j = (i + 1) & mask; used[j]; j = (j + 1) & mask) {
+            int home = hash(keys[j]) & mask;
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                used[i] = true;
+                used[j] = false;
+                i = j;
+            }
+        }
+        return out;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    /*
+     * @returns the slot holding the key, or the empty slot it would go in.
+     */
+    int slot(int key) {
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (used[i] && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    /*
+     * Spreads job ids, which are often consecutive, over the slots.
+     */
+    static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        used = new boolean[oldKeys.length * 2];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
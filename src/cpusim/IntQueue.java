@@ -0,0 +1,78 @@
+package cpusim;
+
+/*
+ * FIFO queue of ints on a ring buffer that doubles when it fills up, so adding only allocates while the queue is
+ * still growing. Used for queues of job numbers. Self explanitory methods have no description.
+ * 
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ * 
+ * param items Is the ring buffer, its length always a power of two.
+ * param head Is the position of the first item.
+ */
+public final class IntQueue {
+    int[] items;
+    int head;
+    int size;
+
+    public IntQueue() {
+        items = new int[16];
+    }
+
+    public void add(int item) {
+        if (size == items.length) {
+            grow();
+        }
+        items[(head + size) & (items.length - 1)] = item;
+        size++;
+    }
+
+    public int peek() {
+        return items[head];
+    }
+
+    public int remove() {
+        int out = items[head];
+        head = (head + 1) & (items.length - 1);
+        size--;
+        return out;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /*
+     * Writes the items in order, which is all load needs to put them back.
+     */
+    public void save(Checkpoint out) {
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeInt(items[(head + i) & (items.length - 1)]);
+        }
+    }
+
+    public void load(Checkpoint in) throws Exception {
+        clear();
+        for (int n = in.readInt(); n > 0; n--) {
+            add(in.readInt());
+        }
+    }
+
+    /*
+     * Doubles the ring buffer, unwrapping the items to the start of it.
+     */
+    void grow() {
+        int[] bigger = new int[items.length * 2];
+        int firstPart = items.length - head;
+        System.arraycopy(items, head, bigger, 0, firstPart);
+        System.arraycopy(items, 0, bigger, firstPart, head);
+        items = bigger;
+        head = 0;
+    }
+}
@@ -0,0 +1,296 @@
+package cpusim;
+
+import java.util.Arrays;
+
+/*
+ * Ordered set of ints, each with a long key stored alongside it when it is added, kept in a red-black tree. Adding an
+ * item is O(log n) with at most two rotations, and the item with the smallest key is kept at hand, as in the Linux
+ * scheduler's tree, so finding it is O(1) and removing it O(log n) with at most three rotations. Items with equal
+ * keys come out in the order they were added, each item being keyed by its key and then by a count of the items
+ * added before it.
+ * Items are small non-negative numbers (slots) and are the nodes of the tree themselves: the links, keys and colour
+ * of each item are kept in arrays indexed by the item plus one, so nothing is allocated once the arrays have grown
+ * to the largest item held. Node 0 is the leaves (NIL), always black; its parent link is borrowed while removing.
+ * Self explanitory methods have no description.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param root Is the node at the root of the tree, NIL if it is empty.
+ * param first Is the node with the smallest key, NIL if the tree is empty.
+ * param left Is the left child of each node.
+ * param right Is the right child of each node.
+ * param parent Is the parent of each node, NIL for the root.
+ * param keys Is the key of each node.
+ * param order Is the number of items added before each node's item, for breaking ties.
+ * param red Is True for a red node.
+ * param added Is the number of items added so far.
+ */
+public final class IntTree {
+    static final int NIL = 0;
+
+    int root;
+    int first;
+    int[] left;
+    int[] right;
+    int[] parent;
+    long[] keys;
+    long[] order;
+    boolean[] red;
+    long added;
+    int size;
+
+    public IntTree() {
+        left = new int[16];
+        right = new int[16];
+        parent = new int[16];
+        keys = new long[16];
+        order = new long[16];
+        red = new boolean[16];
+    }
+
+    /*
+     * Adds an item that is not already in the tree.
+     *
+     * @param item is the item, at least 0
+     *
+     * @param key is its key, smallest first
+     */
+    public void add(int item, long key) {
+        int z = item + 1;
+        if (z >= keys.length) {
+            int n = Math.max(z + 1, keys.length * 2);
+            left = Arrays.copyOf(left, n);
+            right = Arrays.copyOf(right, n);
+            parent = Arrays.copyOf(parent, n);
+            keys = Arrays.copyOf(keys, n);
+            order = Arrays.copyOf(order, n);
+            red = Arrays.copyOf(red, n);
+        }
+        keys[z] = key;
+        order[z] = added++;
+
+        // down to a leaf, noting whether the new node ends up leftmost
+        int y = NIL;
+        boolean leftmost = true;
+        for (int x = root; x != NIL;) {
+            y = x;
+            if (less(z, x)) {
+                x = left[x];
+            } else {
+                x = right[x];
+                leftmost = false;
+            }
+        }
+        parent[z] = y;
+        if (y == NIL) {
+            root = z;
+        } else if (less(z, y)) {
+            left[y] = z;
+        } else {
+            right[y] = z;
+        }
+        left[z] = NIL;
+        right[z] = NIL;
+        red[z] = true;
+        if (leftmost) {
+            first = z;
+        }
+        addFixup(z);
+        size++;
+    }
+
+    public int peek() {
+        return first - 1;
+    }
+
+    public long peekKey() {
+        return keys[first];
+    }
+
+    /*
+     * @returns the item with the smallest key, taking it out of the tree.
+     */
+    public int remove() {
+        int z = first;
+
+        // the leftmost node has no left child, so its right child takes its place
+        int x = right[z];
+        int p = parent[z];
+        if (p == NIL) {
+            root = x;
+        } else {
+            left[p] = x;
+        }
+        parent[x] = p;
+
+        // a node with one child has a red leaf there, which is the next smallest
+        first = x != NIL ? x : p;
+        if (!red[z]) {
+            removeFixup(x);
+        }
+        size--;
+        return z - 1;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /*
+     * Empties the tree, keeping its arrays.
+     */
+    public void clear() {
+        root = NIL;
+        first = NIL;
+        added = 0;
+        size = 0;
+    }
+
+    /*
+     * Restores the red-black properties after a red node z is added.
+     */
+    void addFixup(int z) {
+        while (red[parent[z]]) {
+            int p = parent[z];
+            int g = parent[p];
+            if (p == left[g]) {
+                int u = right[g];
+                if (red[u]) {
+                    red[p] = false;
+                    red[u] = false;
+                    red[g] = true;
+                    z = g;
+                } else {
+                    if (z == right[p]) {
+                        z = p;
+                        rotateLeft(z);
+                        p = parent[z];
+                    }
+                    red[p] = false;
+                    red[g] = true;
+                    rotateRight(g);
+                }
+            } else {
+                int u = left[g];
+                if (red[u]) {
+                    red[p] = false;
+                    red[u] = false;
+                    red[g] = true;
+                    z = g;
+                } else {
+                    if (z == left[p]) {
+                        z = p;
+                        rotateRight(z);
+                        p = parent[z];
+                    }
+                    red[p] = false;
+                    red[g] = true;
+                    rotateLeft(g);
+                }
+            }
+        }
+        red[root] = false;
+    }
+
+    /*
+     * Restores the red-black properties after a black node is removed, leaving
+     * x, which may be NIL, one black short.
+     */
+    void removeFixup(int x) {
+        while (x != root && !red[x]) {
+            int p = parent[x];
+            if (x == left[p]) {
+                int w = right[p];
+                if (red[w]) {
+                    red[w] = false;
+                    red[p] = true;
+                    rotateLeft(p);
+                    w = right[p];
+                }
+                if (!red[left[w]] && !red[right[w]]) {
+                    red[w] = true;
+                    x = p;
+                } else {
+                    if (!red[right[w]]) {
+                        red[left[w]] = false;
+                        red[w] = true;
+                        rotateRight(w);
+                        w = right[p];
+                    }
+                    red[w] = red[p];
+                    red[p] = false;
+                    red[right[w]] = false;
+                    rotateLeft(p);
+                    x = root;
+                }
+            } else {
+                int w = left[p];
+                if (red[w]) {
+                    red[w] = false;
+                    red[p] = true;
+                    rotateRight(p);
+                    w = left[p];
+                }
+                if (!red[left[w]] && !red[right[w]]) {
+                    red[w] = true;
+                    x = p;
+                } else {
+                    if (!red[left[w]]) {
+                        red[right[w]] = false;
+                        red[w] = true;
+                        rotateLeft(w);
+                        w = left[p];
+                    }
+                    red[w] = red[p];
+                    red[p] = false;
+                    red[left[w]] = false;
+                    rotateRight(p);
+                    x = root;
+                }
+            }
+        }
+        red[x] = false;
+    }
+
+    void rotateLeft(int x) {
+        int y = right[x];
+        right[x] = left[y];
+        if (left[y] != NIL) {
+            parent[left[y]] = x;
+        }
+        replace(x, y);
+        left[y] = x;
+        parent[x] = y;
+    }
+
+    void rotateRight(int x) {
+        int y = left[x];
+        left[x] = right[y];
+        if (right[y] != NIL) {
+            parent[right[y]] = x;
+        }
+        replace(x, y);
+        right[y] = x;
+        parent[x] = y;
+    }
+
+    /*
+     * Puts y where x hangs from its parent.
+     */
+    void replace(int x, int y) {
+        int p = parent[x];
+        parent[y] = p;
+        if (p == NIL) {
+            root = y;
+        } else if (x == left[p]) {
+            left[p] = y;
+        } else {
+            right[p] = y;
+        }
+    }
+
+    boolean less(int a, int b) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && order[a] < order[b]);
+    }
+}
@@ -0,0 +1,91 @@
+package cpusim;
+
+/*
+ * Where a simulation gets its jobs from, one at a time in the order they arrive. Jobs are only read or built when
+ * the simulation asks for them, so a source does not need to hold the whole job file in memory. A source reading a
+ * file holds it open until it is closed, or has read to the end of it.
+ * Self explanitory methods have no description.
+ * 
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public interface JobSource extends AutoCloseable {
+
+    boolean hasNext();
+
+    /*
+     * @returns the next job without taking it, or null if there are none left.
+     */
+    PCB peek();
+
+    PCB next();
+
+    /*
+     * @returns the number of jobs in the whole source, including the ones already
+     * taken. A source that streams from a file may have to read to the end to
+     * know, so this is meant to be called once the simulation is done with it.
+     */
+    int total();
+
+    /*
+     * Takes and drops jobs, e.g. the ones a checkpointed run had already taken
+     * when it resumes.
+     *
+     * @param n is the number of jobs
+     */
+    default void skip(int n) {
+        for (int i = 0; i < n && hasNext(); i++) {
+            next();
+        }
+    }
+
+    /*
+     * Takes and drops the jobs arriving before a time, so the next job is the
+     * first one arriving at or after it. Assumes jobs are in order of arrival,
+     * as in an ordinary job file. Sources with an index of arrival times jump
+     * straight to the right place.
+     *
+     * @param time is the arrival time to look for
+     */
+    default void seekArrival(int time) throws Exception {
+        while (hasNext() && peek().arr < time) {
+            next();
+        }
+    }
+
+    /*
+     * Hands back a job the simulation is done with, so the source can reuse its
+     * PCB for a job it has not built yet. Sources that build each job anew leave
+     * it to the garbage collector.
+     *
+     * @param p is the job, which the simulation no longer holds
+     */
+    default void recycle(PCB p) {
+    }
+
+    /*
+     * Closes the file the source reads, if any. Sources that read no file have
+     * nothing to close.
+     */
+    default void close() {
+    }
+
+    /*
+     * Opens a job file in either format, telling them apart by the first bytes,
+     * or a Generator if the name starts with gen:
+     * 
+     * @param fname is the name of the job file, text or binary, or a generator
+     * spec
+     * 
+     * @returns a source reading the file as the simulation goes
+     */
+    static JobSource open(String fname) throws Exception {
+        if (Generator.isGenerator(fname)) {
+            return new Generator(fname);
+        }
+        if (BinaryTraceReader.isBinary(fname)) {
+            return new BinaryTraceReader(fname);
+        }
+        return new TraceReader(fname);
+    }
+}
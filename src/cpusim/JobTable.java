@@ -0,0 +1,99 @@
+package cpusim;
+
+import java.util.Arrays;
+
+/*
+ * Holds every job of one simulation in primitive arrays indexed by the job's position in the Workload, instead of a
+ * PCB object per job. The fields that never change (id, arrival, where the bursts start) are read straight from the
+ * shared Workload; this table only holds what the simulation changes, including its own copy of all the bursts in
+ * one flat array since RR uses them up. Building one costs a handful of arrays however many jobs there are, and
+ * reset puts it back to the start so it can be used for another run.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param bursts Is this run's copy of the bursts of every job, laid out as in the Workload.
+ * param pc Is the simulated program counter of each job.
+ * param curBurst Is the current CPU burst of each job.
+ * param ioComp Is the completion time of each job's current I/O operation.
+ * param ioTime Is the length of each job's current I/O operation.
+ * param ioQueued Is the time each job joined the blocked queue.
+ * param cpuShots Is the number of times each job has been loaded into the CPU.
+ * param firstRun Is the time each job was first loaded into the CPU.
+ * param state Is the state of each job, one of the constants below.
+ */
+public final class JobTable {
+    static final byte READY = 0;
+    static final byte RUNNING = 1;
+    static final byte BLOCKED = 2;
+    static final byte DONE = 3;
+
+    final Workload workload;
+    final int[] bursts;
+    final int[] pc;
+    final int[] curBurst;
+    final int[] ioComp;
+    final int[] ioTime;
+    final int[] ioQueued;
+    final int[] cpuShots;
+    final int[] firstRun;
+    final byte[] state;
+
+    /*
+     * @param workload Is the jobs this table holds
+     */
+    public JobTable(Workload workload) {
+        this.workload = workload;
+        int n = workload.size();
+        bursts = new int[workload.bursts.length];
+        pc = new int[n];
+        curBurst = new int[n];
+        ioComp = new int[n];
+        ioTime = new int[n];
+        ioQueued = new int[n];
+        cpuShots = new int[n];
+        firstRun = new int[n];
+        state = new byte[n];
+        reset();
+    }
+
+    /*
+     * Puts every job back the way it was before the simulation started.
+     */
+    public void reset() {
+        System.arraycopy(workload.bursts, 0, bursts, 0, bursts.length);
+        Arrays.fill(pc, 0);
+        Arrays.fill(curBurst, 0);
+        Arrays.fill(ioComp, 0);
+        Arrays.fill(ioTime, 0);
+        Arrays.fill(ioQueued, 0);
+        Arrays.fill(cpuShots, 0);
+        Arrays.fill(firstRun, 0);
+        Arrays.fill(state, READY);
+    }
+
+    public int size() {
+        return pc.length;
+    }
+
+    /*
+     * @returns where the current burst of a job is in bursts.
+     */
+    int burstIndex(int job) {
+        return workload.burstStart[job] + curBurst[job];
+    }
+
+    /*
+     * @returns the time left in the current burst of a job.
+     */
+    int burst(int job) {
+        return bursts[workload.burstStart[job] + curBurst[job]];
+    }
+
+    /*
+     * @returns True if a job is on its last burst.
+     */
+    boolean lastBurst(int job) {
+        return workload.burstStart[job] + curBurst[job] == workload.burstStart[job + 1] - 1;
+    }
+}
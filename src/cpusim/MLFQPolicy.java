@@ -0,0 +1,133 @@
+package cpusim;
+
+/*
+ * Multi-level feedback queue: every process has a priority level, and a core always runs the process at the highest
+ * level with work, taking turns within a level as RR does. Each level has its own time quantum, usually longer the
+ * lower the level. A process that uses its whole quantum drops a level; one that comes back from I/O goes up a level,
+ * so processes that do a lot of I/O stay near the top. Every boost time units every process in a ready queue or on
+ * a core goes back to the top level, so long running processes at the bottom cannot starve; a process doing I/O at
+ * the time keeps its level. New processes start at the top.
+ * Settings go after the name and a colon, separated by commas, e.g. MLFQ:levels=4,quanta=5/10/20/40,boost=500
+ * levels=n is the number of levels, 1 to 64 (default 3)
+ * quanta=a/b/... is the quantum of each level from the top; levels past the last one given double it (default 10)
+ * boost=n is the time between boosts, 0 for none (default 1000)
+ * If levels is not given there is one level per quantum.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param quanta Is the time quantum of each level.
+ * param boost Is the time between boosts, 0 for none.
+ * param settings Is the settings as given, null if none.
+ */
+public final class MLFQPolicy implements SchedulingPolicy {
+    static final int MAX_LEVELS = 64;
+    static final String SETTINGS = "Settings are levels=n, quanta=a/b/..., boost=n.";
+
+    int[] quanta = { 10, 20, 40 };
+    int boost = 1000;
+    String settings;
+
+    public String name() {
+        return "MLFQ";
+    }
+
+    public String label() {
+        return settings == null ? name() : name() + ":" + settings;
+    }
+
+    public ReadyQueue newReadyQueue() {
+        return new MLFQReadyQueue(quanta);
+    }
+
+    public int slice(PCB process, int quantum) {
+        int run = Math.min(quanta[process.level], process.bursts[process.curBurst]);
+
+        // using up the whole quantum costs a level
+        if (run == quanta[process.level] && process.level < quanta.length - 1) {
+            process.level++;
+        }
+        return run;
+    }
+
+    public void ioDone(PCB process) {
+        if (process.level > 0) {
+            process.level--;
+        }
+    }
+
+    public int boostInterval() {
+        return boost;
+    }
+
+    public void boost(ReadyQueue queue, PCB running) {
+        ((MLFQReadyQueue) queue).boost();
+        if (running != null) {
+            running.level = 0;
+        }
+    }
+
+    public void finish(ReadyQueue[] queues, Report report) {
+        long[] shots = new long[quanta.length];
+        long[] time = new long[quanta.length];
+        for (ReadyQueue queue : queues) {
+            MLFQReadyQueue q = (MLFQReadyQueue) queue;
+            for (int l = 0; l < quanta.length; l++) {
+                shots[l] += q.shots[l];
+                time[l] += q.time[l];
+            }
+        }
+        report.setLevels(quanta, shots, time);
+    }
+
+    public void configure(String settings) throws Exception {
+        int levels = 0;
+        int[] given = null;
+        for (String setting : settings.split(",")) {
+            String[] kv = setting.split("=", 2);
+            if (kv.length != 2) {
+                throw new Exception("Illegal MLFQ setting " + setting + ". " + SETTINGS);
+            }
+            if (kv[0].equals("levels")) {
+                levels = Integer.parseInt(kv[1]);
+                if (levels < 1 || levels > MAX_LEVELS) {
+                    throw new Exception("Illegal MLFQ levels " + kv[1] + ". Must be from 1 to " + MAX_LEVELS + ".");
+                }
+            } else if (kv[0].equals("quanta")) {
+                String[] parts = kv[1].split("/");
+                given = new int[parts.length];
+                for (int i = 0; i < parts.length; i++) {
+                    given[i] = Integer.parseInt(parts[i]);
+                    if (given[i] < 1) {
+                        throw new Exception("Illegal MLFQ quanta " + kv[1] + ". Each must be at least 1.");
+                    }
+                }
+            } else if (kv[0].equals("boost")) {
+                boost = Integer.parseInt(kv[1]);
+                if (boost < 0) {
+                    throw new Exception("Illegal MLFQ boost " + kv[1] + ". Must be at least 0.");
+                }
+            } else {
+                throw new Exception("Illegal MLFQ setting " + setting + ". " + SETTINGS);
+            }
+        }
+
+        if (given == null) {
+            given = new int[] { 10 };
+            levels = levels == 0 ? quanta.length : levels;
+        } else if (levels == 0) {
+            levels = given.length;
+        }
+        if (given.length > levels) {
+            throw new Exception("Illegal MLFQ quanta. There are " + given.length + " for " + levels + " levels.");
+        }
+
+        // the levels past the quanta given double the last one
+        quanta = new int[levels];
+        for (int l = 0; l < levels; l++) {
+            quanta[l] = l < given.length ? given[l]
+                    : (int) Math.min(Integer.MAX_VALUE, 2L * quanta[l - 1]);
+        }
+        this.settings = settings;
+    }
+}
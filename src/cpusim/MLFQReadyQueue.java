@@ -0,0 +1,127 @@
+package cpusim;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/*
+ * Ready Queue of the multi-level feedback queue: a FIFO queue per priority level, level 0 first. Each process waits
+ * in the queue of its own level. A bit per level, set while that level's queue is not empty, finds the highest
+ * non-empty level with a single count of trailing zeros, so picking the next process costs the same however many
+ * levels there are. There can be at most 64 levels, one per bit.
+ * The queue also keeps the CPU shots started at each level and the CPU time they were given, for the report.
+ * Self explanitory methods have no description.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param levels Is the FIFO queue of each level.
+ * param quanta Is the time quantum of each level.
+ * param nonEmpty Is a bit per level, set if its queue holds a process.
+ * param shots Is the number of CPU shots started at each level.
+ * param time Is the CPU time given to the shots started at each level.
+ */
+public class MLFQReadyQueue implements ReadyQueue {
+    final ArrayDeque<PCB>[] levels;
+    final int[] quanta;
+    long nonEmpty;
+    int size;
+    final long[] shots;
+    final long[] time;
+
+    /*
+     * @param quanta Is the time quantum of each level, one per level.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public MLFQReadyQueue(int[] quanta) {
+        this.quanta = quanta;
+        levels = new ArrayDeque[quanta.length];
+        for (int l = 0; l < levels.length; l++) {
+            levels[l] = new ArrayDeque<>();
+        }
+        shots = new long[quanta.length];
+        time = new long[quanta.length];
+    }
+
+    public void addProcess(PCB proc) {
+        levels[proc.level].add(proc);
+        nonEmpty |= 1L << proc.level;
+        size++;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public PCB getNext() {
+        int l = Long.numberOfTrailingZeros(nonEmpty);
+        PCB out = levels[l].remove();
+        if (levels[l].isEmpty()) {
+            nonEmpty &= ~(1L << l);
+        }
+        size--;
+
+        // the shot runs for the level's quantum, or less if its burst ends first
+        shots[l]++;
+        time[l] += Math.min(quanta[l], out.bursts[out.curBurst]);
+        return out;
+    }
+
+    /*
+     * Moves every process to the top level, keeping the order they were in, top
+     * level first.
+     */
+    void boost() {
+        for (int l = 1; l < levels.length; l++) {
+            for (PCB p : levels[l]) {
+                p.level = 0;
+                levels[0].add(p);
+            }
+            levels[l].clear();
+        }
+        nonEmpty = size > 0 ? 1L : 0L;
+    }
+
+    public boolean reset() {
+        for (ArrayDeque<PCB> level : levels) {
+            level.clear();
+        }
+        nonEmpty = 0;
+        size = 0;
+        Arrays.fill(shots, 0);
+        Arrays.fill(time, 0);
+        return true;
+    }
+
+    public void save(Checkpoint out) {
+        for (ArrayDeque<PCB> level : levels) {
+            out.writeInt(level.size());
+            for (PCB p : level) {
+                out.writePCB(p);
+            }
+        }
+        out.writeLongs(shots);
+        out.writeLongs(time);
+    }
+
+    public void load(Checkpoint in) throws Exception {
+        for (int l = 0; l < levels.length; l++) {
+            for (int n = in.readInt(); n > 0; n--) {
+                levels[l].add(in.readPCB());
+                nonEmpty |= 1L << l;
+                size++;
+            }
+        }
+        in.readLongs(shots);
+        in.readLongs(time);
+    }
+
+    public String toString() {
+        String out = "";
+        for (int l = 0; l < levels.length; l++) {
+            for (PCB p : levels[l]) {
+                out += p.toString() + " | level : " + Integer.toString(l) + "\n";
+            }
+        }
+        return out;
+    }
+}
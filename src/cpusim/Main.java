@@ -0,0 +1,296 @@
+package cpusim;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/*
+ * Main method for carrying out CPU scheduling algorithm simulation. Command line args are as follows:
+ * algorithm[quantum] filename
+ * Every algorithm is a SchedulingPolicy run on the same event driven Simulation. The algorithm is looked up by name,
+ * so policies added with ServiceLoader can be given here as well as the built in FCFS, SJF, RR, MLFQ, CFS, SRTF,
+ * EDF and RM. Settings of an algorithm that has them follow its name and a colon, e.g. MLFQ:levels=4,boost=500.
+ * The options only set up a SimulationBuilder, which runs the simulation the same way for code that embeds it.
+ * 
+ * @author Jay Turnsek
+ * @date 2022-11-09
+ * 
+ * Options go before the algorithm, as --name value pairs:
+ * --cores n simulates a CPU with n cores, each with its own ready queue (see Simulation)
+ * --sweep configurations runs many configurations in parallel and takes only the filename (see Sweep)
+ * --batch files runs the algorithm on every job file of a directory, or every one a glob such as traces/*.txt
+ * matches, and takes no filename (see Batch)
+ * --store table keeps the jobs in primitive arrays instead of a PCB each (see TableSim), single core only
+ * --output console|quiet|csv:path|json:path is where the per job and 200 level reports go (see ReportSink)
+ * --metrics path samples queue depths, utilization and throughput into a columnar file (see MetricsRecorder)
+ * --interval n is the time between 200 level reports and between samples (default 200)
+ * --devices n simulates n I/O devices, each with its own blocked queue (see IOSubsystem)
+ * --io-assign job|burst sends all of a job's I/O to one device, or each I/O to the device with the shortest queue
+ * --io-time fixed:n|exp:mean|uniform:lo:hi is the length of I/O not given in the job file (default fixed:10)
+ * --checkpoint path saves the whole state of the run to a file every so often (see Checkpoint)
+ * --checkpoint-every n is the time between checkpoints (default 10000000)
+ * --resume path goes on from a checkpoint, given the same algorithm, file and options as the run that saved it;
+ * per job and 200 level reports start from the checkpoint
+ * --event-log path records each dispatch, end of a slice, block, unblock, preemption and exit to a log that
+ * EventReplay turns back into the report or per job timelines (see EventLog)
+ * --trace path writes which job ran on each core when, and when each job was blocked, as a Chrome trace event file
+ * that Perfetto and chrome://tracing open (see TraceExporter)
+ * --trace-jobs first-last only traces the jobs with ids from first to last
+ * --trace-window from-to only traces the slices that overlap the window of time from to to
+ * 
+ * @param algorithm Denotes algorithm to be used
+ * @param quantum is time quantum to be used if the algorithm takes one (RR)
+ * @param filename is the name of the file with the job data, text or binary, read as the simulation goes (see
+ * TraceReader and BinaryTraceReader)
+ */
+public class Main {
+
+    // names of the options that can be given before the algorithm
+    static final String[] OPTIONS = { "cores", "sweep", "batch", "store", "output", "metrics", "interval", "devices",
+            "io-assign", "io-time", "checkpoint", "checkpoint-every", "resume", "event-log", "trace", "trace-jobs",
+            "trace-window" };
+
+    // options a checkpoint can only be resumed with the same values of
+    static final String[] RUN = { "algorithm", "quantum", "filename", "cores", "interval", "devices", "io-assign",
+            "io-time" };
+
+    public static void main(String[] args) throws Exception {
+
+        // checks command line args and sends them to parameter map
+        HashMap<String, String> params = handleArgs(args);
+
+        // a sweep runs many configurations over one parsed copy of the file
+        if (params.containsKey("sweep")) {
+            Sweep.run(params);
+            return;
+        }
+
+        // a batch runs the algorithm on many files, reading some while simulating others
+        if (params.containsKey("batch")) {
+            Batch.run(params);
+            return;
+        }
+
+        // runs it as code using the simulator would, then prints the final report
+        Report report = builder(params).run();
+        report.print();
+
+    }
+
+    /*
+     * Sets up a simulation as the command line options ask.
+     *
+     * @param params is the parameter map from handleArgs
+     *
+     * @returns a builder ready to run it.
+     */
+    static SimulationBuilder builder(HashMap<String, String> params) throws Exception {
+        SimulationBuilder builder = new SimulationBuilder().file(params.get("filename"))
+                .policy(params.get("algorithm")).table("table".equals(params.get("store")))
+                .output(params.getOrDefault("output", "console"))
+                .interval(Integer.parseInt(params.getOrDefault("interval", "200")))
+                .metrics(params.get("metrics")).eventLog(params.get("event-log"))
+                .trace(params.get("trace"), params.get("trace-jobs"), params.get("trace-window"));
+        if (params.containsKey("quantum")) {
+            builder.quantum(Integer.parseInt(params.get("quantum")));
+        }
+        if (params.containsKey("cores")) {
+            builder.cores(Integer.parseInt(params.get("cores")));
+        }
+
+        // I/O devices are only reported on when asked for
+        if (params.containsKey("devices") || params.containsKey("io-assign") || params.containsKey("io-time")) {
+            builder.io(Integer.parseInt(params.getOrDefault("devices", "1")), params.getOrDefault("io-assign", "job"),
+                    params.getOrDefault("io-time", "fixed:10"));
+        }
+        if (params.containsKey("checkpoint")) {
+            builder.checkpoint(params.get("checkpoint"),
+                    Integer.parseInt(params.getOrDefault("checkpoint-every", "10000000")), describe(params));
+        }
+        if (params.containsKey("resume")) {
+            builder.resume(params.get("resume"), describe(params));
+        }
+        return builder;
+    }
+
+    /*
+     * @returns the description of a run that a checkpoint keeps, made of the
+     * options it can only be resumed with the same values of.
+     * 
+     * @param params is the parameter map from handleArgs
+     */
+    static String describe(HashMap<String, String> params) {
+        StringBuilder out = new StringBuilder();
+        for (String name : RUN) {
+            if (params.containsKey(name)) {
+                out.append(out.length() == 0 ? "" : " ").append(name).append('=').append(params.get(name));
+            }
+        }
+        return out.toString();
+    }
+
+    /*
+     * Command line argument handler, to ensure legal arguments are entered in the
+     * console.
+     * 
+     * @param args is the string args directly from the console
+     * 
+     * @returns out is the hashmap containing all the needed arguments to complete
+     * the simulation.
+     */
+    static HashMap<String, String> handleArgs(String[] args) throws Exception {
+
+        HashMap<String, String> out = new HashMap<String, String>();
+
+        // Options come first as --name value pairs, and must be ones we know about.
+        int first = 0;
+        while (first < args.length && args[first].startsWith("--")) {
+            String name = args[first].substring(2);
+            if (!Arrays.asList(OPTIONS).contains(name)) {
+                throw new Exception("Unknown option --" + name + ". Options are: --" + String.join(", --", OPTIONS));
+            }
+            if (first + 1 >= args.length) {
+                throw new Exception("Missing value for option --" + name);
+            }
+            out.put(name, args[first + 1]);
+            first += 2;
+        }
+        args = Arrays.copyOfRange(args, first, args.length);
+
+        // Ensures the number of cores makes sense, if given.
+        if (out.containsKey("cores") && Integer.parseInt(out.get("cores")) < 1) {
+            throw new Exception("Illegal number of cores. Must be at least 1.");
+        }
+
+        // Ensures the job store is one we know, and is not asked for with more than one core.
+        if (out.containsKey("store")) {
+            if (!(out.get("store").equals("pcb") | out.get("store").equals("table"))) {
+                throw new Exception("Illegal store. Choose from pcb, table.");
+            }
+            if (out.get("store").equals("table") && out.containsKey("cores")) {
+                throw new Exception("Illegal options. --store table only runs on a single core.");
+            }
+            if (out.get("store").equals("table") && Integer.parseInt(out.getOrDefault("devices", "1")) != 1) {
+                throw new Exception("Illegal options. --store table only runs a single I/O device.");
+            }
+        }
+
+        // Ensures checkpoints are asked for with the plain simulation, which is the only one that can save its
+        // state, and not with a metrics file, which cannot be picked up again part way.
+        if (out.containsKey("checkpoint-every")) {
+            if (!out.containsKey("checkpoint")) {
+                throw new Exception("Illegal options. --checkpoint-every needs --checkpoint.");
+            }
+            if (Integer.parseInt(out.get("checkpoint-every")) < 1) {
+                throw new Exception("Illegal time between checkpoints. Must be at least 1.");
+            }
+        }
+        for (String name : new String[] { "checkpoint", "resume" }) {
+            if (out.containsKey(name) && "table".equals(out.get("store"))) {
+                throw new Exception(
+                        "Illegal options. --store table cannot be checkpointed, so takes no --" + name + ".");
+            }
+            if (out.containsKey(name) && out.containsKey("metrics")) {
+                throw new Exception("Illegal options. --metrics cannot be checkpointed, so takes no --" + name + ".");
+            }
+        }
+
+        // Ensures the event log is asked for with the plain simulation, from the start of the run, so it has every
+        // event of every job.
+        if (out.containsKey("event-log")) {
+            if ("table".equals(out.get("store"))) {
+                throw new Exception("Illegal options. --store table has no event log, so takes no --event-log.");
+            }
+            if (out.containsKey("resume")) {
+                throw new Exception(
+                        "Illegal options. --event-log needs the whole run, so cannot be given with --resume.");
+            }
+        }
+
+        // Ensures the trace is asked for with the plain simulation, and its filters only with a trace.
+        for (String name : new String[] { "trace-jobs", "trace-window" }) {
+            if (out.containsKey(name) && !out.containsKey("trace")) {
+                throw new Exception("Illegal options. --" + name + " needs --trace.");
+            }
+        }
+        if (out.containsKey("trace") && "table".equals(out.get("store"))) {
+            throw new Exception("Illegal options. --store table has no trace, so takes no --trace.");
+        }
+
+        // Ensures the time between reports and samples makes sense, if given.
+        if (out.containsKey("interval") && Integer.parseInt(out.get("interval")) < 1) {
+            throw new Exception("Illegal interval. Must be at least 1.");
+        }
+
+        // A sweep lists its own algorithms, so only takes the file name, and only
+        // prints its table.
+        if (out.containsKey("sweep")) {
+            for (String name : new String[] { "batch", "output", "metrics", "interval", "devices", "io-assign",
+                    "io-time", "checkpoint", "checkpoint-every", "resume", "event-log", "trace", "trace-jobs",
+                    "trace-window" }) {
+                if (out.containsKey(name)) {
+                    throw new Exception("Illegal options. --sweep runs the plain simulation and only prints its own"
+                            + " table, so takes no --" + name + ".");
+                }
+            }
+            if (args.length != 1) {
+                throw new Exception("Illegal number of arguments. Input should be: --sweep configurations filename");
+            }
+            out.put("filename", args[0]);
+            return out;
+        }
+
+        // A batch runs one algorithm over its own files, so takes no file name, and
+        // only prints its table.
+        if (out.containsKey("batch")) {
+            for (String name : new String[] { "sweep", "output", "metrics", "interval", "checkpoint",
+                    "checkpoint-every", "resume", "event-log", "trace", "trace-jobs", "trace-window" }) {
+                if (out.containsKey(name)) {
+                    throw new Exception("Illegal options. --batch runs each file on its own and only prints its own"
+                            + " table, so takes no --" + name + ".");
+                }
+            }
+            if (args.length < 1 || args.length > 2
+                    || (args.length == 2) != SchedulingPolicy.forName(args[0]).takesQuantum()) {
+                throw new Exception("Illegal number of arguments. Input should be: --batch files algorithm[quantum]");
+            }
+            out.put("algorithm", args[0]);
+            if (args.length == 2) {
+                out.put("quantum", args[1]);
+            }
+            if ("table".equals(out.get("store")) && !TableSim.runs(SchedulingPolicy.forName(args[0]))) {
+                throw new Exception("Illegal options. --store table cannot run " + args[0] + ", only "
+                        + TableSim.policies() + ".");
+            }
+            return out;
+        }
+
+        // This ensures that both that there is the right amount of arguments, and that
+        // there is only 2 if the algorithm takes no quantum
+        // and 3 if it does (RR).
+        if (args.length == 2) {
+            if (SchedulingPolicy.forName(args[0]).takesQuantum()) {
+                throw new Exception("Illegal number of arguments. Input should be: algorithm[quantum] filename");
+            }
+            out.put("algorithm", args[0]);
+            out.put("filename", args[1]);
+        } else if (args.length == 3) {
+            out.put("algorithm", args[0]);
+            out.put("quantum", args[1]);
+            out.put("filename", args[2]);
+        } else {
+            throw new Exception("Illegal number of arguments. Input should be: algorithm[quantum] filename");
+        }
+
+        // Ensures that a legal algorithm is entered in the algorithm field, built in
+        // or found by ServiceLoader.
+        SchedulingPolicy.forName(args[0]);
+
+        // The job table only has queues for some algorithms, see SchedulingPolicy.tableOrder.
+        if ("table".equals(out.get("store")) && !TableSim.runs(SchedulingPolicy.forName(args[0]))) {
+            throw new Exception("Illegal options. --store table cannot run " + args[0] + ", only "
+                    + TableSim.policies() + ".");
+        }
+
+        return out;
+    }
+}
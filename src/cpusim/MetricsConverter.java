@@ -0,0 +1,71 @@
+package cpusim;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+
+/*
+ * Turns a metrics file written by MetricsRecorder into CSV, one line per sample under a line of column names, e.g.
+ * java -cp cpusim.jar cpusim.MetricsConverter run.cpum [run.csv]
+ * The CSV goes to the console if no output file is given.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class MetricsConverter {
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1 || args.length > 2) {
+            throw new Exception("Illegal arguments. Input should be: input [output]");
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(args[0]), 1 << 16));
+                PrintStream out = args.length == 2 ? new PrintStream(args[1]) : System.out) {
+            if (in.readInt() != MetricsRecorder.MAGIC || in.readInt() != MetricsRecorder.VERSION) {
+                throw new Exception("Illegal metrics file " + args[0]);
+            }
+            in.readInt(); // interval
+            in.readInt(); // cores
+            String[] names = new String[in.readInt()];
+            for (int c = 0; c < names.length; c++) {
+                byte[] name = new byte[in.readUnsignedByte()];
+                in.readFully(name);
+                names[c] = new String(name, "US-ASCII");
+            }
+            out.println(String.join(",", names));
+
+            // each block holds its samples column by column
+            StringBuilder line = new StringBuilder();
+            for (int count = in.readInt(); count > 0; count = in.readInt()) {
+                int[][] columns = new int[names.length][count];
+                for (int[] column : columns) {
+                    int prev = 0;
+                    for (int i = 0; i < count; i++) {
+                        prev += BinaryTraceReader.unzigzag(readVarint(in));
+                        column[i] = prev;
+                    }
+                }
+                for (int i = 0; i < count; i++) {
+                    line.setLength(0);
+                    for (int c = 0; c < columns.length; c++) {
+                        line.append(c == 0 ? "" : ",").append(columns[c][i]);
+                    }
+                    out.println(line);
+                }
+            }
+        }
+    }
+
+    static int readVarint(DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
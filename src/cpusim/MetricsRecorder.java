@@ -0,0 +1,173 @@
+package cpusim;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * Samples the state of a simulation every interval time units into a compact columnar file, for graphing long runs
+ * without printing the 200 level table. Each sample holds the columns
+ * time, ready, blocked, running, inflight, completed, util
+ * where ready and blocked are the queue depths, running is the number of busy cores, inflight is the number of jobs
+ * in the system, completed is the number of jobs finished since the last sample (the throughput) and util is the
+ * share of core time spent running processes since the last sample, in tenths of a percent.
+ * Samples go into one preallocated int array per column, which is reused: once it holds BLOCK samples they are
+ * written out as a block and recording starts again from the front, so memory stays the same however long the run.
+ * The layout of the file is:
+ *
+ * header: magic "CPUM", version, interval, cores, number of columns, then each column name as a length and bytes
+ * blocks: number of samples, then each column in turn as zigzag varints of the difference from the previous sample
+ * end: a block of 0 samples
+ *
+ * MetricsConverter turns the file into CSV.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param columns Is the samples of the current block, one array per column.
+ * param count Is the number of samples in the current block.
+ * param lastTime Is the time of the last sample.
+ * param lastBusy Is the total core time spent running processes at the last sample.
+ * param lastCompleted Is the number of jobs completed at the last sample.
+ */
+public final class MetricsRecorder implements AutoCloseable {
+    static final int MAGIC = 0x4350554D;
+    static final int VERSION = 1;
+    static final int BLOCK = 4096;
+
+    static final String[] COLUMNS = { "time", "ready", "blocked", "running", "inflight", "completed", "util" };
+    static final int TIME = 0;
+    static final int READY = 1;
+    static final int BLOCKED = 2;
+    static final int RUNNING = 3;
+    static final int IN_FLIGHT = 4;
+    static final int COMPLETED = 5;
+    static final int UTIL = 6;
+
+    final int interval;
+    final int cores;
+    final int[][] columns;
+    final FileChannel channel;
+    final ByteBuffer out;
+    int count;
+    long samples;
+    int lastTime;
+    long lastBusy;
+    int lastCompleted;
+
+    /*
+     * @param path Is the file to write, replaced if it exists.
+     *
+     * @param interval Is the time between samples.
+     *
+     * @param cores Is the number of cores of the simulated CPU.
+     */
+    public MetricsRecorder(String path, int interval, int cores) throws IOException {
+        this.interval = interval;
+        this.cores = cores;
+        columns = new int[COLUMNS.length][BLOCK];
+        channel = FileChannel.open(Paths.get(path), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        out = ByteBuffer.allocateDirect(4 + 5 * COLUMNS.length * BLOCK);
+
+        out.putInt(MAGIC).putInt(VERSION).putInt(interval).putInt(cores).putInt(COLUMNS.length);
+        for (String name : COLUMNS) {
+            byte[] bytes = name.getBytes(StandardCharsets.US_ASCII);
+            out.put((byte) bytes.length).put(bytes);
+        }
+        flush();
+    }
+
+    /*
+     * Takes a sample. A second sample at the same time is dropped.
+     *
+     * @param time is the current time
+     *
+     * @param ready is the number of processes in the ready queues of all cores
+     *
+     * @param blocked is the number of processes waiting for or doing I/O
+     *
+     * @param running is the number of cores running a process
+     *
+     * @param inFlight is the number of jobs in the system
+     *
+     * @param completed is the number of jobs completed so far
+     *
+     * @param busy is the total core time spent running processes so far
+     */
+    public void sample(int time, int ready, int blocked, int running, int inFlight, int completed, long busy) {
+        if (samples > 0 && time == lastTime) {
+            return;
+        }
+        long span = (long) (time - lastTime) * cores;
+
+        columns[TIME][count] = time;
+        columns[READY][count] = ready;
+        columns[BLOCKED][count] = blocked;
+        columns[RUNNING][count] = running;
+        columns[IN_FLIGHT][count] = inFlight;
+        columns[COMPLETED][count] = completed - lastCompleted;
+        columns[UTIL][count] = span == 0 ? 0 : (int) (1000 * (busy - lastBusy) / span);
+        count++;
+        samples++;
+        lastTime = time;
+        lastBusy = busy;
+        lastCompleted = completed;
+
+        if (count == BLOCK) {
+            writeBlock();
+        }
+    }
+
+    /*
+     * Writes out the samples still held, ends the file and closes it.
+     */
+    public void close() throws IOException {
+        if (count > 0) {
+            writeBlock();
+        }
+        out.putInt(0);
+        flush();
+        channel.close();
+    }
+
+    /*
+     * Writes the current block to the file, column by column, and starts the
+     * next one from the front of the arrays.
+     */
+    void writeBlock() {
+        out.putInt(count);
+        for (int[] column : columns) {
+            int prev = 0;
+            for (int i = 0; i < count; i++) {
+                putVarint(BinaryTraceWriter.zigzag(column[i] - prev));
+                prev = column[i];
+            }
+        }
+        try {
+            flush();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        count = 0;
+    }
+
+    void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    void putVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+}
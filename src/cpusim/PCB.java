@@ -0,0 +1,151 @@
+package cpusim;
+
+import java.util.Arrays;
+
+/*
+ * PCB class implementation to hold data about any given job.
+ * 
+ * @author Jay Turnsek
+ * @date 2022-11-09
+ * 
+ * @param jobID: the specified ID of the process
+ * @param state: current state of the process
+ * @param pc: simulated program counter
+ * @param burstCount: number of CPU bursts
+ * @param curBurst: current CPU burst
+ * @param ioComp: completion time of current I/O operation
+ * @param lastCore: core the process last ran on, -1 if it has not run yet
+ * @param firstRun: time the process was first loaded into the CPU
+ * @param io: length of the I/O after each burst but the last, from the job file; null if not given
+ * @param device: I/O device named in the job file, -1 if not given
+ * @param ioTime: length of the current I/O operation
+ * @param ioQueued: time the process joined its I/O device's queue
+ * @param level: priority level under MLFQ, 0 is the top
+ * @param vruntime: virtual runtime under CFS, the CPU time it has been given
+ * @param burstRan: CPU time the current burst has had so far
+ * @param estimate: guess for the length of the current burst, from a BurstPredictor
+ * @param deadline: time after its arrival the job is due by, or after the start of each period if periodic; 0 if none
+ * @param period: time between the releases of a periodic job, each burst being one release; 0 if not periodic
+ * @param util: share of a CPU a periodic job needs, its longest burst over its period
+ * @param report: holds statistics about this process in the simulation.
+ */
+public class PCB {
+    int jobID;
+    int arr;
+    String state;
+    int pc;
+    int burstCount;
+    int[] bursts;
+    int curBurst;
+    int ioComp;
+    int cpuShots;
+    int lastCore;
+    int firstRun;
+    int[] io;
+    int device;
+    int ioTime;
+    int ioQueued;
+    int level;
+    long vruntime;
+    int burstRan;
+    float estimate;
+    int deadline;
+    int period;
+    float util;
+
+    public PCB(int jid, int arrival, int bCount, int[] bursts_arr) {
+        reset(jid, arrival, bCount, bursts_arr);
+    }
+
+    /*
+     * Makes this PCB a new job, as the constructor would, so a job source can
+     * reuse the PCB of a job that is done instead of making another.
+     */
+    void reset(int jid, int arrival, int bCount, int[] bursts_arr) {
+        jobID = jid;
+        arr = arrival;
+        state = "Ready";
+        pc = 0;
+        burstCount = bCount - 1;
+        bursts = bursts_arr;
+        curBurst = 0;
+        ioComp = 0;
+        cpuShots = 0;
+        lastCore = -1;
+        firstRun = 0;
+        io = null;
+        device = -1;
+        ioTime = 0;
+        ioQueued = 0;
+        level = 0;
+        vruntime = 0;
+        burstRan = 0;
+        estimate = 0;
+        deadline = 0;
+        period = 0;
+        util = 0;
+    }
+
+    /*
+     * @returns the time the current burst is due by: for a periodic job the
+     * end of the burst's period, or deadline after its start if the job has a
+     * deadline too; otherwise the job's deadline after it arrived.
+     * Integer.MAX_VALUE if the job has no deadline.
+     */
+    int dueTime() {
+        long due;
+        if (period > 0) {
+            due = arr + (long) curBurst * period + (deadline > 0 ? deadline : period);
+        } else if (deadline > 0) {
+            due = (long) arr + deadline;
+        } else {
+            return Integer.MAX_VALUE;
+        }
+        return (int) Math.min(due, Integer.MAX_VALUE);
+    }
+
+    /*
+     * @returns the time the current burst is released, the start of its period,
+     * for a periodic job; it is held back from the ready queues until then.
+     */
+    int releaseTime() {
+        return (int) Math.min(arr + (long) curBurst * period, Integer.MAX_VALUE);
+    }
+
+    public String toString() {
+        return "Job ID: " + jobID + " Arrival: " + arr + " Bursts: " + Arrays.toString(bursts);
+    }
+
+    /*
+     * Sends out current processes report to the report's sink (completion time,
+     * waiting time, turnaround time, and total cpu shots).
+     * Also updates the full report to be sent out at the end of the simulation.
+     * 
+     * @param cpu is the cpu
+     * 
+     * @param fr is the full report object tracking aggregate report.
+     */
+    public void handleReports(CPU cpu, Report r) {
+        handleReports(this.jobID, this.arr, this.pc, this.cpuShots, this.firstRun, cpu.getCounter(), r);
+    }
+
+    /*
+     * Same as above, from the plain fields of a job, for simulations that do not
+     * keep a PCB per job.
+     * 
+     * @param firstRun is the time the job was first loaded into the CPU
+     * 
+     * @param compTime is the time the job completed
+     */
+    static void handleReports(int jobID, int arr, int pc, int cpuShots, int firstRun, int compTime, Report r) {
+
+        // calculates important times from process simulation
+        int turnaroundTime = compTime - arr;
+        int waitTime = turnaroundTime - pc;
+        int responseTime = firstRun - arr;
+
+        // updates full report object, then reports the job wherever the sink sends it
+        r.addData(pc, waitTime, turnaroundTime, responseTime, cpuShots);
+        r.sink.jobDone(jobID, arr, compTime, pc, waitTime, turnaroundTime, cpuShots);
+    }
+}
@@ -0,0 +1,23 @@
+package cpusim;
+
+/*
+ * Report sink that drops everything, for runs where only the final report matters.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public final class QuietSink implements ReportSink {
+
+    public void jobDone(int jobID, int arr, int compTime, int pc, int wait, int turnaround, int cpuShots) {
+    }
+
+    public void snapshot(int time, int ready, int blocked, int completed) {
+    }
+
+    public boolean isQuiet() {
+        return true;
+    }
+
+    public void close() {
+    }
+}
@@ -0,0 +1,39 @@
+package cpusim;
+
+/*
+ * Rate Monotonic: a fixed priority for each periodic process, higher the shorter its period. The process with the
+ * shortest period runs next, for its whole burst, and a process joining a busy core's ready queue with a shorter
+ * period than the running one takes the core from it. Processes that are not periodic run when no periodic one is
+ * ready.
+ * A periodic job is only admitted while the utilization of the periodic jobs, shared over the cores, stays within
+ * the Liu and Layland bound n(2^(1/n) - 1) for n of them, up to which rate monotonic meets every deadline.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public final class RMPolicy implements SchedulingPolicy {
+
+    public String name() {
+        return "RM";
+    }
+
+    public ReadyQueue newReadyQueue() {
+        return new DeadlineReadyQueue(true);
+    }
+
+    public int slice(PCB process, int quantum) {
+        return process.bursts[process.curBurst];
+    }
+
+    public boolean preemptive() {
+        return true;
+    }
+
+    public boolean preempts(PCB arriving, PCB running, int left) {
+        return DeadlineReadyQueue.key(arriving, true) < DeadlineReadyQueue.key(running, true);
+    }
+
+    public boolean admits(int tasks, double utilization) {
+        return utilization <= tasks * (Math.pow(2, 1.0 / tasks) - 1);
+    }
+}
@@ -0,0 +1,35 @@
+package cpusim;
+
+/*
+ * Round Robin: processes run in the order they reach the ready queue for at most one time quantum, then go to the
+ * back of the queue if their burst is not done.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public final class RRPolicy implements SchedulingPolicy {
+
+    public String name() {
+        return "RR";
+    }
+
+    public boolean takesQuantum() {
+        return true;
+    }
+
+    public ReadyQueue newReadyQueue() {
+        return new FIFOReadyQueue();
+    }
+
+    public int slice(PCB process, int quantum) {
+        return Math.min(quantum, process.bursts[process.curBurst]);
+    }
+
+    public boolean reportsAfterTimeStep() {
+        return true;
+    }
+
+    public int tableOrder() {
+        return TableSim.IN_ORDER;
+    }
+}
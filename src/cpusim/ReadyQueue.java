@@ -0,0 +1,40 @@
+package cpusim;
+
+/*
+ * Common methods of the ready queues, so a simulation can hold either kind of queue without caring which one it is.
+ * Self explanitory methods have no description.
+ * 
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public interface ReadyQueue {
+
+    void addProcess(PCB proc);
+
+    int getSize();
+
+    PCB getNext();
+
+    /*
+     * Writes the processes in the queue, and anything else the queue keeps, to
+     * a checkpoint, such that load gives a queue that hands them out in exactly
+     * the same order. Every queue has this, so any run can be checkpointed.
+     */
+    void save(Checkpoint out);
+
+    /*
+     * Fills an empty queue from a checkpoint written by save.
+     */
+    void load(Checkpoint in) throws Exception;
+
+    /*
+     * Empties the queue and puts back anything else it keeps as it was when
+     * new, keeping the arrays it has grown, so a simulation can run again on it.
+     *
+     * @returns False if the queue cannot do this, in which case the policy makes
+     * a new one.
+     */
+    default boolean reset() {
+        return false;
+    }
+}
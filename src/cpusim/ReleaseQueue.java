@@ -0,0 +1,28 @@
+package cpusim;
+
+/*
+ * Periodic processes whose next burst is not yet released, keyed by the time it is, the start of its period. A
+ * periodic job runs one burst per period, so one that is done with its I/O before the next period starts waits here
+ * instead of in a ready queue. The slots, heap and checkpointing are those of DeadlineReadyQueue; only the key
+ * differs.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class ReleaseQueue extends DeadlineReadyQueue {
+
+    public ReleaseQueue() {
+        super(false);
+    }
+
+    int keyOf(PCB proc) {
+        return proc.releaseTime();
+    }
+
+    /*
+     * @returns the earliest release time of the processes held, Integer.MAX_VALUE if none.
+     */
+    public int nextRelease() {
+        return heap.getSize() == 0 ? Integer.MAX_VALUE : heap.peekKey();
+    }
+}
@@ -0,0 +1,811 @@
+package cpusim;
+
+import java.util.Arrays;
+
+/*
+ * Data holding object for providing aggregate data the summarize simulation statistics.
+ * Besides the totals behind the averages, the wait, turnaround, response and cpu shots of every job go into a
+ * Histogram each, for the percentiles printed under the final report. Response time is how long a job waited from
+ * arriving to first being loaded into the CPU.
+ * 
+ * @author Jay Turnsek
+ * @date 2022-11-09
+ */
+public class Report {
+        String algo;
+        ReportSink sink = ReportSink.QUIET;
+        int interval = 200;
+        MetricsRecorder metrics;
+        int finalTime;
+        long totalProc;
+        long totalWait;
+        long totalTurnaround;
+        int totalShots;
+        int totalJobs;
+        int jobsDone;
+        long[] coreBusy;
+        int[] coreJobs;
+        int migrations;
+        int steals;
+        boolean preemptive;
+        int preemptions;
+        long[] deviceBusy;
+        int[] deviceServed;
+        long[] deviceDelay;
+        int[] deviceMaxQueue;
+        boolean devicesUnlimited;
+        int[] levelQuanta;
+        long[] levelShots;
+        long[] levelTime;
+        final Histogram waitHist = new Histogram();
+        final Histogram turnaroundHist = new Histogram();
+        final Histogram responseHist = new Histogram();
+        final Histogram shotsHist = new Histogram();
+        int predictions;
+        long predictionError;
+        long predictionAbsError;
+        final Histogram predictionHist = new Histogram();
+        int deadlines;
+        int missed;
+        int maxLate = Integer.MIN_VALUE;
+        final Histogram latenessHist = new Histogram();
+        int tasks;
+        int rejected;
+        int liveTasks;
+        double liveUtil;
+        double peakUtil;
+        boolean edfFails;
+        boolean rmFails;
+
+        /*
+         * @param algoType Is the algorithm type used
+         * 
+         * @param numJobs is the number of jobs in the job queue to be finished.
+         * 
+         * @param quantum The time quantum used, if applicable (RR only)
+         * 
+         * sink is where the simulation sends its per job and 200 level reports,
+         * quiet unless set; the totals held here are kept either way.
+         * 
+         * interval is the time between those reports, and between the samples
+         * taken by metrics, if set.
+         */
+        public Report(String algoType, int numJobs) {
+                algo = algoType;
+                totalProc = 0;
+                totalWait = 0;
+                totalTurnaround = 0;
+                totalShots = 0;
+                totalJobs = numJobs;
+        }
+
+        public Report(String algoType, int numJobs, int quantum) {
+                algo = algoType + " (q = " + Integer.toString(quantum) + ")";
+                totalProc = 0;
+                totalWait = 0;
+                totalTurnaround = 0;
+                totalShots = 0;
+                totalJobs = numJobs;
+        }
+
+        /*
+         * Adds data from a completed process to the totals and histograms held by
+         * the report.
+         * 
+         * @param proc is its processing time
+         * 
+         * @param wait is its wait time
+         * 
+         * @param turnaround is its turnaround time
+         * 
+         * @param response is the time from its arrival to its first cpu shot
+         * 
+         * @param shots is the number of times it was loaded into the CPU
+         */
+        public void addData(int proc, int wait, int turnaround, int response, int shots) {
+                jobsDone++;
+                totalProc += proc;
+                totalWait += wait;
+                totalTurnaround += turnaround;
+                totalShots += shots;
+                waitHist.record(wait);
+                turnaroundHist.record(turnaround);
+                responseHist.record(response);
+                shotsHist.record(shots);
+        }
+
+        /*
+         * Adds the error of a guess made by a BurstPredictor.
+         * 
+         * @param error is the guess minus the burst it was for
+         */
+        public void addPrediction(int error) {
+                predictions++;
+                predictionError += error;
+                predictionAbsError += Math.abs(error);
+                predictionHist.record(Math.abs(error));
+        }
+
+        /*
+         * Adds the lateness of a burst or job with a deadline, once it is done.
+         * 
+         * @param late is the time it finished minus the time it was due; 0 or less
+         * if it met its deadline
+         */
+        public void addLateness(int late) {
+                deadlines++;
+                if (late > 0) {
+                        missed++;
+                }
+                maxLate = Math.max(maxLate, late);
+                latenessHist.record(late);
+        }
+
+        /*
+         * Admission control: asks the policy whether a periodic job may join the
+         * periodic jobs in the system, with their utilization shared evenly over the
+         * cores, and if so adds it to that utilization. A job the policy turns away
+         * is counted as rejected and never run. Whatever the policy, the load is
+         * also checked against the schedulability tests of a single CPU, as a
+         * diagnostic for the report: EDF can meet every deadline up to a utilization
+         * of 1; rate monotonic is only sure to up to n(2^(1/n) - 1) for n jobs (Liu
+         * and Layland), about 0.69 for many.
+         * 
+         * @param p is the job, its util set here from its longest burst and period
+         * 
+         * @param cores is the number of cores
+         * 
+         * @param policy is the policy whose admission test the job must pass
+         * 
+         * @returns False if the job was rejected.
+         */
+        public boolean admit(PCB p, int cores, SchedulingPolicy policy) {
+                int longest = 0;
+                for (int b : p.bursts) {
+                        longest = Math.max(longest, b);
+                }
+                p.util = (float) longest / p.period;
+                if (!policy.admits(liveTasks + 1, (liveUtil + p.util) / cores)) {
+                        rejected++;
+                        return false;
+                }
+                tasks++;
+                liveTasks++;
+                liveUtil += p.util;
+                peakUtil = Math.max(peakUtil, liveUtil);
+                double perCore = liveUtil / cores;
+                if (perCore > 1) {
+                        edfFails = true;
+                }
+                if (perCore > liveTasks * (Math.pow(2, 1.0 / liveTasks) - 1)) {
+                        rmFails = true;
+                }
+                return true;
+        }
+
+        /*
+         * Takes a finished periodic job out of the utilization.
+         * 
+         * @param p is the job
+         */
+        public void release(PCB p) {
+                liveTasks--;
+                liveUtil -= p.util;
+        }
+
+        /*
+         * Writes the totals kept as the simulation goes to a checkpoint. The ones
+         * filled in at the end of the run are left out.
+         */
+        void save(Checkpoint out) {
+                out.writeLong(totalProc);
+                out.writeLong(totalWait);
+                out.writeLong(totalTurnaround);
+                out.writeInt(totalShots);
+                out.writeInt(jobsDone);
+                out.writeInt(migrations);
+                out.writeInt(steals);
+                out.writeInt(preemptions);
+                waitHist.save(out);
+                turnaroundHist.save(out);
+                responseHist.save(out);
+                shotsHist.save(out);
+                out.writeInt(predictions);
+                out.writeLong(predictionError);
+                out.writeLong(predictionAbsError);
+                predictionHist.save(out);
+                out.writeInt(deadlines);
+                out.writeInt(missed);
+                out.writeInt(maxLate);
+                latenessHist.save(out);
+                out.writeInt(tasks);
+                out.writeInt(rejected);
+                out.writeInt(liveTasks);
+                out.writeDouble(liveUtil);
+                out.writeDouble(peakUtil);
+                out.writeBoolean(edfFails);
+                out.writeBoolean(rmFails);
+        }
+
+        void load(Checkpoint in) throws Exception {
+                totalProc = in.readLong();
+                totalWait = in.readLong();
+                totalTurnaround = in.readLong();
+                totalShots = in.readInt();
+                jobsDone = in.readInt();
+                migrations = in.readInt();
+                steals = in.readInt();
+                preemptions = in.readInt();
+                waitHist.load(in);
+                turnaroundHist.load(in);
+                responseHist.load(in);
+                shotsHist.load(in);
+                predictions = in.readInt();
+                predictionError = in.readLong();
+                predictionAbsError = in.readLong();
+                predictionHist.load(in);
+                deadlines = in.readInt();
+                missed = in.readInt();
+                maxLate = in.readInt();
+                latenessHist.load(in);
+                tasks = in.readInt();
+                rejected = in.readInt();
+                liveTasks = in.readInt();
+                liveUtil = in.readDouble();
+                peakUtil = in.readDouble();
+                edfFails = in.readBoolean();
+                rmFails = in.readBoolean();
+        }
+
+        /*
+         * Adds the jobs of another report to this one, e.g. the reports of the
+         * files of a Batch. Every total and counter is added, as are the
+         * histograms and the per core, per device and per level tables (by
+         * index, up to the longer of the two); the final time and the largest
+         * values are the larger of the two. The live tasks and utilization are
+         * where one run ended, so are left as they are.
+         * 
+         * @param other The report to add, left as it is
+         */
+        public void merge(Report other) {
+                totalJobs += other.totalJobs;
+                jobsDone += other.jobsDone;
+                totalProc += other.totalProc;
+                totalWait += other.totalWait;
+                totalTurnaround += other.totalTurnaround;
+                totalShots += other.totalShots;
+                finalTime = Math.max(finalTime, other.finalTime);
+                waitHist.merge(other.waitHist);
+                turnaroundHist.merge(other.turnaroundHist);
+                responseHist.merge(other.responseHist);
+                shotsHist.merge(other.shotsHist);
+                migrations += other.migrations;
+                steals += other.steals;
+                preemptive |= other.preemptive;
+                preemptions += other.preemptions;
+                coreBusy = add(coreBusy, other.coreBusy);
+                coreJobs = add(coreJobs, other.coreJobs);
+                deviceBusy = add(deviceBusy, other.deviceBusy);
+                deviceServed = add(deviceServed, other.deviceServed);
+                deviceDelay = add(deviceDelay, other.deviceDelay);
+                if (other.deviceMaxQueue != null) {
+                        int[] most = add(deviceMaxQueue, new int[other.deviceMaxQueue.length]);
+                        for (int d = 0; d < other.deviceMaxQueue.length; d++) {
+                                most[d] = Math.max(most[d], other.deviceMaxQueue[d]);
+                        }
+                        deviceMaxQueue = most;
+                }
+                devicesUnlimited |= other.devicesUnlimited;
+                if (levelQuanta == null && other.levelQuanta != null) {
+                        levelQuanta = other.levelQuanta.clone();
+                }
+                levelShots = add(levelShots, other.levelShots);
+                levelTime = add(levelTime, other.levelTime);
+                predictions += other.predictions;
+                predictionError += other.predictionError;
+                predictionAbsError += other.predictionAbsError;
+                predictionHist.merge(other.predictionHist);
+                deadlines += other.deadlines;
+                missed += other.missed;
+                maxLate = Math.max(maxLate, other.maxLate);
+                latenessHist.merge(other.latenessHist);
+                tasks += other.tasks;
+                rejected += other.rejected;
+                peakUtil = Math.max(peakUtil, other.peakUtil);
+                edfFails |= other.edfFails;
+                rmFails |= other.rmFails;
+        }
+
+        /*
+         * @returns a new array with the sum of each element of two per core,
+         * device or level tables, as long as the longer, or one of them if the
+         * other is null.
+         */
+        static long[] add(long[] a, long[] b) {
+                if (a == null || b == null) {
+                        return a == null ? (b == null ? null : b.clone()) : a;
+                }
+                long[] out = Arrays.copyOf(a, Math.max(a.length, b.length));
+                for (int i = 0; i < b.length; i++) {
+                        out[i] += b[i];
+                }
+                return out;
+        }
+
+        static int[] add(int[] a, int[] b) {
+                if (a == null || b == null) {
+                        return a == null ? (b == null ? null : b.clone()) : a;
+                }
+                int[] out = Arrays.copyOf(a, Math.max(a.length, b.length));
+                for (int i = 0; i < b.length; i++) {
+                        out[i] += b[i];
+                }
+                return out;
+        }
+
+        /*
+         * Getters for reading the report from code, e.g. a report handed back by
+         * SimulationBuilder. The averages are over every job, as in the table; the
+         * histograms give the percentiles. The per core and per device arrays are
+         * null unless the run had more than one core or asked for I/O devices.
+         */
+        public String getAlgorithm() {
+                return algo;
+        }
+
+        public int getFinalTime() {
+                return finalTime;
+        }
+
+        public int getJobs() {
+                return totalJobs;
+        }
+
+        public double getAverageProc() {
+                return totalJobs == 0 ? 0 : (double) totalProc / totalJobs;
+        }
+
+        public double getAverageWait() {
+                return totalJobs == 0 ? 0 : (double) totalWait / totalJobs;
+        }
+
+        public double getAverageTurnaround() {
+                return totalJobs == 0 ? 0 : (double) totalTurnaround / totalJobs;
+        }
+
+        public double getAverageShots() {
+                return totalJobs == 0 ? 0 : (double) totalShots / totalJobs;
+        }
+
+        public Histogram getWait() {
+                return waitHist;
+        }
+
+        public Histogram getTurnaround() {
+                return turnaroundHist;
+        }
+
+        public Histogram getResponse() {
+                return responseHist;
+        }
+
+        public Histogram getShots() {
+                return shotsHist;
+        }
+
+        public int getMigrations() {
+                return migrations;
+        }
+
+        public int getSteals() {
+                return steals;
+        }
+
+        public int getPreemptions() {
+                return preemptions;
+        }
+
+        public int getDeadlinesMissed() {
+                return missed;
+        }
+
+        public long[] getCoreBusy() {
+                return coreBusy;
+        }
+
+        public int[] getCoreJobs() {
+                return coreJobs;
+        }
+
+        public long[] getDeviceBusy() {
+                return deviceBusy;
+        }
+
+        /*
+         * Prints a nicely formatted table with one row per report, each holding:
+         * algorithm used, total time, average processing time, average wait time,
+         * average turnaround time, average cpu shots.
+         * 
+         * @param title The title printed above the table
+         * 
+         * @param reports The reports to print, in order
+         */
+        static void printTable(String title, Report... reports) {
+                int left = (89 - title.length()) / 2;
+                int right = 89 - title.length() - left;
+
+                // prints into nicely formatted table
+                System.out.println();
+                System.out.printf(
+                                "===========================================================================================%n");
+                System.out.printf("|%s%s%s|%n", " ".repeat(left), title, " ".repeat(right));
+                System.out.printf(
+                                "===========================================================================================%n");
+                System.out.printf(
+                                "| %-12s | %-12s | %-12s | %-12s | %-12s | %-12s |%n",
+                                "Algorithm", "Total Time", "Avg Proc", "Avg Wait", "Avg Turn", "Avg Shots");
+                System.out.printf(
+                                "===========================================================================================%n");
+                for (Report r : reports) {
+                        r.printRow();
+                }
+                System.out.printf(
+                                "===========================================================================================%n");
+        }
+
+        /*
+         * @returns the label of a report cut to fit a 12 wide column, ending in
+         * ".." if it was cut.
+         */
+        static String cell(String label) {
+                return label.length() <= 12 ? label : label.substring(0, 10) + "..";
+        }
+
+        /*
+         * Prints the whole label of a report on a line of its own, under its row,
+         * if it was too long for the column, as policy settings often are.
+         */
+        static void printLabel(String label) {
+                if (label.length() > 12) {
+                        System.out.printf("|   %-85s |%n", label);
+                }
+        }
+
+        /*
+         * Prints this report's row of the table.
+         */
+        void printRow() {
+
+                // gets averages of each parameter
+                int avgProc = (int) (totalProc / totalJobs);
+                int avgWait = (int) (totalWait / totalJobs);
+                int avgTurnaround = (int) (totalTurnaround / totalJobs);
+                int avgShots = (int) (totalShots / totalJobs);
+
+                System.out.printf(
+                                "| %-12s | %-12s | %-12s | %-12s | %-12s | %-12s |%n",
+                                cell(this.algo), Integer.toString(this.finalTime), Integer.toString(avgProc),
+                                Integer.toString(avgWait),
+                                Integer.toString(avgTurnaround), Integer.toString(avgShots));
+                printLabel(this.algo);
+        }
+
+        /*
+         * Prints the percentiles of wait, turnaround, response time and cpu shots,
+         * four rows per report.
+         * 
+         * @param reports The reports to print, in order
+         */
+        static void printPercentiles(Report... reports) {
+                System.out.printf(
+                                "| %-12s | %-12s | %-9s | %-9s | %-9s | %-9s | %-9s |%n",
+                                "Algorithm", "Metric", "p50", "p90", "p99", "p99.9", "Max");
+                System.out.printf(
+                                "===========================================================================================%n");
+                for (Report r : reports) {
+                        printPercentileRow(cell(r.algo), "Wait", r.waitHist);
+                        printPercentileRow("", "Turnaround", r.turnaroundHist);
+                        printPercentileRow("", "Response", r.responseHist);
+                        printPercentileRow("", "Shots", r.shotsHist);
+                        printLabel(r.algo);
+                }
+                System.out.printf(
+                                "===========================================================================================%n");
+        }
+
+        static void printPercentileRow(String algo, String metric, Histogram h) {
+                System.out.printf(
+                                "| %-12s | %-12s | %-9s | %-9s | %-9s | %-9s | %-9s |%n",
+                                algo, metric, Integer.toString(h.valueAt(50)), Integer.toString(h.valueAt(90)),
+                                Integer.toString(h.valueAt(99)), Integer.toString(h.valueAt(99.9)),
+                                Integer.toString(h.max()));
+        }
+
+        /*
+         * Prints a table of how well the burst lengths were guessed, for the
+         * reports of algorithms that guess them: the number of guesses, the mean
+         * error (above 0 if the guesses ran long), the mean absolute error and
+         * percentiles of the absolute error. Prints nothing if none of them do.
+         * 
+         * @param reports The reports, one row each
+         */
+        static void printPredictions(Report... reports) {
+                boolean any = false;
+                for (Report r : reports) {
+                        if (r.predictions > 0) {
+                                if (!any) {
+                                        System.out.printf(
+                                                        "| %-12s | %-12s | %-9s | %-9s | %-9s | %-9s | %-9s |%n",
+                                                        "Algorithm", "Predictions", "Bias", "Abs Error", "p50", "p90",
+                                                        "p99");
+                                        System.out.printf(
+                                                        "===========================================================================================%n");
+                                        any = true;
+                                }
+                                System.out.printf(
+                                                "| %-12s | %-12s | %-9.2f | %-9.2f | %-9s | %-9s | %-9s |%n",
+                                                cell(r.algo), Integer.toString(r.predictions),
+                                                (double) r.predictionError / r.predictions,
+                                                (double) r.predictionAbsError / r.predictions,
+                                                Integer.toString(r.predictionHist.valueAt(50)),
+                                                Integer.toString(r.predictionHist.valueAt(90)),
+                                                Integer.toString(r.predictionHist.valueAt(99)));
+                                printLabel(r.algo);
+                        }
+                }
+                if (any) {
+                        System.out.printf(
+                                        "===========================================================================================%n");
+                }
+        }
+
+        /*
+         * Prints a table of the deadlines met and missed, for the reports of runs
+         * over jobs with deadlines: the number of deadlines, how many were missed,
+         * percentiles of the lateness of each (0 if it was met) and the most late
+         * any one was. Then, for runs with periodic jobs, the admission control:
+         * the number of periodic jobs admitted and rejected, the peak utilization
+         * of those in the system at once, and, as a diagnostic, whether it passed
+         * the EDF and rate monotonic tests at every admission. Prints nothing if no
+         * report has deadlines.
+         * 
+         * @param reports The reports, one row each
+         */
+        static void printDeadlines(Report... reports) {
+                boolean any = false;
+                for (Report r : reports) {
+                        if (r.deadlines > 0) {
+                                if (!any) {
+                                        System.out.printf(
+                                                        "| %-12s | %-12s | %-9s | %-9s | %-9s | %-9s | %-9s |%n",
+                                                        "Algorithm", "Deadlines", "Missed", "Miss %", "p50 Late",
+                                                        "p99 Late", "Max Late");
+                                        System.out.printf(
+                                                        "===========================================================================================%n");
+                                        any = true;
+                                }
+                                System.out.printf(
+                                                "| %-12s | %-12s | %-9s | %-9.2f | %-9s | %-9s | %-9s |%n",
+                                                cell(r.algo), Integer.toString(r.deadlines),
+                                                Integer.toString(r.missed),
+                                                100.0 * r.missed / r.deadlines,
+                                                Integer.toString(r.latenessHist.valueAt(50)),
+                                                Integer.toString(r.latenessHist.valueAt(99)),
+                                                Integer.toString(r.maxLate));
+                                printLabel(r.algo);
+                        }
+                }
+                if (!any) {
+                        return;
+                }
+                System.out.printf(
+                                "===========================================================================================%n");
+
+                boolean periodic = false;
+                for (Report r : reports) {
+                        if (r.tasks > 0 || r.rejected > 0) {
+                                if (!periodic) {
+                                        System.out.printf(
+                                                        "| %-12s | %-12s | %-12s | %-12s | %-12s | %-12s |%n",
+                                                        "Algorithm", "Periodic", "Rejected", "Peak Util", "EDF Test",
+                                                        "RM Test");
+                                        System.out.printf(
+                                                        "===========================================================================================%n");
+                                        periodic = true;
+                                }
+                                System.out.printf(
+                                                "| %-12s | %-12s | %-12s | %-12.3f | %-12s | %-12s |%n",
+                                                cell(r.algo), Integer.toString(r.tasks),
+                                                Integer.toString(r.rejected), r.peakUtil,
+                                                r.edfFails ? "fail" : "pass", r.rmFails ? "fail" : "pass");
+                                printLabel(r.algo);
+                        }
+                }
+                if (periodic) {
+                        System.out.printf(
+                                        "===========================================================================================%n");
+                }
+        }
+
+        /*
+         * Takes the per core statistics from the cores of a multi-core simulation,
+         * once it is done.
+         * 
+         * @param cores The cores of the CPU
+         */
+        public void setCores(CPU[] cores) {
+                coreBusy = new long[cores.length];
+                coreJobs = new int[cores.length];
+                for (int c = 0; c < cores.length; c++) {
+                        coreBusy[c] = cores[c].busyTime;
+                        coreJobs[c] = cores[c].jobsCompleted;
+                }
+        }
+
+        /*
+         * Takes the per device statistics from the I/O devices of a simulation,
+         * once it is done.
+         * 
+         * @param io The I/O devices
+         */
+        public void setDevices(IOSubsystem io) {
+                deviceBusy = io.busy.clone();
+                deviceServed = io.served.clone();
+                deviceDelay = io.delay.clone();
+                deviceMaxQueue = io.maxQueue.clone();
+                devicesUnlimited = io.unlimited;
+        }
+
+        /*
+         * Takes the per level statistics of a multi-level feedback queue, once the
+         * simulation is done.
+         * 
+         * @param quanta The time quantum of each level
+         * 
+         * @param shots The CPU shots started at each level
+         * 
+         * @param time The CPU time given to those shots
+         */
+        public void setLevels(int[] quanta, long[] shots, long[] time) {
+                levelQuanta = quanta.clone();
+                levelShots = shots;
+                levelTime = time;
+        }
+
+        /*
+         * Prints a nicely formatted table summarizing the simulation statistics,
+         * including:
+         * algorithm used, total time, average processing time, average wait time,
+         * average turnaround time, average cpu shots, then their percentiles.
+         */
+        public void print() {
+                printTable("FINAL REPORT:", this);
+                printPercentiles(this);
+                printPredictions(this);
+                printDeadlines(this);
+
+                if (coreBusy != null) {
+                        printCores();
+                }
+                if (deviceBusy != null) {
+                        printDevices();
+                }
+                if (levelShots != null) {
+                        printLevels();
+                }
+                if (preemptive) {
+                        printPreemptions();
+                }
+        }
+
+        /*
+         * Prints the number of times a running process was taken off the CPU by a
+         * process joining the ready queue, in total and per job finished.
+         */
+        void printPreemptions() {
+                System.out.printf(
+                                "| %-12s | %-12s |%n",
+                                "Preemptions", "Per Job");
+                System.out.printf(
+                                "| %-12s | %-12.2f |%n",
+                                Integer.toString(preemptions), jobsDone == 0 ? 0.0 : (double) preemptions / jobsDone);
+                System.out.printf(
+                                "===========================================================================================%n");
+        }
+
+        /*
+         * Prints the per level table of a multi-level feedback queue: each level's
+         * quantum, the CPU shots run at it, the CPU time they took and that time's
+         * share of all CPU time, which is how long processes resided at the level
+         * while running.
+         */
+        void printLevels() {
+                long total = 0;
+                for (long t : levelTime) {
+                        total += t;
+                }
+                System.out.printf(
+                                "| %-12s | %-12s | %-12s | %-12s | %-12s |%n",
+                                "Level", "Quantum", "CPU Shots", "CPU Time", "Time %");
+                System.out.printf(
+                                "===========================================================================================%n");
+                for (int l = 0; l < levelShots.length; l++) {
+                        System.out.printf(
+                                        "| %-12s | %-12s | %-12s | %-12s | %-12.1f |%n",
+                                        Integer.toString(l), Integer.toString(levelQuanta[l]),
+                                        Long.toString(levelShots[l]), Long.toString(levelTime[l]),
+                                        total == 0 ? 0.0 : 100.0 * levelTime[l] / total);
+                }
+                System.out.printf(
+                                "===========================================================================================%n");
+        }
+
+        /*
+         * Prints the per device table of the I/O devices: time spent doing I/O,
+         * utilization, I/O operations served, and the average and longest wait in
+         * each device's queue before the I/O started. With no queueing there is
+         * one row for all I/O, where Util % can pass 100 as I/Os overlap and the
+         * last column is the most I/Os at once.
+         */
+        void printDevices() {
+                System.out.printf(
+                                "| %-12s | %-12s | %-12s | %-12s | %-12s | %-12s |%n",
+                                "Device", "Busy Time", "Util %", "Served", "Avg Delay", "Max Queue");
+                System.out.printf(
+                                "===========================================================================================%n");
+                for (int d = 0; d < deviceBusy.length; d++) {
+                        System.out.printf(
+                                        "| %-12s | %-12s | %-12.1f | %-12s | %-12.1f | %-12s |%n",
+                                        devicesUnlimited ? "all" : Integer.toString(d), Long.toString(deviceBusy[d]),
+                                        finalTime == 0 ? 0.0 : 100.0 * deviceBusy[d] / finalTime,
+                                        Integer.toString(deviceServed[d]),
+                                        deviceServed[d] == 0 ? 0.0 : (double) deviceDelay[d] / deviceServed[d],
+                                        Integer.toString(deviceMaxQueue[d]));
+                }
+                System.out.printf(
+                                "===========================================================================================%n");
+        }
+
+        /*
+         * Prints the per core table of a multi-core simulation: time spent running
+         * processes, utilization and jobs finished on each core, followed by the
+         * throughput, migrations, steals and load imbalance over all cores.
+         * Load imbalance is how far the busiest core is above the average, in
+         * percent.
+         */
+        void printCores() {
+                long maxBusy = 0;
+                long sumBusy = 0;
+                for (long busy : coreBusy) {
+                        maxBusy = Math.max(maxBusy, busy);
+                        sumBusy += busy;
+                }
+                double avgBusy = (double) sumBusy / coreBusy.length;
+                double imbalance = avgBusy == 0 ? 0 : 100 * (maxBusy - avgBusy) / avgBusy;
+                double throughput = finalTime == 0 ? 0 : 1000.0 * jobsDone / finalTime;
+
+                System.out.printf(
+                                "| %-12s | %-12s | %-12s | %-12s |%n",
+                                "Core", "Busy Time", "Util %", "Jobs Done");
+                System.out.printf(
+                                "===========================================================================================%n");
+                for (int c = 0; c < coreBusy.length; c++) {
+                        System.out.printf(
+                                        "| %-12s | %-12s | %-12.1f | %-12s |%n",
+                                        Integer.toString(c), Long.toString(coreBusy[c]),
+                                        finalTime == 0 ? 0.0 : 100.0 * coreBusy[c] / finalTime,
+                                        Integer.toString(coreJobs[c]));
+                }
+                System.out.printf(
+                                "===========================================================================================%n");
+                System.out.printf(
+                                "| %-12s | %-12s | %-12s | %-12s | %-12s |%n",
+                                "Cores", "Jobs/1000t", "Migrations", "Steals", "Imbalance %");
+                System.out.printf(
+                                "| %-12s | %-12.2f | %-12s | %-12s | %-12.1f |%n",
+                                Integer.toString(coreBusy.length), throughput, Integer.toString(migrations),
+                                Integer.toString(steals), imbalance);
+                System.out.printf(
+                                "===========================================================================================%n");
+        }
+}
@@ -0,0 +1,82 @@
+package cpusim;
+
+/*
+ * Where the simulation sends its per job and 200 level reports as they happen. The totals for the final report are
+ * kept by Report whatever the sink, so a sink only decides what, if anything, gets written along the way.
+ * Sinks are chosen with the --output option:
+ * console prints the bordered job reports and the 200 level table (the default)
+ * quiet prints nothing, leaving only the final report
+ * csv:path and json:path write one line per event to a file, as CSV or JSON lines
+ * Every sink except quiet is run behind an AsyncSink, so the formatting and writing happen on another thread.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public interface ReportSink extends AutoCloseable {
+
+    // the sink that drops everything
+    ReportSink QUIET = new QuietSink();
+
+    /*
+     * A job has left the simulation.
+     *
+     * @param jobID is the job's id
+     *
+     * @param arr is its arrival time
+     *
+     * @param compTime is the time it completed
+     *
+     * @param pc is its total processing time, CPU and I/O
+     *
+     * @param wait is its wait time
+     *
+     * @param turnaround is its turnaround time
+     *
+     * @param cpuShots is the number of times it was loaded into the CPU
+     */
+    void jobDone(int jobID, int arr, int compTime, int pc, int wait, int turnaround, int cpuShots);
+
+    /*
+     * The 200 level report.
+     *
+     * @param time is the current time
+     *
+     * @param ready is the number of processes in the ready queues of all cores
+     *
+     * @param blocked is the number of processes in the blocked queue
+     *
+     * @param completed is the number of jobs completed
+     */
+    void snapshot(int time, int ready, int blocked, int completed);
+
+    /*
+     * @returns True if the sink drops everything, so the simulation need not
+     * schedule the 200 level reports at all.
+     */
+    default boolean isQuiet() {
+        return false;
+    }
+
+    /*
+     * Writes out anything still held and releases the sink. Nothing from the sink
+     * shows up before this is called.
+     */
+    void close() throws Exception;
+
+    /*
+     * Opens the sink for an --output spec.
+     *
+     * @param spec is console, quiet, csv:path or json:path
+     */
+    static ReportSink open(String spec) throws Exception {
+        String[] parts = spec.split(":", 2);
+        if (spec.equals("quiet")) {
+            return QUIET;
+        } else if (spec.equals("console")) {
+            return new AsyncSink(new ConsoleSink());
+        } else if (parts.length == 2 && (parts[0].equals("csv") || parts[0].equals("json"))) {
+            return new AsyncSink(new FileSink(parts[1], parts[0].equals("json")));
+        }
+        throw new Exception("Illegal output " + spec + ". Choose from console, quiet, csv:path, json:path.");
+    }
+}
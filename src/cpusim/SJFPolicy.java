@@ -0,0 +1,52 @@
+package cpusim;
+
+/*
+ * Shortest Job First: the process with the shortest current burst runs next, for its whole burst.
+ * Given predict settings (see BurstPredictor), e.g. SJF:predict=exp,alpha=0.5, the ready queue is ordered by a guess
+ * of each burst made from the process's past bursts, instead of by the bursts themselves.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param predictor Is the predictor of burst lengths, null to use the real ones.
+ * param settings Is the settings as given, null if none.
+ */
+public final class SJFPolicy implements SchedulingPolicy {
+    BurstPredictor predictor;
+    String settings;
+
+    public String name() {
+        return "SJF";
+    }
+
+    public String label() {
+        return settings == null ? name() : name() + ":" + settings;
+    }
+
+    public ReadyQueue newReadyQueue() {
+        return new SJFReadyQueue(predictor);
+    }
+
+    public int slice(PCB process, int quantum) {
+        return process.bursts[process.curBurst];
+    }
+
+    /*
+     * The job table keys by the actual burst, so it cannot run SJF on predicted
+     * bursts.
+     */
+    public int tableOrder() {
+        return predictor == null ? TableSim.SHORTEST_FIRST : TableSim.NONE;
+    }
+
+    public void burstDone(PCB process, Report report) {
+        if (predictor != null) {
+            predictor.update(process, report);
+        }
+    }
+
+    public void configure(String settings) throws Exception {
+        predictor = BurstPredictor.parse(name(), settings);
+        this.settings = settings;
+    }
+}
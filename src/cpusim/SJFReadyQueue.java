@@ -0,0 +1,121 @@
+package cpusim;
+
+import java.util.Arrays;
+
+/*
+ * Ready Queue implementation using Shortest Job (current burst time) First as the priority method for a priority queue.
+ * Each process is parked in a slot of an array, and the slots are ordered in an IntHeap keyed by the length of the
+ * process's burst when it was added, so comparing two processes never has to look inside them. Freed slots are
+ * reused, so adding a process allocates nothing once the queue has reached its largest size. Processes with equal
+ * bursts come out in the same order as they would from a java.util.PriorityQueue.
+ * With a BurstPredictor the key is the guess for what is left of the burst instead of the burst itself.
+ *
+ * @author Jay Turnsek
+ * @date 2022-11-09
+ *
+ * param processes Is the process parked in each slot, null if the slot is free.
+ * param heap Is the heap of used slots, keyed by burst length.
+ * param free Is the slots that can be reused.
+ * param predictor Is the predictor of burst lengths, null to use the real ones.
+ */
+public class SJFReadyQueue implements ReadyQueue {
+    PCB[] processes;
+    IntHeap heap;
+    IntQueue free;
+    final BurstPredictor predictor;
+
+    public SJFReadyQueue() {
+        this(null);
+    }
+
+    /*
+     * @param predictor Is the predictor of burst lengths, null to use the real
+     * ones.
+     */
+    public SJFReadyQueue(BurstPredictor predictor) {
+        this.predictor = predictor;
+        processes = new PCB[16];
+        heap = new IntHeap();
+        free = new IntQueue();
+        for (int s = 0; s < processes.length; s++) {
+            free.add(s);
+        }
+    }
+
+    public void addProcess(PCB proc) {
+        if (free.getSize() == 0) {
+            grow();
+        }
+        int slot = free.remove();
+        processes[slot] = proc;
+        heap.add(slot, predictor == null ? proc.bursts[proc.curBurst] : predictor.left(proc, proc.burstRan));
+    }
+
+    public int getSize() {
+        return heap.getSize();
+    }
+
+    public PCB getNext() {
+        int slot = heap.remove();
+        PCB out = processes[slot];
+        processes[slot] = null;
+        free.add(slot);
+        return out;
+    }
+
+    /*
+     * Writes the processes in the order of the heap's array, with their keys, so
+     * load can put them back in the same places without sifting.
+     */
+    public void save(Checkpoint out) {
+        out.writeInt(heap.getSize());
+        for (int k = 0; k < heap.getSize(); k++) {
+            out.writePCB(processes[heap.items[k]]);
+            out.writeInt(heap.keys[k]);
+        }
+    }
+
+    public void load(Checkpoint in) throws Exception {
+        for (int n = in.readInt(); n > 0; n--) {
+            if (free.getSize() == 0) {
+                grow();
+            }
+            int slot = free.remove();
+            processes[slot] = in.readPCB();
+            heap.restore(slot, in.readInt(), 0);
+        }
+    }
+
+    /*
+     * Frees every slot, in order, as a new queue has them.
+     */
+    public boolean reset() {
+        heap.clear();
+        Arrays.fill(processes, null);
+        free.clear();
+        for (int s = 0; s < processes.length; s++) {
+            free.add(s);
+        }
+        return true;
+    }
+
+    /*
+     * Doubles the number of slots, all of them in use.
+     */
+    void grow() {
+        int old = processes.length;
+        processes = Arrays.copyOf(processes, old * 2);
+        for (int s = old; s < processes.length; s++) {
+            free.add(s);
+        }
+    }
+
+    public String toString() {
+        String out = "";
+        for (int k = 0; k < heap.getSize(); k++) {
+            out += "Process " + Integer.toString(processes[heap.items[k]].jobID) + "\n";
+        }
+        return out;
+    }
+
+}
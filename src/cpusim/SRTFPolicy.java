@@ -0,0 +1,62 @@
+package cpusim;
+
+/*
+ * Shortest Remaining Time First, the preemptive form of SJF: the process with the shortest current burst runs next,
+ * for its whole burst, unless a process joins the core's ready queue (a new job or one back from I/O) with a burst
+ * shorter than the time the running process has left. The running process then leaves the core with the rest of its
+ * burst and goes back in the ready queue, keyed by what it has left, and the core picks the shortest one on the next
+ * time step.
+ * Given predict settings (see BurstPredictor), e.g. SRTF:predict=exp,alpha=0.5, both the ready queue and the
+ * preemption check go by guesses of what is left of each burst instead of the real times.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param predictor Is the predictor of burst lengths, null to use the real ones.
+ * param settings Is the settings as given, null if none.
+ */
+public final class SRTFPolicy implements SchedulingPolicy {
+    BurstPredictor predictor;
+    String settings;
+
+    public String name() {
+        return "SRTF";
+    }
+
+    public String label() {
+        return settings == null ? name() : name() + ":" + settings;
+    }
+
+    public ReadyQueue newReadyQueue() {
+        return new SJFReadyQueue(predictor);
+    }
+
+    public int slice(PCB process, int quantum) {
+        return process.bursts[process.curBurst];
+    }
+
+    public boolean preemptive() {
+        return true;
+    }
+
+    public boolean preempts(PCB arriving, PCB running, int left) {
+        if (predictor == null) {
+            return arriving.bursts[arriving.curBurst] < left;
+        }
+
+        // the running process has run its burst so far, less what is left of this slice
+        int ran = running.burstRan + running.bursts[running.curBurst] - left;
+        return predictor.left(arriving, arriving.burstRan) < predictor.left(running, ran);
+    }
+
+    public void burstDone(PCB process, Report report) {
+        if (predictor != null) {
+            predictor.update(process, report);
+        }
+    }
+
+    public void configure(String settings) throws Exception {
+        predictor = BurstPredictor.parse(name(), settings);
+        this.settings = settings;
+    }
+}
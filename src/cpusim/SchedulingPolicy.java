@@ -0,0 +1,236 @@
+package cpusim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/*
+ * A scheduling algorithm, as plugged into the Simulation driver. A policy decides how a core's ready queue orders its
+ * processes and how long a process runs each time it is loaded into a core; everything else (bursts, I/O, cores,
+ * reports) is the same for every algorithm and lives in the driver. One policy can be shared by simulations running
+ * in parallel, so it should keep no state of its own.
+ * FCFS, SJF, RR, MLFQ, CFS, SRTF, EDF and RM are built in. Other policies are found by name with ServiceLoader: put a
+ * class implementing this interface, with a public no argument constructor, on the class path and list it in
+ * META-INF/services/cpusim.SchedulingPolicy, then give its name in place of the algorithm on the command line.
+ * The built in policies and their ready queues are final classes, so when a JVM runs one algorithm, as Main and Batch
+ * do, the driver's calls to slice and to the ready queue each see a single class, which the JIT can inline. A sweep
+ * runs every algorithm it lists in the same JVM, so there those calls see several classes and stay virtual calls;
+ * sweep timings include that cost, and single runs do not.
+ * A policy with settings takes them after its name and a colon, e.g. MLFQ:levels=4,boost=500 (see configure).
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public interface SchedulingPolicy {
+
+    /*
+     * @returns the name of the algorithm, as given on the command line.
+     */
+    String name();
+
+    /*
+     * @returns the name to show in reports, with any settings that tell this
+     * instance apart from others of the same algorithm.
+     */
+    default String label() {
+        return name();
+    }
+
+    /*
+     * @returns True if the algorithm needs a time quantum.
+     */
+    default boolean takesQuantum() {
+        return false;
+    }
+
+    /*
+     * @returns a new, empty ready queue for one core.
+     */
+    ReadyQueue newReadyQueue();
+
+    /*
+     * @param process is the process being loaded into a core
+     *
+     * @param quantum is the time quantum, if the algorithm takes one
+     *
+     * @returns how long the process runs before it leaves the core, at most the
+     * time left on its current burst. If it is less, the process goes back to the
+     * ready queue with the rest of the burst.
+     */
+    int slice(PCB process, int quantum);
+
+    /*
+     * Same as above, for policies whose slice depends on how busy the core is.
+     *
+     * @param runnable is the number of processes that could run on the core,
+     * counting this one
+     */
+    default int slice(PCB process, int quantum, int runnable) {
+        return slice(process, quantum);
+    }
+
+    /*
+     * @returns True if a process joining a busy core's ready queue can take the
+     * core from the process running on it (see preempts).
+     */
+    default boolean preemptive() {
+        return false;
+    }
+
+    /*
+     * Only asked of a preemptive policy.
+     *
+     * @param arriving is a process joining the ready queue of a busy core
+     *
+     * @param running is the process running on that core
+     *
+     * @param left is the time left of the running process's slice
+     *
+     * @returns True if the running process should leave the core, with the rest
+     * of its burst, so the core can pick again on the next time step.
+     */
+    default boolean preempts(PCB arriving, PCB running, int left) {
+        return false;
+    }
+
+    /*
+     * A process has run the whole of its current burst, with its length in
+     * burstRan, and is about to move on to its next one or finish.
+     *
+     * @param process is the process
+     *
+     * @param report is the report of the simulation
+     */
+    default void burstDone(PCB process, Report report) {
+    }
+
+    /*
+     * A process has finished its I/O and is about to go back to a ready queue.
+     *
+     * @param process is the process
+     */
+    default void ioDone(PCB process) {
+    }
+
+    /*
+     * @returns the time between calls to boost, 0 for never.
+     */
+    default int boostInterval() {
+        return 0;
+    }
+
+    /*
+     * Called every boostInterval time units for each core, with its ready queue
+     * and its current process (null if it is free).
+     *
+     * @param queue is the core's ready queue
+     *
+     * @param running is the process the core is running
+     */
+    default void boost(ReadyQueue queue, PCB running) {
+    }
+
+    /*
+     * Admission control of periodic jobs: a job is only taken into the system
+     * if, with it, the periodic jobs there pass the policy's schedulability
+     * test, and is turned away otherwise. Policies without a test take every
+     * job.
+     *
+     * @param tasks is the number of periodic jobs there would be
+     *
+     * @param utilization is their utilization, shared over the cores
+     */
+    default boolean admits(int tasks, double utilization) {
+        return true;
+    }
+
+    /*
+     * Called once the simulation is done, to add statistics of the policy's own
+     * to the report.
+     *
+     * @param queues is the ready queue of every core
+     *
+     * @param report is the report
+     */
+    default void finish(ReadyQueue[] queues, Report report) {
+    }
+
+    /*
+     * Takes the settings given after the policy's name, for policies that have
+     * any.
+     *
+     * @param settings is everything after the colon
+     */
+    default void configure(String settings) throws Exception {
+        throw new Exception("Illegal algorithm " + name() + ":" + settings + ". " + name() + " takes no settings.");
+    }
+
+    /*
+     * @returns True if the 200 level reports come at the end of the time step
+     * instead of the start, as they always have under RR.
+     */
+    default boolean reportsAfterTimeStep() {
+        return false;
+    }
+
+    /*
+     * @returns how the job table (see TableSim) orders the ready jobs of this
+     * policy: TableSim.IN_ORDER or TableSim.SHORTEST_FIRST, with each job running
+     * for its whole burst, or at most the quantum if the policy takes one; or
+     * TableSim.NONE if the job table cannot run the policy.
+     */
+    default int tableOrder() {
+        return TableSim.NONE;
+    }
+
+    /*
+     * Finds a policy by name, built in or loaded with ServiceLoader.
+     *
+     * @param name is the name of the algorithm, with its settings after a colon
+     * if it takes any
+     *
+     * @returns a new instance of the policy.
+     */
+    static SchedulingPolicy forName(String name) throws Exception {
+        String[] parts = name.split(":", 2);
+        for (SchedulingPolicy policy : available()) {
+            if (policy.name().equals(parts[0])) {
+                if (parts.length > 1) {
+                    policy.configure(parts[1]);
+                }
+                return policy;
+            }
+        }
+        throw new Exception("Illegal algorithm. Choose from " + String.join(", ", names()) + ".");
+    }
+
+    /*
+     * @returns the names of every policy that forName can find.
+     */
+    static List<String> names() {
+        List<String> out = new ArrayList<>();
+        for (SchedulingPolicy policy : available()) {
+            out.add(policy.name());
+        }
+        return out;
+    }
+
+    /*
+     * @returns the built in policies followed by any found with ServiceLoader.
+     */
+    static List<SchedulingPolicy> available() {
+        List<SchedulingPolicy> out = new ArrayList<>();
+        out.add(new FCFSPolicy());
+        out.add(new SJFPolicy());
+        out.add(new RRPolicy());
+        out.add(new MLFQPolicy());
+        out.add(new CFSPolicy());
+        out.add(new SRTFPolicy());
+        out.add(new EDFPolicy());
+        out.add(new RMPolicy());
+        for (SchedulingPolicy policy : ServiceLoader.load(SchedulingPolicy.class)) {
+            out.add(policy);
+        }
+        return out;
+    }
+}
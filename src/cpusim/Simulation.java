@@ -0,0 +1,833 @@
+package cpusim;
+
+/*
+ * The simulation driver every scheduling algorithm runs on. The algorithm is a SchedulingPolicy, which gives each
+ * core its ready queue and says how long a process runs once loaded; the driver does the rest the same way for all
+ * of them. It is event driven: everything that can change the state of the system (a burst or quantum ending, an
+ * I/O operation finishing, a core picking up the next process, the 200 level reports, a policy's priority boost) is
+ * put in a time ordered EventQueue, and the clock jumps straight to the next event. Within a single time unit the
+ * steps happen in the order the original tick by tick loops had them (dispatch, burst completion, I/O, report), so
+ * the output is the same as stepping the clock one unit at a time.
+ * The CPU can have several cores. Each core has its own ready queue and they all share the I/O devices of an
+ * IOSubsystem, each with its own blocked queue. New jobs go to the least loaded core, processes coming back from I/O go
+ * back to the core they last ran on, and a core that runs out of work steals the next process from the core with
+ * the longest ready queue. The thief takes the process the victim would have run next, so each algorithm's ordering
+ * is kept across cores. With one core this is the plain single CPU simulation.
+ * At most ADMITTED jobs per core are in the system at once. A job is taken from the job source once it has arrived
+ * and there is room for it: at the start, when another job is done, or at an ARRIVAL event at its arrival time if
+ * the system has room before then. Only the next job is ever looked at, so jobs are still read as the run goes.
+ * A periodic job is admitted only if the policy's admission test passes with it (see Report.admit), and runs one
+ * burst per period: a burst whose period has not started yet when the I/O before it is done is held in a
+ * ReleaseQueue until a RELEASE event at the start of its period, and only then joins a ready queue.
+ * Under a preemptive policy, a process joining a busy core's ready queue is checked against the process running
+ * there, which may have to leave the core before its slice is done.
+ * Given a CheckpointWriter, the whole state of the run is saved every so often, between time steps, and a run can
+ * be resumed from the saved state to go on exactly as it would have. The job source is not saved, only how many
+ * jobs were taken from it; on resume the same source is opened again and that many are skipped.
+ * Given an EventRecorder, each dispatch, end of a slice, block, unblock, preemption and exit is reported to it.
+ * Once a run is done, reset readies the same simulation for another one, so many runs in a row (see
+ * SimulationBuilder) reuse its queues, event heap and I/O devices rather than making new ones each time.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param cores Is the cores of the CPU, each holding its current process.
+ * param readyQueues Is the ready queue of each core.
+ * param policy Is the scheduling algorithm.
+ * param io Is the I/O devices.
+ * param inc Is the processing time of the current CPU shot on each core.
+ * param dispatchPending Is True for a core that already has a dispatch coming up.
+ * param live Is the number of jobs in the system (ready, blocked or running).
+ * param ioWake Is the time of the I/O event coming up with 0 devices, Integer.MAX_VALUE if none.
+ * param arrivalWake Is the time of the ARRIVAL event coming up, Integer.MAX_VALUE if none.
+ * param held Is the periodic processes waiting for their next period to start.
+ * param releaseWake Is the time of the RELEASE event coming up, Integer.MAX_VALUE if none.
+ * param taken Is the number of jobs taken from the job source.
+ * param resumed Is True once the state has been loaded from a checkpoint, so the run goes on from there.
+ * param checkpoints Is where checkpoints go, null for none.
+ * param every Is the time between checkpoints.
+ * param nextCheckpoint Is the time after which the next checkpoint is taken.
+ * param run Is the description of the run, which a checkpoint can only be resumed by.
+ * param recorder Is where each event is reported, null for none.
+ */
+public class Simulation {
+
+    // jobs each core can hold in the system at once
+    static final int ADMITTED = 10;
+
+    CPU[] cores;
+    ReadyQueue[] readyQueues;
+    IOSubsystem io;
+    EventQueue events;
+    JobSource processes;
+    Report report;
+    SchedulingPolicy policy;
+    int quantum;
+    int[] inc;
+    boolean[] dispatchPending;
+    int time;
+    int live;
+    int jobsCompleted;
+    int ioWake = Integer.MAX_VALUE;
+    int arrivalWake = Integer.MAX_VALUE;
+    ReleaseQueue held;
+    int releaseWake = Integer.MAX_VALUE;
+    int taken;
+    boolean resumed;
+    CheckpointWriter checkpoints;
+    int every;
+    int nextCheckpoint;
+    String run;
+    EventRecorder recorder;
+
+    /*
+     * @param processes Is the job queue of jobs that need to pass through the
+     * simulation.
+     *
+     * @param report Is the aggregate report object that holds final statistics
+     * from the entire simulation.
+     *
+     * @param policy Is the scheduling algorithm used by every core.
+     *
+     * @param quantum Is the time quantum, if the algorithm is RR.
+     *
+     * @param numCores Is the number of cores.
+     */
+    public Simulation(JobSource processes, Report report, SchedulingPolicy policy, int quantum, int numCores) {
+        this(processes, report, policy, quantum, numCores, new IOSubsystem());
+    }
+
+    /*
+     * Same as above, with the given I/O devices instead of the single one.
+     *
+     * @param io Is the I/O devices.
+     */
+    public Simulation(JobSource processes, Report report, SchedulingPolicy policy, int quantum, int numCores,
+            IOSubsystem io) {
+        this.processes = processes;
+        this.report = report;
+        this.policy = policy;
+        this.quantum = quantum;
+
+        cores = new CPU[numCores];
+        readyQueues = new ReadyQueue[numCores];
+        for (int c = 0; c < numCores; c++) {
+            cores[c] = new CPU();
+            readyQueues[c] = policy.newReadyQueue();
+        }
+        this.io = io;
+        events = new EventQueue();
+        inc = new int[numCores];
+        dispatchPending = new boolean[numCores];
+        held = new ReleaseQueue();
+    }
+
+    /*
+     * Readies the simulation for another run with the same cores and I/O
+     * devices, on new jobs and a new report, keeping the queues and arrays the
+     * runs before it have grown. The ready queues are only kept if the policy is
+     * the same instance, since another may order them differently. Checkpointing
+     * and the recorder are dropped.
+     *
+     * @param processes is the jobs of the new run
+     *
+     * @param report is the report of the new run
+     *
+     * @param policy is the scheduling algorithm of the new run
+     *
+     * @param quantum is the time quantum, if the algorithm takes one
+     */
+    public void reset(JobSource processes, Report report, SchedulingPolicy policy, int quantum) {
+        boolean samePolicy = policy == this.policy;
+        this.processes = processes;
+        this.report = report;
+        this.policy = policy;
+        this.quantum = quantum;
+        for (int c = 0; c < cores.length; c++) {
+            cores[c].reset();
+            if (!samePolicy || !readyQueues[c].reset()) {
+                readyQueues[c] = policy.newReadyQueue();
+            }
+            inc[c] = 0;
+            dispatchPending[c] = false;
+        }
+        io.reset();
+        events.clear();
+        time = 0;
+        live = 0;
+        jobsCompleted = 0;
+        ioWake = Integer.MAX_VALUE;
+        arrivalWake = Integer.MAX_VALUE;
+        held.reset();
+        releaseWake = Integer.MAX_VALUE;
+        taken = 0;
+        resumed = false;
+        checkpoints = null;
+        nextCheckpoint = 0;
+        run = null;
+        recorder = null;
+    }
+
+    /*
+     * Saves the state of the run every so often from now on, starting after the
+     * first time step.
+     *
+     * @param checkpoints is where the checkpoints go
+     *
+     * @param every is the time between checkpoints
+     *
+     * @param run is the description of the run, see Main
+     */
+    public void checkpointTo(CheckpointWriter checkpoints, int every, String run) {
+        this.checkpoints = checkpoints;
+        this.every = every;
+        this.run = run;
+    }
+
+    /*
+     * Reports what happens to each process from now on.
+     *
+     * @param recorder is where the events go
+     */
+    public void recordTo(EventRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /*
+     * Runs the simulation until every admitted job is done, then fills in the
+     * final time of the report.
+     */
+    public void run() {
+        if (resumed) {
+            // the checkpoint resumed from was taken at this time
+            nextCheckpoint = time + every;
+        } else {
+            start();
+        }
+
+        // Repeat until all jobs processed and terminated, and none are still to arrive.
+        while (live > 0 || arrivalWake != Integer.MAX_VALUE) {
+
+            // jump to the next event, then handle everything due at this time
+            time = events.nextTime();
+            while (events.nextTime() == time) {
+                long event = events.poll();
+                int core = EventQueue.dataOf(event);
+                switch (EventQueue.phaseOf(event)) {
+                    case EventQueue.DISPATCH:
+                        dispatch(core);
+                        break;
+                    case EventQueue.BURST:
+                        complete(core);
+                        break;
+                    case EventQueue.IO:
+                        release(core);
+                        break;
+                    case EventQueue.PRE_REPORT:
+                    case EventQueue.REPORT:
+                        intermediateReport();
+                        events.schedule(time + report.interval, EventQueue.phaseOf(event), 0);
+                        break;
+                    case EventQueue.SAMPLE:
+                        sample();
+                        events.schedule(time + report.interval, EventQueue.SAMPLE, 0);
+                        break;
+                    case EventQueue.BOOST:
+                        for (int c = 0; c < cores.length; c++) {
+                            policy.boost(readyQueues[c], cores[c].curProcess);
+                        }
+                        events.schedule(time + policy.boostInterval(), EventQueue.BOOST, 0);
+                        break;
+                    case EventQueue.ARRIVAL:
+                        if (time == arrivalWake) {
+                            arrivalWake = Integer.MAX_VALUE;
+                            admitArrived();
+                        }
+                        break;
+                    case EventQueue.RELEASE:
+                        if (time == releaseWake) {
+                            releaseWake = Integer.MAX_VALUE;
+                            releaseHeld();
+                        }
+                        break;
+                }
+            }
+
+            // the time step is done, so the state is whole
+            if (checkpoints != null && time >= nextCheckpoint) {
+                Checkpoint out = new Checkpoint(run);
+                save(out);
+                checkpoints.write(out);
+                nextCheckpoint = time + every;
+            }
+        }
+
+        // the state at the end of the run is always sampled
+        if (report.metrics != null) {
+            sample();
+        }
+
+        // step past the last time unit, which may land on a 200 level report that
+        // comes after the time step
+        time++;
+        if (!report.sink.isQuiet()) {
+            if (policy.reportsAfterTimeStep() && time % report.interval == 0) {
+                intermediateReport();
+            }
+            intermediateReport();
+        }
+
+        report.finalTime = time - 1;
+        report.preemptive = policy.preemptive();
+        policy.finish(readyQueues, report);
+    }
+
+    /*
+     * Sets up the start of the run: the first jobs in the ready queues and the
+     * first events.
+     */
+    void start() {
+
+        // populate each core's ready queue with the jobs there from the start, dealt out in turn, and wait for the
+        // next one if there is room for more
+        while (live < ADMITTED * cores.length && processes.hasNext()) {
+            if (processes.peek().arr > 0) {
+                wakeArrival();
+                break;
+            }
+            PCB process = admit();
+            if (process != null) {
+                readyQueues[live % cores.length].addProcess(process);
+                live++;
+            }
+        }
+
+        // every core picks up a process right away. Reports after the time step come
+        // before anything else happens at that time.
+        for (int c = 0; c < cores.length; c++) {
+            events.schedule(0, EventQueue.DISPATCH, c);
+            dispatchPending[c] = true;
+        }
+        if (!report.sink.isQuiet()) {
+            if (policy.reportsAfterTimeStep()) {
+                events.schedule(report.interval, EventQueue.PRE_REPORT, 0);
+            } else {
+                events.schedule(0, EventQueue.REPORT, 0);
+            }
+        }
+
+        if (report.metrics != null) {
+            events.schedule(report.interval, EventQueue.SAMPLE, 0);
+        }
+        if (policy.boostInterval() > 0) {
+            events.schedule(policy.boostInterval(), EventQueue.BOOST, 0);
+        }
+    }
+
+    /*
+     * Writes the whole state of the run to a checkpoint.
+     */
+    void save(Checkpoint out) {
+        out.writeInt(time);
+        out.writeInt(live);
+        out.writeInt(jobsCompleted);
+        out.writeInt(ioWake);
+        out.writeInt(arrivalWake);
+        out.writeInt(releaseWake);
+        out.writeInt(taken);
+        out.writeInt(cores.length);
+        for (int c = 0; c < cores.length; c++) {
+            cores[c].save(out);
+            readyQueues[c].save(out);
+            out.writeInt(inc[c]);
+            out.writeBoolean(dispatchPending[c]);
+        }
+        io.save(out);
+        held.save(out);
+        events.save(out);
+        report.save(out);
+    }
+
+    /*
+     * Loads the state of a run from a checkpoint in place of the start of this
+     * one, which has to be set up the same way, and skips the jobs it had
+     * already taken.
+     *
+     * @param in is the checkpoint, read past its header
+     */
+    public void resume(Checkpoint in) throws Exception {
+        time = in.readInt();
+        live = in.readInt();
+        jobsCompleted = in.readInt();
+        ioWake = in.readInt();
+        arrivalWake = in.readInt();
+        releaseWake = in.readInt();
+        taken = in.readInt();
+        if (in.readInt() != cores.length) {
+            throw new Exception("Illegal resume. The checkpoint has a different number of cores.");
+        }
+        for (int c = 0; c < cores.length; c++) {
+            cores[c].load(in);
+            readyQueues[c].load(in);
+            inc[c] = in.readInt();
+            dispatchPending[c] = in.readBoolean();
+        }
+        io.load(in);
+        held.load(in);
+        events.load(in);
+        report.load(in);
+        processes.skip(taken);
+        resumed = true;
+    }
+
+    /*
+     * Loads the next process into a free core, taken from its own ready queue or
+     * stolen from the core with the longest ready queue if its own is empty.
+     *
+     * @param c is the core
+     */
+    void dispatch(int c) {
+        CPU cpu = cores[c];
+        dispatchPending[c] = false;
+        if (!cpu.isFree()) {
+            return;
+        }
+
+        ReadyQueue queue = readyQueues[c];
+        if (queue.getSize() == 0) {
+            queue = victim(c);
+            if (queue == null) {
+                return;
+            }
+            report.steals++;
+        }
+
+        PCB process = queue.getNext();
+        if (process.lastCore != -1 && process.lastCore != c) {
+            report.migrations++;
+        }
+        process.lastCore = c;
+
+        // push process to the core, running for as long as the policy gives it
+        cpu.jumpTo(time);
+        cpu.pushProcess(process);
+        process.state = "Running";
+        if (process.cpuShots++ == 0) {
+            process.firstRun = time;
+        }
+        inc[c] = policy.slice(process, quantum, queue.getSize() + 1);
+        cpu.setDeadline(time + inc[c]);
+        events.schedule(cpu.deadline, EventQueue.BURST, c);
+        if (recorder != null) {
+            recorder.record(time, EventLog.DISPATCH, queue != readyQueues[c] ? EventLog.STOLEN : 0, c, process.jobID,
+                    inc[c]);
+        }
+    }
+
+    /*
+     * Handles the end of the current burst or quantum on a core.
+     *
+     * @param c is the core
+     */
+    void complete(int c) {
+        CPU cpu = cores[c];
+        cpu.jumpTo(time);
+        if (!cpu.isComplete()) {
+            return;
+        }
+        PCB process = cpu.curProcess;
+
+        // add to processing time, and take it off the burst
+        int ran = inc[c];
+        process.pc += ran;
+        cpu.busyTime += ran;
+        process.bursts[process.curBurst] -= ran;
+        process.burstRan += ran;
+        if (recorder != null) {
+            recorder.record(time, EventLog.COMPLETE, process.bursts[process.curBurst] == 0 ? EventLog.BURST_DONE : 0,
+                    c, process.jobID, ran);
+        }
+        if (process.bursts[process.curBurst] == 0) {
+            policy.burstDone(process, report);
+            process.burstRan = 0;
+
+            // each burst of a periodic job is due, otherwise only the job as a whole
+            if (process.period > 0 || (process.deadline > 0 && process.curBurst == process.burstCount)) {
+                report.addLateness(time - process.dueTime());
+            }
+        }
+
+        if (process.bursts[process.curBurst] > 0) {
+            // the slice ran out first, back to this core's ready queue
+            enqueue(process, c);
+        } else if (process.curBurst == process.burstCount) {
+
+            // Process is complete, print the report and update the jobs completed
+            process.handleReports(cpu, report);
+            if (recorder != null) {
+                recorder.record(time, EventLog.EXIT, 0, c, process.jobID, process.arr);
+            }
+            if (process.period > 0) {
+                report.release(process);
+            }
+            cpu.jobsCompleted++;
+            jobsCompleted++;
+            live--;
+
+            // nothing holds the PCB any more, so the source can build a later job into it
+            processes.recycle(process);
+
+            // add another process from the job queue, now or once it arrives
+            admitArrived();
+        } else {
+            sendToBlockedQueue(process);
+        }
+
+        // clear process, next one is loaded on the following time step
+        cpu.curProcess = null;
+        wake(c);
+    }
+
+    /*
+     * Takes jobs from the job queue while they have arrived and there is room
+     * for them, sending each to the least loaded core, and waits for the next
+     * one if there is still room.
+     */
+    void admitArrived() {
+        while (live < ADMITTED * cores.length && processes.hasNext()) {
+            if (processes.peek().arr > time) {
+                wakeArrival();
+                return;
+            }
+            PCB process = admit();
+            if (process != null) {
+                enqueue(process, leastLoaded());
+                live++;
+            }
+        }
+    }
+
+    /*
+     * Makes sure there is an ARRIVAL event at the arrival time of the next job.
+     */
+    void wakeArrival() {
+        int next = processes.peek().arr;
+        if (next < arrivalWake) {
+            arrivalWake = next;
+            events.schedule(next, EventQueue.ARRIVAL, 0);
+        }
+    }
+
+    /*
+     * Takes the next job from the job queue, counting a periodic one towards the
+     * utilization checked by admission control.
+     *
+     * @returns the job, or null if admission control rejected it.
+     */
+    PCB admit() {
+        PCB process = processes.next();
+        taken++;
+        if (process.period > 0 && !report.admit(process, cores.length, policy)) {
+            processes.recycle(process);
+            return null;
+        }
+        return process;
+    }
+
+    /*
+     * Sends a process that has just finished a burst (but not its last) to the
+     * blocked queue of an I/O device to wait for I/O.
+     *
+     * @param process is the process being sent to the blocked queue
+     */
+    void sendToBlockedQueue(PCB process) {
+
+        // Update process parameters, to ensure it runs next burst and waits to complete
+        // I/O operation.
+        process.curBurst++;
+        process.ioTime = io.duration(process.io == null ? -1 : process.io[process.curBurst - 1]);
+        process.ioQueued = time;
+        process.state = "Blocked";
+        if (recorder != null) {
+            recorder.record(time, EventLog.BLOCK, 0, process.lastCore, process.jobID, process.ioTime);
+        }
+
+        // without devices to queue for, the I/O starts right away
+        if (io.unlimited) {
+            process.ioComp = time + process.ioTime;
+            io.startNow(process);
+            wakeIO();
+            return;
+        }
+
+        // adds to the device's blocked queue; the I/O only starts once it reaches the top
+        int d = io.device(process.jobID, process.device);
+        BlockedQueue queue = io.queues[d];
+        queue.addProcess(process);
+        io.queued(d, queue.getSize());
+        if (queue.getSize() == 1) {
+            startIO(d);
+        }
+    }
+
+    /*
+     * Sends the top of a device's blocked queue back to the core it last ran on,
+     * if its I/O is done.
+     *
+     * @param d is the device
+     */
+    void release(int d) {
+        if (io.unlimited) {
+            releaseDue();
+            return;
+        }
+        BlockedQueue queue = io.queues[d];
+        if (queue.getSize() > 0 && queue.isReady(time)) {
+            PCB process = queue.getNext();
+            process.state = "Ready";
+            process.pc += process.ioTime;
+            io.served[d]++;
+            if (recorder != null) {
+                recorder.record(time, EventLog.UNBLOCK, 0, process.lastCore, process.jobID, process.ioTime);
+            }
+            policy.ioDone(process);
+            ready(process);
+
+            // the I/O of the next process in line starts now
+            if (queue.getSize() > 0) {
+                startIO(d);
+            }
+        }
+    }
+
+    /*
+     * Sends every process whose I/O is done back to the core it last ran on, all
+     * at once, with 0 devices.
+     */
+    void releaseDue() {
+        if (time != ioWake) {
+            // an earlier timer took over from this event
+            return;
+        }
+        ioWake = Integer.MAX_VALUE;
+        io.timers.advance(time, io.due);
+        while (io.due.getSize() > 0) {
+            PCB process = io.finish(io.due.remove());
+            process.state = "Ready";
+            process.pc += process.ioTime;
+            if (recorder != null) {
+                recorder.record(time, EventLog.UNBLOCK, 0, process.lastCore, process.jobID, process.ioTime);
+            }
+            policy.ioDone(process);
+            ready(process);
+        }
+        wakeIO();
+    }
+
+    /*
+     * Sends a process that is done with its I/O back to the core it last ran on,
+     * or holds it until its next burst is released if that is later.
+     *
+     * @param process is the process
+     */
+    void ready(PCB process) {
+        if (process.period > 0 && process.releaseTime() > time) {
+            process.state = "Held";
+            held.addProcess(process);
+            wakeRelease();
+        } else {
+            enqueue(process, process.lastCore);
+        }
+    }
+
+    /*
+     * Sends every held process whose next burst is released by now back to the
+     * core it last ran on.
+     */
+    void releaseHeld() {
+        while (held.nextRelease() <= time) {
+            PCB process = held.getNext();
+            process.state = "Ready";
+            enqueue(process, process.lastCore);
+        }
+        wakeRelease();
+    }
+
+    /*
+     * Makes sure there is a RELEASE event at the earliest release time of the
+     * held processes.
+     */
+    void wakeRelease() {
+        int next = held.nextRelease();
+        if (next < releaseWake) {
+            releaseWake = next;
+            events.schedule(next, EventQueue.RELEASE, 0);
+        }
+    }
+
+    /*
+     * Makes sure there is an I/O event at the next time the timing wheel has
+     * something to do, with 0 devices.
+     */
+    void wakeIO() {
+        int next = io.timers.nextTime();
+        if (next < ioWake) {
+            ioWake = next;
+            events.schedule(next, EventQueue.IO, 0);
+        }
+    }
+
+    /*
+     * Starts the I/O of the process at the top of a device's blocked queue.
+     *
+     * @param d is the device
+     */
+    void startIO(int d) {
+        PCB process = io.queues[d].peek();
+        process.ioComp = time + process.ioTime;
+        io.started(d, time - process.ioQueued, process.ioTime);
+        events.schedule(process.ioComp, EventQueue.IO, d);
+    }
+
+    /*
+     * Adds a process to a core's ready queue, and makes sure a free core will
+     * pick it up on the next time step.
+     *
+     * @param process is the process
+     *
+     * @param c is the core
+     */
+    void enqueue(PCB process, int c) {
+        readyQueues[c].addProcess(process);
+        if (cores[c].isFree()) {
+            wake(c);
+        } else {
+            // an idle core can steal it instead. One that already has a dispatch
+            // coming up, or whose slice ends now, is idle too, so the running
+            // process is not preempted for it.
+            boolean idle = false;
+            for (int i = 0; i < cores.length; i++) {
+                if (cores[i].isFree() && !dispatchPending[i]) {
+                    wake(i);
+                    return;
+                }
+                idle |= cores[i].isFree() || cores[i].deadline <= time;
+            }
+            if (idle) {
+                return;
+            }
+
+            // otherwise it may take the core from the running process, unless its
+            // slice ends now anyway (including the process being completed)
+            int left = cores[c].deadline - time;
+            if (policy.preemptive() && left > 0 && policy.preempts(process, cores[c].curProcess, left)) {
+                preempt(c);
+            }
+        }
+    }
+
+    /*
+     * Takes the running process off a core before its slice is done, and puts it
+     * back in the core's ready queue with what is left of its burst. The core
+     * picks again on the next time step; the BURST event of the old slice finds
+     * the core free or running something else, and does nothing.
+     *
+     * @param c is the core
+     */
+    void preempt(int c) {
+        CPU cpu = cores[c];
+        PCB process = cpu.curProcess;
+        int ran = time - (cpu.deadline - inc[c]);
+        process.pc += ran;
+        cpu.busyTime += ran;
+        process.bursts[process.curBurst] -= ran;
+        process.burstRan += ran;
+        process.state = "Ready";
+        cpu.curProcess = null;
+        report.preemptions++;
+        if (recorder != null) {
+            recorder.record(time, EventLog.PREEMPT, 0, c, process.jobID, ran);
+        }
+        readyQueues[c].addProcess(process);
+        wake(c);
+    }
+
+    /*
+     * Schedules a dispatch on a core for the next time step, if it does not
+     * already have one.
+     *
+     * @param c is the core
+     */
+    void wake(int c) {
+        if (!dispatchPending[c]) {
+            events.schedule(time + 1, EventQueue.DISPATCH, c);
+            dispatchPending[c] = true;
+        }
+    }
+
+    /*
+     * @returns the core with the least work, counting its ready queue and its
+     * current process. Ties go to the lowest core.
+     */
+    int leastLoaded() {
+        int best = 0;
+        int bestLoad = Integer.MAX_VALUE;
+        for (int c = 0; c < cores.length; c++) {
+            int load = readyQueues[c].getSize() + (cores[c].isFree() ? 0 : 1);
+            if (load < bestLoad) {
+                best = c;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    /*
+     * @param thief is the core looking for work
+     *
+     * @returns the longest ready queue of the other cores, or null if they are
+     * all empty.
+     */
+    ReadyQueue victim(int thief) {
+        ReadyQueue out = null;
+        for (int c = 0; c < cores.length; c++) {
+            if (c != thief && readyQueues[c].getSize() > 0
+                    && (out == null || readyQueues[c].getSize() > out.getSize())) {
+                out = readyQueues[c];
+            }
+        }
+        return out;
+    }
+
+    /*
+     * Prints the 200 level report with the totals over all cores.
+     */
+    void intermediateReport() {
+        int ready = 0;
+        for (ReadyQueue q : readyQueues) {
+            ready += q.getSize();
+        }
+        report.sink.snapshot(time, ready, io.waiting(), jobsCompleted);
+    }
+
+    /*
+     * Takes a sample of the state of every core for the metrics recorder. Time
+     * spent in the slice each core is running counts as busy so far.
+     */
+    void sample() {
+        int ready = 0;
+        for (ReadyQueue q : readyQueues) {
+            ready += q.getSize();
+        }
+        int running = 0;
+        long busy = 0;
+        for (int c = 0; c < cores.length; c++) {
+            busy += cores[c].busyTime;
+            if (!cores[c].isFree()) {
+                running++;
+                busy += time - (cores[c].deadline - inc[c]);
+            }
+        }
+        report.metrics.sample(time, ready, io.waiting(), running, live, jobsCompleted, busy);
+    }
+}
@@ -0,0 +1,348 @@
+package cpusim;
+
+/*
+ * Sets up and runs simulations from code, e.g. from a service that runs many of them in one JVM, and hands back the
+ * Report of each with nothing printed unless asked for. Main is this driven by the command line options. For example
+ * Report report = new SimulationBuilder().workload(workload).policy("RR").quantum(10).cores(4).run();
+ * report.getAverageWait(), report.getWait().valueAt(99), ...
+ * A builder keeps what it made for its last run: the Simulation with its cores, ready queues and event heap, the I/O
+ * devices and the job table of a workload. The next run with the same number of cores resets and reuses them rather
+ * than making new ones, all but the ready queues if the policy is another instance, and jobs taken from a Workload
+ * are built into the PCBs of jobs that are done (see Workload.source), so thousands of runs in a row make little
+ * garbage besides their reports. Settings stay as they are between runs, so only the ones that change need to be
+ * given again.
+ * A builder is for one thread at a time. Runs on several threads take a builder each, and can share a Workload.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param workload Is the parsed jobs to run, null to read file instead.
+ * param file Is the job file, text or binary, or generator spec, read as each run goes.
+ * param policy Is the algorithm.
+ * param quantum Is the time quantum, if the algorithm takes one.
+ * param cores Is the number of cores, 0 for a single CPU without the per core table.
+ * param devices Is the number of I/O devices, -1 for the single device without the device table.
+ * param table Is True to run on a JobTable instead of PCBs (see TableSim.runs, on a single core only).
+ * param output Is where the per job and 200 level reports go, see ReportSink.
+ * param interval Is the time between 200 level reports, and between samples.
+ * param metrics Is the file to sample queue depths, utilization and throughput into, null for none.
+ * param checkpoint Is the file to save the state of each run to every so often, null for none.
+ * param every Is the time between checkpoints.
+ * param resume Is the checkpoint each run goes on from, null to start from the beginning.
+ * param run Is the description of the run a checkpoint is kept under, which a resume has to match.
+ * param eventLog Is the name of the event log files, null for none.
+ * param trace Is the trace file, null for none.
+ * param traceJobs Is the range of job ids traced, null for all.
+ * param traceWindow Is the window of time traced, null for all.
+ * param io Is the I/O devices, made once and reset for each run.
+ * param simulation Is the simulation of the last run on PCBs.
+ * param jobs Is the job table of the last run on a table.
+ */
+public final class SimulationBuilder {
+    Workload workload;
+    String file;
+    SchedulingPolicy policy;
+    int quantum;
+    int cores;
+    int devices = -1;
+    boolean table;
+    String output = "quiet";
+    int interval = 200;
+    String metrics;
+    String checkpoint;
+    int every = 10000000;
+    String resume;
+    String run = "";
+    String eventLog;
+    String trace;
+    String traceJobs;
+    String traceWindow;
+    IOSubsystem io;
+    Simulation simulation;
+    JobTable jobs;
+
+    /*
+     * Runs on jobs parsed beforehand, which any number of builders can share.
+     */
+    public SimulationBuilder workload(Workload workload) {
+        this.workload = workload;
+        this.file = null;
+        return this;
+    }
+
+    /*
+     * Runs on a job file, text or binary, or a generator spec (see
+     * JobSource.open), opened again for each run.
+     */
+    public SimulationBuilder file(String file) {
+        this.file = file;
+        this.workload = null;
+        return this;
+    }
+
+    public SimulationBuilder policy(SchedulingPolicy policy) {
+        this.policy = policy;
+        return this;
+    }
+
+    /*
+     * Looks the algorithm up by name, with its settings after a colon, as on the
+     * command line, e.g. MLFQ:levels=4.
+     */
+    public SimulationBuilder policy(String algorithm) throws Exception {
+        return policy(SchedulingPolicy.forName(algorithm));
+    }
+
+    public SimulationBuilder quantum(int quantum) {
+        this.quantum = quantum;
+        return this;
+    }
+
+    /*
+     * @param cores is the number of cores, 0 for a single CPU without the per
+     * core table in the report
+     */
+    public SimulationBuilder cores(int cores) {
+        this.cores = cores;
+        return this;
+    }
+
+    /*
+     * Simulates I/O devices, and reports on each of them (see IOSubsystem).
+     *
+     * @param devices is the number of devices, 0 for no queueing
+     *
+     * @param assign is job to keep each job on one device, or burst to pick a
+     * device for each I/O
+     *
+     * @param time is the distribution of I/O lengths not given in the job file,
+     * e.g. exp:25
+     */
+    public SimulationBuilder io(int devices, String assign, String time) throws Exception {
+        io = IOSubsystem.open(devices, assign, time);
+        this.devices = devices;
+        simulation = null;
+        return this;
+    }
+
+    public SimulationBuilder table(boolean table) {
+        this.table = table;
+        return this;
+    }
+
+    /*
+     * @param spec is console, quiet, csv:path or json:path (see ReportSink)
+     */
+    public SimulationBuilder output(String spec) {
+        this.output = spec;
+        return this;
+    }
+
+    public SimulationBuilder interval(int interval) {
+        this.interval = interval;
+        return this;
+    }
+
+    /*
+     * @param path is the file to sample into (see MetricsRecorder), null for
+     * none
+     */
+    public SimulationBuilder metrics(String path) {
+        this.metrics = path;
+        return this;
+    }
+
+    /*
+     * Saves the state of each run every so often (see Checkpoint).
+     *
+     * @param path is the file, null for no checkpoints
+     *
+     * @param every is the time between checkpoints
+     *
+     * @param run is the description of the run the checkpoint is kept under
+     */
+    public SimulationBuilder checkpoint(String path, int every, String run) {
+        this.checkpoint = path;
+        this.every = every;
+        this.run = run;
+        return this;
+    }
+
+    /*
+     * Goes on from a checkpoint saved by a run set up the same way.
+     *
+     * @param path is the checkpoint file, null to start from the beginning
+     *
+     * @param run is the description of the run, which has to be the one the
+     * checkpoint is kept under
+     */
+    public SimulationBuilder resume(String path, String run) {
+        this.resume = path;
+        this.run = run;
+        return this;
+    }
+
+    /*
+     * @param path is the name of the event log files (see EventLog), null for
+     * none
+     */
+    public SimulationBuilder eventLog(String path) {
+        this.eventLog = path;
+        return this;
+    }
+
+    /*
+     * @param path is the trace file (see TraceExporter), null for none
+     *
+     * @param jobs is the range of job ids traced, first-last, null for all
+     *
+     * @param window is the window of time traced, from-to, null for all
+     */
+    public SimulationBuilder trace(String path, String jobs, String window) {
+        this.trace = path;
+        this.traceJobs = jobs;
+        this.traceWindow = window;
+        return this;
+    }
+
+    /*
+     * Runs one simulation with the settings given so far.
+     *
+     * @returns the report of the run, its sink and metrics file closed, as they
+     * also are if the run fails.
+     */
+    public Report run() throws Exception {
+        check();
+        Report report;
+        if (policy.takesQuantum()) {
+            report = new Report(policy.name(), 0, quantum);
+        } else {
+            report = new Report(policy.label(), 0);
+        }
+        report.interval = interval;
+        try (ReportSink sink = ReportSink.open(output);
+                MetricsRecorder recorder = metrics == null ? null
+                        : new MetricsRecorder(metrics, interval, Math.max(cores, 1))) {
+            report.sink = sink;
+            report.metrics = recorder;
+            runJobs(report);
+        }
+
+        // everything the sink held was written out when it closed, before the report is handed back
+        return report;
+    }
+
+    /*
+     * Runs the simulation on the jobs given, with the report's sink and metrics
+     * file, and fills in the totals the simulation does not.
+     */
+    void runJobs(Report report) throws Exception {
+
+        // the devices of the last run are reused, put back as new
+        if (io == null) {
+            io = new IOSubsystem();
+        } else {
+            io.reset();
+        }
+
+        if (table) {
+            // the table needs every job up front, in one set of arrays
+            Workload w = workload;
+            if (w == null) {
+                try (JobSource source = JobSource.open(file)) {
+                    w = new Workload(source);
+                }
+            }
+            if (w.deadlines != null || w.periods != null) {
+                throw new Exception("Illegal simulation. The job table has no deadlines or periods.");
+            }
+            if (jobs != null && jobs.workload == w) {
+                jobs.reset();
+            } else {
+                jobs = new JobTable(w);
+            }
+            new TableSim(jobs, report, policy, quantum, io).run();
+            report.totalJobs = w.size();
+        } else {
+            // the file is closed even if the run fails part way through it
+            try (JobSource source = workload != null ? workload.source() : JobSource.open(file)) {
+                simulate(source, report);
+                // jobs turned away by admission control never ran, so they are not in the averages
+                report.totalJobs = source.total() - report.rejected;
+            }
+        }
+        if (devices != -1) {
+            report.setDevices(io);
+        }
+    }
+
+    /*
+     * Runs the simulation on PCBs, reusing the last one if it has the same
+     * number of cores, with the checkpoints, event log and trace asked for. Their
+     * files are closed whether or not the run gets to the end.
+     */
+    void simulate(JobSource source, Report report) throws Exception {
+        int n = Math.max(cores, 1);
+        if (simulation != null && simulation.cores.length == n) {
+            simulation.reset(source, report, policy, quantum);
+        } else {
+            simulation = new Simulation(source, report, policy, quantum, n, io);
+        }
+
+        try (CheckpointWriter checkpoints = checkpoint == null ? null : new CheckpointWriter(checkpoint);
+                EventLog log = eventLog == null ? null
+                        : new EventLog(eventLog, report.algo, cores, policy.preemptive());
+                TraceExporter exporter = trace == null ? null
+                        : TraceExporter.open(trace, n, traceJobs, traceWindow)) {
+            if (checkpoints != null) {
+                simulation.checkpointTo(checkpoints, every, run);
+            }
+            if (resume != null) {
+                simulation.resume(Checkpoint.read(resume, run));
+            }
+            if (log != null) {
+                simulation.recordTo(log);
+            }
+            if (exporter != null) {
+                simulation.recordTo(log == null ? exporter : EventRecorder.both(log, exporter));
+            }
+            simulation.run();
+        }
+        if (cores > 0) {
+            report.setCores(simulation.cores);
+        }
+    }
+
+    /*
+     * Ensures the settings make a run, for callers that have not been through
+     * Main.handleArgs.
+     */
+    void check() throws Exception {
+        if (policy == null) {
+            throw new Exception("Illegal simulation. No algorithm was given.");
+        }
+        if (workload == null && file == null) {
+            throw new Exception("Illegal simulation. No jobs were given.");
+        }
+        if (policy.takesQuantum() && quantum < 1) {
+            throw new Exception("Illegal quantum " + quantum + ". " + policy.name() + " needs at least 1.");
+        }
+        if (cores < 0) {
+            throw new Exception("Illegal number of cores. Must be at least 1, or 0 for a single CPU.");
+        }
+        if (interval < 1) {
+            throw new Exception("Illegal interval. Must be at least 1.");
+        }
+        if (table && !TableSim.runs(policy)) {
+            throw new Exception("Illegal simulation. The job table cannot run " + policy.label() + ", only "
+                    + TableSim.policies() + ".");
+        }
+        if (table && (cores > 0 || devices > 1 || devices == 0)) {
+            throw new Exception("Illegal simulation. The job table only runs on a single core with a single I/O"
+                    + " device.");
+        }
+        if (table && (checkpoint != null || resume != null || eventLog != null || trace != null)) {
+            throw new Exception("Illegal simulation. The job table has no checkpoints, event log or trace.");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package cpusim;
+
+/*
+ * Small, fast random number generator (SplitMix64) whose whole state is one long, so a run that depends on it can
+ * be saved and picked up again exactly where it left off. The same seed always gives the same numbers, on any JVM.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param state Is the whole state of the generator.
+ */
+public final class SplitMix64 {
+    long state;
+
+    public SplitMix64(long seed) {
+        state = seed;
+    }
+
+    public long nextLong() {
+        long z = (state += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /*
+     * @returns a number from 0 (inclusive) to 1 (exclusive).
+     */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /*
+     * @returns a number from 0 (inclusive) to bound (exclusive).
+     */
+    public int nextInt(int bound) {
+        return (int) ((nextLong() >>> 33) * bound >>> 31);
+    }
+
+    /*
+     * @returns a number from an exponential distribution with the given mean.
+     */
+    public double nextExponential(double mean) {
+        return -mean * Math.log(1 - nextDouble());
+    }
+
+    /*
+     * @returns a number from the standard normal distribution, by the
+     * Box-Muller transform. Takes two numbers from the generator every time, so
+     * no half used pair is ever left in the state.
+     */
+    public double nextGaussian() {
+        double u = 1 - nextDouble();
+        double v = nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * v);
+    }
+}
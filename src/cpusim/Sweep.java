@@ -0,0 +1,175 @@
+package cpusim;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+ * Runs many configurations of the simulation over the same job file in parallel, and prints one table with a row
+ * for each. The file is parsed once into a Workload shared by every run; each run gets its own PCBs from it, so runs
+ * have no state in common and spread over a fork-join pool with one thread per processor. Each thread takes one of
+ * as many SimulationBuilders for each configuration it runs, so the simulations, I/O devices and job tables are
+ * reused from one configuration to the next, and each configuration has its own instance of its policy.
+ * Configurations are given as a space separated list of algorithms, where one that takes a quantum (RR) takes a
+ * list of quanta after a colon, and one with settings (MLFQ, CFS) takes them after a colon as it would on its own.
+ * Each quantum is either a number or a range from-to, optionally with a step after a slash. For example:
+ * "FCFS SJF RR:2,5,10-100/10 MLFQ MLFQ:levels=4,boost=500"
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param builders Is the builders free to run a configuration on, one per thread, all set up with the workload,
+ * cores and job store.
+ * param policies Is the algorithm of each configuration.
+ * param quanta Is the time quantum of each configuration, if its algorithm takes one.
+ * param reports Is where the report of each configuration ends up.
+ * param from Is the first configuration this task runs, up to but not including to.
+ */
+public class Sweep extends RecursiveAction {
+    final ArrayBlockingQueue<SimulationBuilder> builders;
+    final SchedulingPolicy[] policies;
+    final int[] quanta;
+    final Report[] reports;
+    final int from;
+    final int to;
+
+    Sweep(ArrayBlockingQueue<SimulationBuilder> builders, SchedulingPolicy[] policies, int[] quanta,
+            Report[] reports, int from, int to) {
+        this.builders = builders;
+        this.policies = policies;
+        this.quanta = quanta;
+        this.reports = reports;
+        this.from = from;
+        this.to = to;
+    }
+
+    /*
+     * Runs a single configuration, or splits the range in half and runs both
+     * halves in parallel.
+     */
+    protected void compute() {
+        if (to - from > 1) {
+            int mid = (from + to) >>> 1;
+            invokeAll(new Sweep(builders, policies, quanta, reports, from, mid),
+                    new Sweep(builders, policies, quanta, reports, mid, to));
+            return;
+        }
+
+        // there is a builder for every thread, so one is always free
+        try {
+            SimulationBuilder builder = builders.take();
+            try {
+                reports[from] = builder.policy(policies[from]).quantum(quanta[from]).run();
+            } finally {
+                builders.add(builder);
+            }
+        } catch (Exception e) {
+            // the configurations were checked before the sweep started
+            throw new RuntimeException(e);
+        }
+    }
+
+    /*
+     * Parses the job file and the configurations, runs them all and prints the
+     * table.
+     *
+     * @param params is the parameter map from Main.handleArgs
+     */
+    static void run(HashMap<String, String> params) throws Exception {
+        ArrayList<SchedulingPolicy> policies = new ArrayList<>();
+        ArrayList<Integer> quanta = new ArrayList<>();
+        parse(params.get("sweep"), policies, quanta);
+        int cores = params.containsKey("cores") ? Integer.parseInt(params.get("cores")) : 0;
+        boolean table = "table".equals(params.get("store"));
+        for (SchedulingPolicy policy : policies) {
+            if (table && !TableSim.runs(policy)) {
+                throw new Exception("Illegal options. --store table cannot run " + policy.label() + ", only "
+                        + TableSim.policies() + ".");
+            }
+        }
+
+        Workload workload;
+        try (JobSource source = JobSource.open(params.get("filename"))) {
+            workload = new Workload(source);
+        }
+
+        int n = policies.size();
+        Report[] reports = new Report[n];
+        int[] q = new int[n];
+        for (int i = 0; i < n; i++) {
+            q[i] = quanta.get(i);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool();
+        ArrayBlockingQueue<SimulationBuilder> builders = new ArrayBlockingQueue<>(pool.getParallelism());
+        for (int i = 0; i < pool.getParallelism(); i++) {
+            builders.add(new SimulationBuilder().workload(workload).cores(cores).table(table));
+        }
+        long start = System.nanoTime();
+        pool.invoke(new Sweep(builders, policies.toArray(new SchedulingPolicy[n]), q, reports, 0, n));
+        long millis = (System.nanoTime() - start) / 1000000;
+        pool.shutdown();
+
+        Report.printTable("SWEEP REPORT:", reports);
+        Report.printPercentiles(reports);
+        Report.printPredictions(reports);
+        Report.printDeadlines(reports);
+        System.out.printf("%d runs on %d threads in %d ms%n", n, pool.getParallelism(), millis);
+    }
+
+    /*
+     * Reads the list of configurations.
+     *
+     * @param spec is the list, e.g. "FCFS SJF RR:2,5,10-100/10"
+     *
+     * @param policies gets the algorithm of each configuration, a new instance
+     * for each
+     *
+     * @param quanta gets the quantum of each configuration, 0 if its algorithm
+     * takes none
+     */
+    static void parse(String spec, ArrayList<SchedulingPolicy> policies, ArrayList<Integer> quanta) throws Exception {
+        for (String item : spec.trim().split("\\s+")) {
+            String[] parts = item.split(":", 2);
+            SchedulingPolicy policy = SchedulingPolicy.forName(parts[0]);
+
+            // anything after the colon of an algorithm without a quantum is its settings
+            if (!policy.takesQuantum()) {
+                policies.add(SchedulingPolicy.forName(item));
+                quanta.add(0);
+            } else {
+                if (parts.length == 1) {
+                    throw new Exception("Illegal sweep item " + item + ". " + policy.name()
+                            + " needs quanta, e.g. " + policy.name() + ":2,5,10-100/10");
+                }
+                for (String q : parts[1].split(",")) {
+
+                    // either a single quantum or a range with an optional step
+                    String[] range = q.split("/", 2);
+                    String[] ends = range[0].split("-", 2);
+                    int first = Integer.parseInt(ends[0]);
+                    int last = ends.length > 1 ? Integer.parseInt(ends[1]) : first;
+                    int step = range.length > 1 ? Integer.parseInt(range[1]) : 1;
+                    if (first < 1 || last < first) {
+                        throw new Exception("Illegal quantum range " + q + " in sweep item " + item);
+                    }
+                    if (step < 1) {
+                        throw new Exception("Illegal step " + step + " in sweep item " + item
+                                + ". Must be at least 1.");
+                    }
+
+                    // stops before the next quantum would pass last, so it never overflows near Integer.MAX_VALUE
+                    for (int quantum = first;; quantum += step) {
+                        policies.add(SchedulingPolicy.forName(parts[0]));
+                        quanta.add(quantum);
+                        if (last - quantum < step) {
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package cpusim;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Runs FCFS, SJF or RR, or any policy whose tableOrder says how the table can run it, on a single CPU over a JobTable
+ * instead of PCB objects. Jobs are plain numbers: the ready
+ * and blocked queues hold job numbers in int arrays and every field of a job lives in the table, so once the queues
+ * have grown to their largest size the simulation allocates nothing, however many jobs pass through it.
+ * Follows the same steps as Simulation, including when jobs are admitted, and gives exactly the same results.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param jobs Is the table of jobs.
+ * param shortestFirst Is True to order the ready jobs by the length of their current burst, False to keep them in
+ * the order they became ready.
+ * param sliced Is True if a job runs for at most the quantum at a time, as under RR.
+ * param reportsAfterTimeStep Is True if the 200 level reports come at the end of the time step, as under RR.
+ * param fifo Is the ready queue when jobs are kept in order.
+ * param sjf Is the ready queue when the shortest goes first, keyed by the length of the current burst.
+ * param running Is the job in the CPU, -1 if none.
+ * param deadline Is the time the current burst or quantum ends.
+ * param inc Is the processing time of the current CPU shot.
+ * param nextJob Is the next job to be admitted from the table, in file order.
+ * param live Is the number of jobs in the system (ready, blocked or running).
+ * param arrivalWake Is the time of the ARRIVAL event coming up, Integer.MAX_VALUE if none.
+ * param io Is the I/O device, of which only the first is used.
+ * param busyTime Is the time the CPU has spent running jobs.
+ */
+public class TableSim {
+
+    // how a policy's ready jobs are ordered in the table, see SchedulingPolicy.tableOrder
+    static final int NONE = 0;
+    static final int IN_ORDER = 1;
+    static final int SHORTEST_FIRST = 2;
+
+    final JobTable jobs;
+    final Report report;
+    final boolean shortestFirst;
+    final boolean sliced;
+    final boolean reportsAfterTimeStep;
+    final int quantum;
+    final IntQueue fifo;
+    final IntHeap sjf;
+    final IntQueue blocked;
+    final EventQueue events;
+    final IOSubsystem io;
+    int running;
+    int deadline;
+    int inc;
+    int time;
+    int nextJob;
+    int live;
+    int arrivalWake = Integer.MAX_VALUE;
+    int jobsCompleted;
+    long busyTime;
+
+    /*
+     * @param jobs Is the table of jobs to pass through the simulation.
+     *
+     * @param report Is the aggregate report object that holds final statistics
+     * from the entire simulation.
+     *
+     * @param policy Is the algorithm to be used, one the table runs (see runs).
+     *
+     * @param quantum Is the time quantum, if the algorithm takes one.
+     */
+    public TableSim(JobTable jobs, Report report, SchedulingPolicy policy, int quantum) {
+        this(jobs, report, policy, quantum, new IOSubsystem());
+    }
+
+    /*
+     * Same as above, taking I/O lengths not given in the job file from the
+     * given I/O devices. Only one device is simulated.
+     *
+     * @param io Is the I/O devices.
+     */
+    public TableSim(JobTable jobs, Report report, SchedulingPolicy policy, int quantum, IOSubsystem io) {
+        this.jobs = jobs;
+        this.io = io;
+        this.report = report;
+        this.shortestFirst = policy.tableOrder() == SHORTEST_FIRST;
+        this.sliced = policy.takesQuantum();
+        this.reportsAfterTimeStep = policy.reportsAfterTimeStep();
+        this.quantum = quantum;
+        fifo = new IntQueue();
+        sjf = new IntHeap();
+        blocked = new IntQueue();
+        events = new EventQueue();
+        running = -1;
+    }
+
+    /*
+     * Runs the simulation until every admitted job is done, then fills in the
+     * final time of the report.
+     */
+    public void run() {
+
+        // populate ready queue with the jobs there from the start, and wait for the
+        // next one if there is room for more
+        while (nextJob < Simulation.ADMITTED && nextJob < jobs.size()) {
+            if (jobs.workload.arrivals[nextJob] > 0) {
+                wakeArrival();
+                break;
+            }
+            addReady(nextJob++);
+            live++;
+        }
+
+        // first job goes to the CPU right away. Reports after the time step come
+        // before anything else happens at that time.
+        events.schedule(0, EventQueue.DISPATCH, 0);
+        if (!report.sink.isQuiet()) {
+            if (reportsAfterTimeStep) {
+                events.schedule(report.interval, EventQueue.PRE_REPORT, 0);
+            } else {
+                events.schedule(0, EventQueue.REPORT, 0);
+            }
+        }
+
+        if (report.metrics != null) {
+            events.schedule(report.interval, EventQueue.SAMPLE, 0);
+        }
+
+        // Repeat until all jobs processed and terminated, and none are still to arrive.
+        while (live > 0 || arrivalWake != Integer.MAX_VALUE) {
+
+            // jump to the next event, then handle everything due at this time
+            time = events.nextTime();
+            while (events.nextTime() == time) {
+                long event = events.poll();
+                switch (EventQueue.phaseOf(event)) {
+                    case EventQueue.DISPATCH:
+                        dispatch();
+                        break;
+                    case EventQueue.BURST:
+                        complete();
+                        break;
+                    case EventQueue.IO:
+                        release();
+                        break;
+                    case EventQueue.PRE_REPORT:
+                    case EventQueue.REPORT:
+                        intermediateReport();
+                        events.schedule(time + report.interval, EventQueue.phaseOf(event), 0);
+                        break;
+                    case EventQueue.SAMPLE:
+                        sample();
+                        events.schedule(time + report.interval, EventQueue.SAMPLE, 0);
+                        break;
+                    case EventQueue.ARRIVAL:
+                        if (time == arrivalWake) {
+                            arrivalWake = Integer.MAX_VALUE;
+                            admitArrived();
+                        }
+                        break;
+                }
+            }
+        }
+
+        // the state at the end of the run is always sampled
+        if (report.metrics != null) {
+            sample();
+        }
+
+        // step past the last time unit, which may land on a 200 level report that
+        // comes after the time step
+        time++;
+        if (!report.sink.isQuiet()) {
+            if (reportsAfterTimeStep && time % report.interval == 0) {
+                intermediateReport();
+            }
+            intermediateReport();
+        }
+
+        report.finalTime = time - 1;
+    }
+
+    /*
+     * Loads the next ready job into the CPU, if it is free.
+     */
+    void dispatch() {
+        if (running != -1 || readySize() == 0) {
+            return;
+        }
+        running = shortestFirst ? sjf.remove() : fifo.remove();
+        jobs.state[running] = JobTable.RUNNING;
+        if (jobs.cpuShots[running]++ == 0) {
+            jobs.firstRun[running] = time;
+        }
+
+        // runs to the end of the burst, or of the quantum if the policy takes one
+        inc = jobs.burst(running);
+        if (sliced) {
+            inc = Math.min(quantum, inc);
+        }
+        deadline = time + inc;
+        events.schedule(deadline, EventQueue.BURST, 0);
+    }
+
+    /*
+     * Handles the end of the current burst or quantum.
+     */
+    void complete() {
+        if (running == -1 || time < deadline) {
+            return;
+        }
+        int job = running;
+
+        // add to processing time; when sliced only the quantum used is taken off the burst
+        jobs.pc[job] += inc;
+        busyTime += inc;
+        if (sliced) {
+            jobs.bursts[jobs.burstIndex(job)] -= inc;
+        }
+
+        if (sliced && jobs.burst(job) > 0) {
+            // send to back of ready queue
+            addReady(job);
+        } else if (jobs.lastBurst(job)) {
+
+            // Job is complete, print the report and update the jobs completed
+            jobs.state[job] = JobTable.DONE;
+            PCB.handleReports(jobs.workload.jobIDs[job], jobs.workload.arrivals[job], jobs.pc[job],
+                    jobs.cpuShots[job], jobs.firstRun[job], time, report);
+            jobsCompleted++;
+            live--;
+
+            // add another job from the table, now or once it arrives
+            admitArrived();
+        } else {
+
+            // send to blocked queue for I/O, which only starts once it reaches the top
+            jobs.curBurst[job]++;
+            int[] given = jobs.workload.io;
+            jobs.ioTime[job] = io.duration(given == null ? -1 : given[jobs.burstIndex(job) - 1]);
+            jobs.ioQueued[job] = time;
+            jobs.state[job] = JobTable.BLOCKED;
+            blocked.add(job);
+            io.queued(0, blocked.getSize());
+            if (blocked.getSize() == 1) {
+                startIO();
+            }
+        }
+
+        // clear CPU, next job is loaded on the following time step
+        running = -1;
+        events.schedule(time + 1, EventQueue.DISPATCH, 0);
+    }
+
+    /*
+     * Adds jobs from the table while they have arrived and there is room for
+     * them, and waits for the next one if there is still room.
+     */
+    void admitArrived() {
+        while (live < Simulation.ADMITTED && nextJob < jobs.size()) {
+            if (jobs.workload.arrivals[nextJob] > time) {
+                wakeArrival();
+                return;
+            }
+            addReady(nextJob++);
+            live++;
+            if (running == -1) {
+                events.schedule(time + 1, EventQueue.DISPATCH, 0);
+            }
+        }
+    }
+
+    /*
+     * Makes sure there is an ARRIVAL event at the arrival time of the next job.
+     */
+    void wakeArrival() {
+        int next = jobs.workload.arrivals[nextJob];
+        if (next < arrivalWake) {
+            arrivalWake = next;
+            events.schedule(next, EventQueue.ARRIVAL, 0);
+        }
+    }
+
+    /*
+     * Sends the top of the blocked queue back to the ready queue, if its I/O is
+     * done.
+     */
+    void release() {
+        if (blocked.getSize() > 0 && time >= jobs.ioComp[blocked.peek()]) {
+            int job = blocked.remove();
+            jobs.pc[job] += jobs.ioTime[job];
+            io.served[0]++;
+            addReady(job);
+            events.schedule(time + 1, EventQueue.DISPATCH, 0);
+
+            // the I/O of the next job in line starts now
+            if (blocked.getSize() > 0) {
+                startIO();
+            }
+        }
+    }
+
+    /*
+     * Starts the I/O of the job at the top of the blocked queue.
+     */
+    void startIO() {
+        int job = blocked.peek();
+        jobs.ioComp[job] = time + jobs.ioTime[job];
+        io.started(0, time - jobs.ioQueued[job], jobs.ioTime[job]);
+        events.schedule(jobs.ioComp[job], EventQueue.IO, 0);
+    }
+
+    /*
+     * @returns True if the policy is one this simulation has queues for.
+     */
+    static boolean runs(SchedulingPolicy policy) {
+        return policy.tableOrder() != NONE;
+    }
+
+    /*
+     * @returns the names of the policies forName can find that the table runs.
+     */
+    static String policies() {
+        List<String> out = new ArrayList<>();
+        for (SchedulingPolicy policy : SchedulingPolicy.available()) {
+            if (runs(policy)) {
+                out.add(policy.name());
+            }
+        }
+        return String.join(", ", out);
+    }
+
+    void addReady(int job) {
+        jobs.state[job] = JobTable.READY;
+        if (shortestFirst) {
+            sjf.add(job, jobs.burst(job));
+        } else {
+            fifo.add(job);
+        }
+    }
+
+    int readySize() {
+        return shortestFirst ? sjf.getSize() : fifo.getSize();
+    }
+
+    void intermediateReport() {
+        report.sink.snapshot(time, readySize(), blocked.getSize(), jobsCompleted);
+    }
+
+    /*
+     * Takes a sample for the metrics recorder, counting the time spent in the
+     * current burst or quantum as busy so far.
+     */
+    void sample() {
+        int busy = running == -1 ? 0 : time - (deadline - inc);
+        report.metrics.sample(time, readySize(), blocked.getSize(), running == -1 ? 0 : 1, live, jobsCompleted,
+                busyTime + busy);
+    }
+}
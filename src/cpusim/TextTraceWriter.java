@@ -0,0 +1,57 @@
+package cpusim;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/*
+ * Writes jobs to a plain text job file, one job per line in the same layout as JobQueue.txt:
+ * id arrival count bursts... [io=a,b,...] [dev=n] [deadline=n] [period=n]
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param out Is the buffered file.
+ * param line Is reused to build each line.
+ */
+public class TextTraceWriter implements TraceWriter {
+    BufferedWriter out;
+    StringBuilder line;
+
+    /*
+     * @param fname is the name of the file to write, replaced if it exists
+     */
+    public TextTraceWriter(String fname) throws IOException {
+        out = new BufferedWriter(new FileWriter(fname), 1 << 16);
+        line = new StringBuilder(128);
+    }
+
+    public void write(PCB p) throws IOException {
+        line.append(p.jobID).append(' ').append(p.arr).append(' ').append(p.bursts.length).append(' ');
+        for (int b : p.bursts) {
+            line.append(b).append(' ');
+        }
+        if (p.io != null && p.io.length > 0) {
+            line.append("io=");
+            for (int i = 0; i < p.io.length; i++) {
+                line.append(i == 0 ? "" : ",").append(p.io[i]);
+            }
+            line.append(' ');
+        }
+        if (p.device >= 0) {
+            line.append("dev=").append(p.device).append(' ');
+        }
+        if (p.deadline > 0) {
+            line.append("deadline=").append(p.deadline).append(' ');
+        }
+        if (p.period > 0) {
+            line.append("period=").append(p.period).append(' ');
+        }
+        out.append(line).append('\n');
+        line.setLength(0);
+    }
+
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,245 @@
+package cpusim;
+
+import java.util.Arrays;
+
+/*
+ * Hierarchical timing wheel of int timers, each holding a small int value (a slot number) and due at an int time.
+ * There are four wheels of 256 slots, one for each byte of the time. A timer goes in the lowest wheel where its
+ * time and the current time agree on all the higher bytes, in the slot for its own byte there, so adding is a few
+ * shifts and a list append whatever the number of timers. When the current time reaches the start of a slot in a
+ * higher wheel, the timers in it are moved down to where they now belong; each timer moves at most three times, so
+ * expiring is O(1) per timer as well. A bitmap per wheel of which slots hold timers lets advance jump straight over
+ * empty time, which matters in an event driven simulation where the clock jumps.
+ * Timers are nodes of three ints side by side in one array (time, value, next), linked into one list per slot and
+ * reused once expired, so following a list touches one cache line per timer and nothing is allocated once the
+ * array has grown to the most timers pending at once. Timers that fall due at the same time come out in
+ * the order they reached the lowest wheel. Self explanitory methods have no description.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param now Is the current time of the wheel; every pending timer is due at or after it.
+ * param heads Is the first node of each slot's list, -1 if empty, wheel by wheel.
+ * param tails Is the last node of each slot's list.
+ * param used Is a bit per slot, set if its list is not empty.
+ * param nodes Is the nodes, NODE ints each: the due time, the value, and the next node in the same list or the next
+ * free node.
+ * param free Is the first free node, -1 if none.
+ */
+public final class TimingWheel {
+    static final int LEVELS = 4;
+    static final int BITS = 8;
+    static final int SLOTS = 1 << BITS;
+    static final int MASK = SLOTS - 1;
+    static final int NODE = 3;
+    static final int TIME = 0;
+    static final int VALUE = 1;
+    static final int NEXT = 2;
+
+    int now;
+    final int[] heads;
+    final int[] tails;
+    final long[] used;
+    int[] nodes;
+    int free;
+    int size;
+
+    public TimingWheel() {
+        heads = new int[LEVELS * SLOTS];
+        tails = new int[LEVELS * SLOTS];
+        used = new long[LEVELS * SLOTS / 64];
+        Arrays.fill(heads, -1);
+        nodes = new int[0];
+        free = -1;
+    }
+
+    /*
+     * Adds a timer.
+     *
+     * @param time is when it is due; a time already passed counts as now
+     *
+     * @param value is what advance hands back once it is due
+     */
+    public void add(int time, int value) {
+        if (free == -1) {
+            grow();
+        }
+        int node = free;
+        free = nodes[node + NEXT];
+        nodes[node + TIME] = Math.max(time, now);
+        nodes[node + VALUE] = value;
+        link(node);
+        size++;
+    }
+
+    /*
+     * Moves the current time up to a later time, handing back every timer due
+     * by then, earliest first.
+     *
+     * @param time is the new current time
+     *
+     * @param due gets the value of every timer that is due
+     */
+    public void advance(int time, IntQueue due) {
+        while (true) {
+
+            // the lowest wheel's slot for the current time holds the timers due now
+            int slot = now & MASK;
+            for (int node = heads[slot]; node != -1;) {
+                int after = nodes[node + NEXT];
+                due.add(nodes[node + VALUE]);
+                nodes[node + NEXT] = free;
+                free = node;
+                size--;
+                node = after;
+            }
+            heads[slot] = -1;
+            used[slot >>> 6] &= ~(1L << slot);
+
+            int at = nextTime();
+            if (at > time) {
+                now = Math.max(now, time);
+                return;
+            }
+
+            // a slot of a higher wheel starts here; its timers move down
+            now = at;
+            int level = 0;
+            while (level + 1 < LEVELS && ((now >>> (BITS * level)) & MASK) == 0) {
+                level++;
+            }
+            for (; level > 0; level--) {
+                cascade(level * SLOTS + ((now >>> (BITS * level)) & MASK));
+            }
+        }
+    }
+
+    /*
+     * @returns the earliest time something is due or has to move down a wheel,
+     * which is never later than the earliest timer. Integer.MAX_VALUE if there
+     * are no timers.
+     */
+    public int nextTime() {
+        if (size == 0) {
+            return Integer.MAX_VALUE;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = BITS * level;
+            int digit = (now >>> shift) & MASK;
+
+            // in the lowest wheel the current slot counts, higher up it is always empty
+            int slot = firstUsed(level, level == 0 ? digit : digit + 1);
+            if (slot != -1) {
+                int span = shift + BITS;
+                int base = span == 32 ? 0 : (now >>> span) << span;
+                return base | (slot << shift);
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /*
+     * Drops every timer and puts the current time back to 0, keeping the nodes
+     * for reuse.
+     */
+    public void clear() {
+        Arrays.fill(heads, -1);
+        Arrays.fill(used, 0);
+        free = -1;
+        for (int node = nodes.length - NODE; node >= 0; node -= NODE) {
+            nodes[node + NEXT] = free;
+            free = node;
+        }
+        now = 0;
+        size = 0;
+    }
+
+    /*
+     * Puts a node at the end of the list of the slot its time belongs in.
+     */
+    void link(int node) {
+        int time = nodes[node + TIME];
+        int differ = time ^ now;
+        int level = differ == 0 ? 0 : (31 - Integer.numberOfLeadingZeros(differ)) / BITS;
+        int slot = level * SLOTS + ((time >>> (BITS * level)) & MASK);
+
+        nodes[node + NEXT] = -1;
+        if (heads[slot] == -1) {
+            heads[slot] = node;
+            used[slot >>> 6] |= 1L << slot;
+        } else {
+            nodes[tails[slot] + NEXT] = node;
+        }
+        tails[slot] = node;
+    }
+
+    /*
+     * Moves every timer in a slot of a higher wheel to where it belongs now.
+     */
+    void cascade(int slot) {
+        int node = heads[slot];
+        heads[slot] = -1;
+        used[slot >>> 6] &= ~(1L << slot);
+        while (node != -1) {
+            int after = nodes[node + NEXT];
+            link(node);
+            node = after;
+        }
+    }
+
+    /*
+     * @returns the first slot of a wheel at or after from that holds timers, -1
+     * if none.
+     */
+    int firstUsed(int level, int from) {
+        for (int s = from; s < SLOTS;) {
+            int bit = level * SLOTS + s;
+            long word = used[bit >>> 6] & (-1L << bit);
+            if (word != 0) {
+                return (bit & ~63) + Long.numberOfTrailingZeros(word) - level * SLOTS;
+            }
+            s = (s | 63) + 1;
+        }
+        return -1;
+    }
+
+    /*
+     * Writes the wheels and the nodes as they are, so load puts back every
+     * timer in the same slot and order.
+     */
+    public void save(Checkpoint out) {
+        out.writeInt(now);
+        out.writeInts(heads);
+        out.writeInts(tails);
+        out.writeLongs(used);
+        out.writeInts(nodes);
+        out.writeInt(free);
+        out.writeInt(size);
+    }
+
+    public void load(Checkpoint in) throws Exception {
+        now = in.readInt();
+        in.readInts(heads);
+        in.readInts(tails);
+        in.readLongs(used);
+        nodes = in.readInts();
+        free = in.readInt();
+        size = in.readInt();
+    }
+
+    /*
+     * Doubles the node array, adding the new nodes to the free list.
+     */
+    void grow() {
+        int old = nodes.length;
+        nodes = Arrays.copyOf(nodes, Math.max(16 * NODE, old * 2));
+        for (int node = nodes.length - NODE; node >= old; node -= NODE) {
+            nodes[node + NEXT] = free;
+            free = node;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package cpusim;
+
+/*
+ * Converts a job file to the compact binary format, e.g.
+ * java -cp cpusim.jar cpusim.TraceConverter [--stride n] [--no-index] [--text] [--from time] JobQueue.txt JobQueue.bin
+ * The input can be in either format, so a binary file can also be rewritten with a different index stride, or be a
+ * Generator spec, which writes the made up jobs to a file. With --from, only the jobs arriving from that time on are
+ * written, which a binary input with an index finds without reading the jobs before them.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * @param stride is the number of jobs between arrival time index entries (default 1024)
+ * @param no-index leaves the arrival time index out of the file
+ * @param text writes a plain text job file instead
+ * @param from is the arrival time of the first job written (default all of them)
+ */
+public class TraceConverter {
+    public static void main(String[] args) throws Exception {
+        int stride = 1024;
+        boolean index = true;
+        boolean text = false;
+        int from = Integer.MIN_VALUE;
+
+        int first = 0;
+        while (first < args.length && args[first].startsWith("--")) {
+            if (args[first].equals("--no-index")) {
+                index = false;
+                first++;
+            } else if (args[first].equals("--text")) {
+                text = true;
+                first++;
+            } else if (args[first].equals("--stride") && first + 1 < args.length) {
+                stride = Integer.parseInt(args[first + 1]);
+                first += 2;
+            } else if (args[first].equals("--from") && first + 1 < args.length) {
+                from = Integer.parseInt(args[first + 1]);
+                first += 2;
+            } else {
+                throw new Exception("Unknown option " + args[first]
+                        + ". Options are: --stride n, --no-index, --text, --from time");
+            }
+        }
+        if (args.length - first != 2 || stride < 1) {
+            throw new Exception("Illegal arguments. Input should be: [--stride n] [--no-index] [--text] [--from time] "
+                    + "input output");
+        }
+
+        long start = System.nanoTime();
+        String fname = args[first + 1];
+        int jobs = 0;
+        try (JobSource in = JobSource.open(args[first]);
+                TraceWriter out = text ? new TextTraceWriter(fname) : new BinaryTraceWriter(fname, stride, index)) {
+            in.seekArrival(from);
+            while (in.hasNext()) {
+                out.write(in.next());
+                jobs++;
+            }
+        }
+        System.out.printf("Wrote %d jobs to %s in %d ms%n", jobs, args[first + 1],
+                (System.nanoTime() - start) / 1000000);
+    }
+}
@@ -0,0 +1,199 @@
+package cpusim;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/*
+ * Writes the schedule of a run as a trace in the Chrome trace event format, which Perfetto (ui.perfetto.dev) and
+ * chrome://tracing open, to see which process was on each core when, and when each job was blocked. There is a
+ * process "CPU" with a track per core, holding a slice for each time a process ran on the core, from its dispatch to
+ * the end of its slice or its preemption, and a process "Jobs" with a track per job, holding a slice for each time it
+ * was blocked, from the end of its burst to its return from I/O (waiting in the device's queue and doing I/O). One
+ * time unit of the simulation is shown as a microsecond.
+ * Each slice is written as a complete event once it ends, straight through a fixed size buffer, so nothing is kept
+ * per slice and traces of any length can be written. Only the time each blocked job was blocked at is kept, until it
+ * unblocks, so what is kept is bounded by the jobs in the system at once, not the jobs in the run.
+ * The trace can be cut down to a range of job ids, and to a window of time, keeping the slices that overlap it.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param out Is the buffered file.
+ * param line Is reused to build each event.
+ * param first Is the first job traced.
+ * param last Is the last job traced.
+ * param from Is the start of the window traced.
+ * param to Is the end of the window traced.
+ * param blockedAt Is the time each traced job that is blocked was blocked at, by job id.
+ */
+public final class TraceExporter implements EventRecorder, AutoCloseable {
+    static final int CPU = 0;
+    static final int JOBS = 1;
+
+    final BufferedWriter out;
+    final StringBuilder line;
+    final int first;
+    final int last;
+    final int from;
+    final int to;
+    final IntMap blockedAt;
+
+    /*
+     * @param path Is the file to write, replaced if it exists.
+     *
+     * @param cores Is the number of cores.
+     *
+     * @param first Is the first job traced.
+     *
+     * @param last Is the last job traced.
+     *
+     * @param from Is the start of the window traced.
+     *
+     * @param to Is the end of the window traced.
+     */
+    public TraceExporter(String path, int cores, int first, int last, int from, int to) throws IOException {
+        out = new BufferedWriter(new FileWriter(path), 1 << 16);
+        line = new StringBuilder(160);
+        this.first = first;
+        this.last = last;
+        this.from = from;
+        this.to = to;
+        blockedAt = new IntMap();
+
+        out.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[\n");
+        name("process_name", CPU, 0, "CPU");
+        for (int c = 0; c < cores; c++) {
+            line.append(",\n");
+            name("thread_name", CPU, c, "core " + c);
+        }
+        line.append(",\n");
+        name("process_name", JOBS, 0, "Jobs");
+        write();
+    }
+
+    /*
+     * Makes the exporter for the command line options.
+     *
+     * @param path is the file to write
+     *
+     * @param cores is the number of cores
+     *
+     * @param jobs is the range of job ids to trace, first-last, or null for all
+     *
+     * @param window is the window of time to trace, from-to, or null for all
+     */
+    static TraceExporter open(String path, int cores, String jobs, String window) throws Exception {
+        int[] j = range(jobs, "--trace-jobs");
+        int[] w = range(window, "--trace-window");
+        return new TraceExporter(path, cores, j[0], j[1], w[0], w[1]);
+    }
+
+    /*
+     * @returns the two ends of a range, first-last or a single number, or every
+     * number from 0 if the range is null.
+     */
+    static int[] range(String value, String option) throws Exception {
+        if (value == null) {
+            return new int[] { 0, Integer.MAX_VALUE };
+        }
+        String[] ends = value.split("-", 2);
+        int lo = Integer.parseInt(ends[0]);
+        int hi = ends.length > 1 ? Integer.parseInt(ends[1]) : lo;
+        if (lo < 0 || hi < lo) {
+            throw new Exception("Illegal " + option + " " + value + ". Must be first-last, from 0 up.");
+        }
+        return new int[] { lo, hi };
+    }
+
+    public void record(int time, int kind, int flags, int core, int job, int value) {
+        if (job < first || job > last) {
+            return;
+        }
+        switch (kind) {
+            case EventLog.COMPLETE:
+                slice(CPU, core, time - value, value, job, (flags & EventLog.BURST_DONE) != 0 ? "burst done"
+                        : "slice over", 0);
+                break;
+            case EventLog.PREEMPT:
+                slice(CPU, core, time - value, value, job, "preempted", 0);
+                break;
+            case EventLog.BLOCK:
+                blockedAt.put(job, time);
+                break;
+            case EventLog.UNBLOCK:
+                // a run resumed from a checkpoint may not have seen the job block
+                int start = blockedAt.remove(job, -1);
+                if (start != -1) {
+                    slice(JOBS, job, start, time - start, job, null, value);
+                }
+                break;
+            case EventLog.EXIT:
+                // names the job's track, if the job was in the window
+                if (value <= to && time >= from) {
+                    line.append(",\n");
+                    name("thread_name", JOBS, job, "job " + job);
+                    write();
+                }
+                break;
+        }
+    }
+
+    /*
+     * Writes out the end of the trace and closes the file.
+     */
+    public void close() throws IOException {
+        out.write("\n]}\n");
+        out.close();
+    }
+
+    /*
+     * Writes a complete event for a slice, if it overlaps the window: a job's
+     * time on a core, or the time it was blocked. The name of the job is
+     * written straight into the event, so nothing is made per slice.
+     *
+     * @param end is how a slice on a core ended, null for a blocked slice
+     *
+     * @param io is the length of the I/O of a blocked slice
+     */
+    void slice(int pid, int tid, int start, int length, int job, String end, int io) {
+        if (start > to || start + length < from) {
+            return;
+        }
+        line.append(",\n{\"ph\":\"X\",\"pid\":").append(pid).append(",\"tid\":").append(tid).append(",\"ts\":")
+                .append(start).append(",\"dur\":").append(length).append(",\"name\":\"");
+        if (end != null) {
+            line.append("job ").append(job);
+        } else {
+            line.append("blocked");
+        }
+        line.append("\",\"args\":{\"job\":").append(job).append(",\"end\":\"");
+        if (end != null) {
+            line.append(end);
+        } else {
+            line.append("io ").append(io);
+        }
+        line.append("\"}}");
+        write();
+    }
+
+    /*
+     * Builds a metadata event naming a process or a track.
+     */
+    void name(String kind, int pid, int tid, String name) {
+        line.append("{\"ph\":\"M\",\"pid\":").append(pid).append(",\"tid\":").append(tid).append(",\"name\":\"")
+                .append(kind).append("\",\"args\":{\"name\":\"").append(name).append("\"}}");
+    }
+
+    /*
+     * Writes out the event built so far, and clears it for the next one.
+     */
+    void write() {
+        try {
+            out.append(line);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        line.setLength(0);
+    }
+}
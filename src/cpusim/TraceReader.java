@@ -0,0 +1,320 @@
+package cpusim;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/*
+ * Reads a job file one line at a time, as the simulation asks for jobs. Each line is a job: id arrival count
+ * bursts..., separated by spaces, optionally followed by key=value fields:
+ * io=a,b,... is the length of the I/O after each burst but the last
+ * dev=n is the I/O device all of the job's I/O goes to
+ * deadline=n is the time after its arrival the job is due by (after the start of each period, if periodic)
+ * period=n makes the job periodic, each burst being released one period after the one before and due by the end
+ * of its period
+ * The file is read through a fixed size byte buffer and the numbers are parsed straight from the bytes, so there are
+ * no Strings per line and only the job being handed out is held in memory, no matter how big the file is.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param buf Is the buffer of bytes read from the file, valid from pos up to limit.
+ * param tokens Is the numbers of the line being read.
+ * param values Is the values of the key=value field being read.
+ * param io Is the io field of the line being read, null if it has none.
+ * param device Is the dev field of the line being read, -1 if it has none.
+ * param deadline Is the deadline field of the line being read, 0 if it has none.
+ * param period Is the period field of the line being read, 0 if it has none.
+ * param lookahead Is the next job, once it has been read by peek.
+ * param taken Is the number of jobs handed out so far.
+ * param line Is the line number the reader is on, for error messages.
+ */
+public class TraceReader implements JobSource {
+    final String fname;
+    InputStream in;
+    byte[] buf;
+    int pos;
+    int limit;
+    int[] tokens;
+    int[] values;
+    StringBuilder key;
+    int[] io;
+    int device;
+    int deadline;
+    int period;
+    PCB lookahead;
+    int taken;
+    int line;
+
+    /*
+     * @param fname is the name of the job file
+     */
+    public TraceReader(String fname) throws IOException {
+        this.fname = fname;
+        in = Files.newInputStream(Paths.get(fname));
+        buf = new byte[1 << 16];
+        tokens = new int[64];
+        values = new int[64];
+        key = new StringBuilder();
+        line = 1;
+    }
+
+    public boolean hasNext() {
+        return peek() != null;
+    }
+
+    public PCB peek() {
+        if (lookahead == null && in != null) {
+            lookahead = readJob();
+        }
+        return lookahead;
+    }
+
+    public PCB next() {
+        PCB out = peek();
+        if (out == null) {
+            throw new NoSuchElementException("No more jobs in " + fname);
+        }
+        lookahead = null;
+        taken++;
+        return out;
+    }
+
+    /*
+     * Counts the jobs that have not been taken by skipping over the rest of the
+     * file, without parsing them.
+     */
+    public int total() {
+        int left = lookahead == null ? 0 : 1;
+        while (in != null) {
+            int b = skipBlank();
+            if (b == -1) {
+                break;
+            }
+            while (b != '\n' && b != -1) {
+                b = read();
+            }
+            left++;
+        }
+        return taken + left;
+    }
+
+    public void close() {
+        if (in != null) {
+            try {
+                in.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            in = null;
+        }
+    }
+
+    /*
+     * Parses the next line of the file into a job.
+     *
+     * @returns the job, or null at the end of the file.
+     */
+    PCB readJob() {
+        int b = skipBlank();
+        if (b == -1) {
+            return null;
+        }
+        int start = line;
+        io = null;
+        device = -1;
+        deadline = 0;
+        period = 0;
+
+        // read every number on the line, then any key=value fields
+        int n = 0;
+        boolean fields = false;
+        while (b != '\n' && b != -1) {
+            if (b == ' ' || b == '\t' || b == '\r') {
+                b = read();
+                continue;
+            }
+            if (b >= 'a' && b <= 'z') {
+                b = readField(b, start);
+                fields = true;
+                continue;
+            }
+            if (fields) {
+                throw new NumberFormatException("Line " + start + " of " + fname + " has numbers after its fields");
+            }
+
+            boolean negative = b == '-';
+            if (negative) {
+                b = read();
+            }
+            if (b < '0' || b > '9') {
+                throw new NumberFormatException(
+                        "Unexpected character '" + (char) b + "' on line " + start + " of " + fname);
+            }
+            long value = 0;
+            while (b >= '0' && b <= '9') {
+                value = value * 10 + (b - '0');
+                if (value > Integer.MAX_VALUE + 1L) {
+                    throw tooLarge(start);
+                }
+                b = read();
+            }
+            if (!negative && value > Integer.MAX_VALUE) {
+                throw tooLarge(start);
+            }
+
+            if (n == tokens.length) {
+                tokens = Arrays.copyOf(tokens, n * 2);
+            }
+            tokens[n++] = (int) (negative ? -value : value);
+        }
+
+        if (b == '\n') {
+            line++;
+        }
+        if (n < 3) {
+            throw new NumberFormatException("Line " + start + " of " + fname
+                    + " should be: id arrival count bursts...");
+        }
+        if (tokens[2] != n - 3) {
+            throw new NumberFormatException("Line " + start + " of " + fname + " has " + (n - 3)
+                    + " bursts but a count of " + tokens[2]);
+        }
+        PCB out = new PCB(tokens[0], tokens[1], tokens[2], Arrays.copyOfRange(tokens, 3, n));
+        if (io != null && io.length != out.bursts.length - 1) {
+            throw new NumberFormatException("Line " + start + " of " + fname + " has " + io.length
+                    + " I/O lengths for " + out.bursts.length + " bursts, should be one less");
+        }
+        out.io = io;
+        out.device = device;
+        out.deadline = deadline;
+        out.period = period;
+        return out;
+    }
+
+    /*
+     * Reads a key=value field, where the value is one or more numbers separated
+     * by commas, into the fields of the line being read.
+     *
+     * @param b is the first byte of the key
+     *
+     * @param start is the line number, for error messages
+     *
+     * @returns the byte after the field.
+     */
+    int readField(int b, int start) {
+        key.setLength(0);
+        while (b >= 'a' && b <= 'z') {
+            key.append((char) b);
+            b = read();
+        }
+        if (b != '=') {
+            throw badField(start);
+        }
+        int k = 0;
+        do {
+            b = read();
+            if (b < '0' || b > '9') {
+                throw badField(start);
+            }
+            long value = 0;
+            while (b >= '0' && b <= '9') {
+                value = value * 10 + (b - '0');
+                if (value > Integer.MAX_VALUE) {
+                    throw tooLarge(start);
+                }
+                b = read();
+            }
+            if (k == values.length) {
+                values = Arrays.copyOf(values, k * 2);
+            }
+            values[k++] = (int) value;
+        } while (b == ',');
+
+        // compared in place, so reading a field makes no Strings
+        if ("io".contentEquals(key)) {
+            io = Arrays.copyOf(values, k);
+        } else if ("dev".contentEquals(key)) {
+            device = single(k, 0, start);
+        } else if ("deadline".contentEquals(key)) {
+            deadline = single(k, 1, start);
+        } else if ("period".contentEquals(key)) {
+            period = single(k, 1, start);
+        } else {
+            throw new NumberFormatException("Unknown field " + key + " on line " + start + " of " + fname
+                    + ". Fields are io, dev, deadline, period.");
+        }
+        return b;
+    }
+
+    /*
+     * @returns the value of a field that takes one number.
+     *
+     * @param k is the number of values the field was given
+     *
+     * @param min is the smallest value allowed
+     *
+     * @param start is the line number, for error messages
+     */
+    int single(int k, int min, int start) {
+        if (k != 1 || values[0] < min) {
+            throw new NumberFormatException("Field " + key + " on line " + start + " of " + fname
+                    + " takes one number, at least " + min);
+        }
+        return values[0];
+    }
+
+    NumberFormatException tooLarge(int start) {
+        return new NumberFormatException("Line " + start + " of " + fname + " has a number too large for an int");
+    }
+
+    NumberFormatException badField(int start) {
+        return new NumberFormatException("Field " + key + " on line " + start + " of " + fname + " should be " + key
+                + "=number[,number...]");
+    }
+
+    /*
+     * Skips spaces and empty lines up to the start of the next job.
+     *
+     * @returns the first byte of the job, or -1 at the end of the file.
+     */
+    int skipBlank() {
+        int b = read();
+        while (b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+            if (b == '\n') {
+                line++;
+            }
+            b = read();
+        }
+        if (b == -1) {
+            close();
+        }
+        return b;
+    }
+
+    /*
+     * @returns the next byte of the file, or -1 at the end of it.
+     */
+    int read() {
+        if (pos == limit) {
+            if (in == null) {
+                return -1;
+            }
+            try {
+                limit = in.read(buf, 0, buf.length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            pos = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buf[pos++] & 0xFF;
+    }
+}
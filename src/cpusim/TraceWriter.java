@@ -0,0 +1,16 @@
+package cpusim;
+
+import java.io.IOException;
+
+/*
+ * Writes jobs to a job file, in the order they are given. Self explanitory methods have no description.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public interface TraceWriter extends AutoCloseable {
+
+    void write(PCB p) throws IOException;
+
+    void close() throws IOException;
+}
@@ -0,0 +1,218 @@
+package cpusim;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/*
+ * Parsed form of a job file that never changes once built, so one copy can be shared by any number of simulations
+ * running at the same time. Jobs are kept in file order as parallel arrays, with all their bursts in one flat array.
+ * Each simulation gets its own PCBs with their own copy of the bursts, since RR uses up the bursts as it runs.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ *
+ * param jobIDs Is the ID of each job.
+ * param arrivals Is the arrival time of each job.
+ * param burstStart Is where each job's bursts start in bursts; job i's run up to burstStart[i + 1].
+ * param bursts Is the bursts of every job, one after the other.
+ * param io Is the length of the I/O after each burst, laid out as bursts, -1 where the job file gives none; null if
+ * it gives none at all.
+ * param devices Is the I/O device of each job, -1 where the job file gives none; null if it gives none at all.
+ * param deadlines Is the deadline of each job, 0 where the job file gives none; null if it gives none at all.
+ * param periods Is the period of each job, 0 where the job file gives none; null if it gives none at all.
+ * param longest Is the most bursts any job has.
+ */
+public final class Workload {
+    final int[] jobIDs;
+    final int[] arrivals;
+    final int[] burstStart;
+    final int[] bursts;
+    final int[] io;
+    final int[] devices;
+    final int[] deadlines;
+    final int[] periods;
+    final int longest;
+
+    /*
+     * @param jobs Is where the jobs are read from, all the way to the end.
+     */
+    public Workload(JobSource jobs) {
+        int[] ids = new int[1024];
+        int[] arr = new int[1024];
+        int[] start = new int[1025];
+        int[] all = new int[4096];
+        int[] allIO = null;
+        int[] dev = null;
+        int[] due = null;
+        int[] per = null;
+
+        int n = 0;
+        while (jobs.hasNext()) {
+            PCB p = jobs.next();
+            if (n + 1 == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+                arr = Arrays.copyOf(arr, arr.length * 2);
+                start = Arrays.copyOf(start, start.length * 2);
+            }
+            while (start[n] + p.bursts.length > all.length) {
+                all = Arrays.copyOf(all, all.length * 2);
+            }
+            ids[n] = p.jobID;
+            arr[n] = p.arr;
+            System.arraycopy(p.bursts, 0, all, start[n], p.bursts.length);
+
+            // the I/O arrays are only made once a job has something to put in them
+            if (p.io != null && allIO == null) {
+                allIO = new int[all.length];
+                Arrays.fill(allIO, -1);
+            }
+            if (allIO != null) {
+                if (allIO.length < all.length) {
+                    int old = allIO.length;
+                    allIO = Arrays.copyOf(allIO, all.length);
+                    Arrays.fill(allIO, old, allIO.length, -1);
+                }
+                if (p.io != null) {
+                    System.arraycopy(p.io, 0, allIO, start[n], p.io.length);
+                }
+            }
+            dev = perJob(dev, ids.length, n, p.device, -1);
+            due = perJob(due, ids.length, n, p.deadline, 0);
+            per = perJob(per, ids.length, n, p.period, 0);
+            start[n + 1] = start[n] + p.bursts.length;
+            n++;
+        }
+
+        jobIDs = Arrays.copyOf(ids, n);
+        arrivals = Arrays.copyOf(arr, n);
+        burstStart = Arrays.copyOf(start, n + 1);
+        bursts = Arrays.copyOf(all, start[n]);
+        io = allIO == null ? null : Arrays.copyOf(allIO, start[n]);
+        devices = dev == null ? null : Arrays.copyOf(dev, n);
+        deadlines = due == null ? null : Arrays.copyOf(due, n);
+        periods = per == null ? null : Arrays.copyOf(per, n);
+
+        int most = 0;
+        for (int i = 0; i < n; i++) {
+            most = Math.max(most, start[i + 1] - start[i]);
+        }
+        longest = most;
+    }
+
+    /*
+     * Stores a field of one job that most job files leave out, making the array
+     * of that field only once a job has it.
+     *
+     * @param field is the array of the field, null if no job has had it yet
+     *
+     * @param length is how long the array should be
+     *
+     * @param n is the job
+     *
+     * @param value is the job's value of the field
+     *
+     * @param none is the value meaning the job has no such field
+     *
+     * @returns the array of the field, still null if no job has had it.
+     */
+    static int[] perJob(int[] field, int length, int n, int value, int none) {
+        if (field == null) {
+            if (value == none) {
+                return null;
+            }
+            field = new int[length];
+            Arrays.fill(field, none);
+        } else if (field.length < length) {
+            int old = field.length;
+            field = Arrays.copyOf(field, length);
+            Arrays.fill(field, old, length, none);
+        }
+        field[n] = value;
+        return field;
+    }
+
+    public int size() {
+        return jobIDs.length;
+    }
+
+    /*
+     * @returns a fresh source of jobs for one simulation, in the same order as
+     * the file. PCBs are only built as the simulation takes them, and the PCBs
+     * of jobs that are done are built into later jobs with as many bursts,
+     * keeping their arrays, so a run only makes about as many PCBs as it has
+     * jobs in the system at once.
+     */
+    public JobSource source() {
+        return new JobSource() {
+            int next = 0;
+            PCB lookahead;
+
+            // the spare PCBs by their number of bursts, and how many there are of each
+            PCB[][] spare = new PCB[longest + 1][];
+            int[] spares = new int[longest + 1];
+
+            public boolean hasNext() {
+                return next < jobIDs.length;
+            }
+
+            public PCB peek() {
+                if (lookahead == null && next < jobIDs.length) {
+                    int from = burstStart[next];
+                    int n = burstStart[next + 1] - from;
+                    PCB p;
+                    int[] i = null;
+                    if (spares[n] > 0) {
+                        p = spare[n][--spares[n]];
+                        i = p.io;
+                        System.arraycopy(bursts, from, p.bursts, 0, n);
+                        p.reset(jobIDs[next], arrivals[next], n, p.bursts);
+                    } else {
+                        p = new PCB(jobIDs[next], arrivals[next], n, Arrays.copyOfRange(bursts, from, from + n));
+                    }
+                    if (io != null && io[from] >= 0) {
+                        p.io = i != null ? i : new int[n - 1];
+                        System.arraycopy(io, from, p.io, 0, n - 1);
+                    }
+                    if (devices != null) {
+                        p.device = devices[next];
+                    }
+                    if (deadlines != null) {
+                        p.deadline = deadlines[next];
+                    }
+                    if (periods != null) {
+                        p.period = periods[next];
+                    }
+                    lookahead = p;
+                }
+                return lookahead;
+            }
+
+            public PCB next() {
+                PCB out = peek();
+                if (out == null) {
+                    throw new NoSuchElementException();
+                }
+                lookahead = null;
+                next++;
+                return out;
+            }
+
+            public int total() {
+                return jobIDs.length;
+            }
+
+            public void recycle(PCB p) {
+                int n = p.bursts.length;
+                if (n > longest) {
+                    return;
+                }
+                if (spare[n] == null) {
+                    spare[n] = new PCB[4];
+                } else if (spares[n] == spare[n].length) {
+                    spare[n] = Arrays.copyOf(spare[n], spares[n] * 2);
+                }
+                spare[n][spares[n]++] = p;
+            }
+        };
+    }
+}
@@ -0,0 +1,105 @@
+package cpusim;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/*
+ * Checks that a batch gives each file the report a run of it on its own would, however the files are shared out
+ * between the workers and their builders, that a file that cannot be run only fails its own row, and how the files
+ * are found.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class BatchTest {
+
+    /*
+     * Writes a job file of its own size and seed, so no two are alike.
+     */
+    static void write(Path file, int jobs, long seed) throws Exception {
+        SplitMix64 random = new SplitMix64(seed);
+        StringBuilder out = new StringBuilder();
+        for (int j = 0; j < jobs; j++) {
+            int count = 1 + (int) ((random.nextLong() >>> 1) % 5);
+            out.append(j).append(' ').append(j * 5).append(' ').append(count);
+            for (int b = 0; b < count; b++) {
+                out.append(' ').append(1 + (int) ((random.nextLong() >>> 1) % 40));
+            }
+            out.append('\n');
+        }
+        Files.writeString(file, out);
+    }
+
+    @Test
+    public void rowsMatchRunsOnTheirOwn(@TempDir Path dir) throws Exception {
+        for (int f = 0; f < 9; f++) {
+            write(dir.resolve("host" + f + ".txt"), 100 + 97 * f, f);
+        }
+        Files.writeString(dir.resolve("host5.txt"), "0 0 two 5\n");
+
+        HashMap<String, String> params = Main.handleArgs(new String[] { "--batch", dir.toString(), "--cores", "2",
+                "RR", "10" });
+        Path[] files = Batch.files(params.get("batch"));
+        Batch batch = new Batch(files, params, 3);
+        ExecutorService workers = Executors.newFixedThreadPool(3);
+        ExecutorService readers = Batch.readers(6);
+        for (int i = 0; i < files.length; i++) {
+            int file = i;
+            readers.execute(() -> batch.run(file, workers));
+        }
+        readers.shutdown();
+        assertTrue(readers.awaitTermination(1, TimeUnit.MINUTES));
+        workers.shutdown();
+
+        assertEquals(9, files.length);
+        for (int i = 0; i < files.length; i++) {
+            String name = files[i].getFileName().toString();
+            if (name.equals("host5.txt")) {
+                assertNull(batch.reports[i]);
+                assertTrue(batch.errors[i] != null, name);
+                continue;
+            }
+            assertNull(batch.errors[i], name);
+            Report alone = new SimulationBuilder().file(files[i].toString()).policy("RR").quantum(10).cores(2)
+                    .output("quiet").run();
+            Report r = batch.reports[i];
+            assertEquals(alone.getJobs(), r.getJobs(), name);
+            assertEquals(alone.getFinalTime(), r.getFinalTime(), name);
+            assertEquals(alone.totalWait, r.totalWait, name);
+            assertEquals(alone.totalTurnaround, r.totalTurnaround, name);
+            assertArrayEquals(alone.getCoreBusy(), r.getCoreBusy(), name);
+        }
+
+        // the batch as a whole fails once every row is printed
+        Exception e = assertThrows(Exception.class, () -> Batch.run(params));
+        assertTrue(e.getMessage().contains("1 of 9"), e.getMessage());
+    }
+
+    @Test
+    public void filesAreFoundInNameOrder(@TempDir Path dir) throws Exception {
+        for (String name : new String[] { "c.txt", "a.txt", "b.log", "d.txt" }) {
+            write(dir.resolve(name), 10, 1);
+        }
+        Files.createDirectory(dir.resolve("e.txt"));
+        assertArrayEquals(new Path[] { dir.resolve("a.txt"), dir.resolve("c.txt"), dir.resolve("d.txt") },
+                Batch.files(dir.resolve("*.txt").toString()));
+        assertEquals(4, Batch.files(dir.toString()).length);
+        assertThrows(Exception.class, () -> Batch.files(dir.resolve("*.csv").toString()));
+        assertThrows(Exception.class, () -> Batch.files(dir.resolve("none/*.txt").toString()));
+        assertThrows(Exception.class, () -> Main.handleArgs(new String[] { "--batch", dir.toString(), "--output",
+                "quiet", "FCFS" }));
+    }
+}
@@ -0,0 +1,160 @@
+package cpusim;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/*
+ * Checks that a job file converted to binary and back to text holds the same jobs, whatever the index stride, and
+ * that seeking by arrival time with the index finds the same jobs as reading through them.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class BinaryTraceTest {
+
+    static final int JOBS = 300;
+    static final int[] STRIDES = { 1, 2, 7, 64, 1024 };
+
+    @TempDir
+    Path dir;
+
+    /*
+     * Writes jobs with ids out of order, arrivals that sometimes repeat, long
+     * bursts, and every mix of the I/O, device, deadline and period fields.
+     */
+    Path write() throws Exception {
+        SplitMix64 random = new SplitMix64(5);
+        StringBuilder out = new StringBuilder();
+        int arr = 0;
+        for (int j = 0; j < JOBS; j++) {
+            arr += (int) ((random.nextLong() >>> 1) % 4) * 100;
+            int count = 1 + (int) ((random.nextLong() >>> 1) % 5);
+            out.append(j * 7 % JOBS).append(' ').append(arr).append(' ').append(count);
+            for (int b = 0; b < count; b++) {
+                out.append(' ').append(1 + (int) ((random.nextLong() >>> 1) % (j % 10 == 0 ? 1000000 : 100)));
+            }
+            if ((j & 1) != 0 && count > 1) {
+                out.append(" io=");
+                for (int b = 0; b < count - 1; b++) {
+                    out.append(b > 0 ? "," : "").append(1 + (int) ((random.nextLong() >>> 1) % 50));
+                }
+            }
+            if ((j & 2) != 0) {
+                out.append(" dev=").append(j % 3);
+            }
+            if ((j & 4) != 0) {
+                out.append(" deadline=").append(arr + 500);
+            }
+            if ((j & 8) != 0) {
+                out.append(" period=").append(200);
+            }
+            out.append('\n');
+        }
+        Path file = dir.resolve("jobs.txt");
+        Files.writeString(file, out);
+        return file;
+    }
+
+    String convert(String... args) throws Exception {
+        TraceConverter.main(args);
+        return args[args.length - 1];
+    }
+
+    /*
+     * Asserts that two sources give the same jobs, field by field.
+     */
+    static void assertSameJobs(JobSource expected, JobSource actual) {
+        while (expected.hasNext()) {
+            PCB e = expected.next();
+            PCB a = actual.next();
+            String job = "job " + e.jobID;
+            assertEquals(e.jobID, a.jobID);
+            assertEquals(e.arr, a.arr, job);
+            assertArrayEquals(e.bursts, a.bursts, job);
+            assertArrayEquals(e.io, a.io, job);
+            assertEquals(e.device, a.device, job);
+            assertEquals(e.deadline, a.deadline, job);
+            assertEquals(e.period, a.period, job);
+        }
+        assertFalse(actual.hasNext());
+    }
+
+    @Test
+    public void textToBinaryToTextKeepsTheJobs() throws Exception {
+        String text = write().toString();
+        for (int stride : STRIDES) {
+            String bin = convert("--stride", "" + stride, text, dir.resolve("jobs" + stride + ".bin").toString());
+            String back = convert("--text", bin, dir.resolve("back" + stride + ".txt").toString());
+            try (JobSource original = JobSource.open(text); JobSource binary = JobSource.open(bin)) {
+                assertEquals(BinaryTraceReader.class, binary.getClass());
+                assertSameJobs(original, binary);
+            }
+            try (JobSource original = JobSource.open(text); JobSource again = JobSource.open(back)) {
+                assertEquals(TraceReader.class, again.getClass());
+                assertSameJobs(original, again);
+            }
+        }
+    }
+
+    /*
+     * Seeking with the index lands on the same job as reading through the
+     * jobs, for times before, between, on and after the arrivals, and seeking
+     * again further on carries on from there.
+     */
+    @Test
+    public void seekArrivalFindsTheFirstJobFromATime() throws Exception {
+        String text = write().toString();
+        for (int stride : STRIDES) {
+            String bin = convert("--stride", "" + stride, text, dir.resolve("jobs" + stride + ".bin").toString());
+            for (int time = -100; time < JOBS * 200; time += 150) {
+                try (JobSource expected = JobSource.open(text); BinaryTraceReader actual = new BinaryTraceReader(bin)) {
+                    expected.seekArrival(time);
+                    actual.seekArrival(time);
+                    if (time > 2000) {
+                        expected.seekArrival(time + 2000);
+                        actual.seekArrival(time + 2000);
+                    }
+                    assertSameJobs(expected, actual);
+                }
+            }
+        }
+    }
+
+    /*
+     * The converter writes the jobs from a time on, from a binary file with or
+     * without an index.
+     */
+    @Test
+    public void converterStartsFromATime() throws Exception {
+        String text = write().toString();
+        String indexed = convert("--stride", "16", text, dir.resolve("indexed.bin").toString());
+        String plain = convert("--no-index", text, dir.resolve("plain.bin").toString());
+        for (String bin : new String[] { indexed, plain }) {
+            String part = convert("--from", "20000", bin, dir.resolve("part.bin").toString());
+            try (JobSource expected = JobSource.open(text); JobSource actual = JobSource.open(part)) {
+                expected.seekArrival(20000);
+                assertSameJobs(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void closeLetsGoOfTheFile() throws Exception {
+        String bin = convert(write().toString(), dir.resolve("jobs.bin").toString());
+        BinaryTraceReader reader = new BinaryTraceReader(bin);
+        reader.next();
+        reader.close();
+        assertNull(reader.channel);
+        assertFalse(reader.hasNext());
+        assertNull(reader.peek());
+        reader.close();
+    }
+}
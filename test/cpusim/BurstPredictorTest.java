@@ -0,0 +1,106 @@
+package cpusim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/*
+ * Checks that each estimator of the burst predictor guesses what its formula gives, that every burst of a run is
+ * guessed once, and that SJF and SRTF on guesses still finish every job.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class BurstPredictorTest {
+
+    static final int[] BURSTS = { 8, 20, 4, 4, 30, 1, 12 };
+
+    /*
+     * Runs every burst through the predictor, checking each guess against the
+     * one worked out here, and the errors that went into the report.
+     */
+    static void check(String settings, double alpha) throws Exception {
+        BurstPredictor predictor = BurstPredictor.parse("SJF", settings);
+        PCB p = new PCB(0, 0, BURSTS.length, BURSTS.clone());
+        Report report = new Report("SJF", 1);
+        double expected = 7;
+        long error = 0;
+        for (int b = 0; b < BURSTS.length; b++) {
+            assertEquals(expected, predictor.guess(p), 1e-4, settings + " burst " + b);
+            assertEquals(Math.max(0, Math.round(predictor.guess(p)) - 3), predictor.left(p, 3));
+            error += Math.round(predictor.guess(p)) - BURSTS[b];
+            p.burstRan = BURSTS[b];
+            predictor.update(p, report);
+            p.curBurst++;
+            if (settings.contains("last")) {
+                expected = BURSTS[b];
+            } else if (settings.contains("mean")) {
+                double sum = 0;
+                for (int i = 0; i <= b; i++) {
+                    sum += BURSTS[i];
+                }
+                expected = sum / (b + 1);
+            } else {
+                expected = alpha * BURSTS[b] + (1 - alpha) * expected;
+            }
+        }
+        assertEquals(BURSTS.length, report.predictions);
+        assertEquals(error, report.predictionError);
+    }
+
+    @Test
+    public void estimatorsFollowTheirFormulas() throws Exception {
+        check("predict=exp,initial=7", 0.5);
+        check("predict=exp,alpha=0.25,initial=7", 0.25);
+        check("predict=exp,alpha=1,initial=7", 1);
+        check("predict=last,initial=7", 0);
+        check("predict=mean,initial=7", 0);
+    }
+
+    /*
+     * With every burst of a job the same length, predict=last guesses all but
+     * the first exactly, so the only errors are those of the first guesses.
+     */
+    @Test
+    public void everyBurstIsGuessedOnce(@TempDir Path dir) throws Exception {
+        SplitMix64 random = new SplitMix64(9);
+        StringBuilder out = new StringBuilder();
+        int bursts = 0;
+        long firstErrors = 0;
+        for (int j = 0; j < 200; j++) {
+            int count = 1 + (int) ((random.nextLong() >>> 1) % 6);
+            int burst = 1 + (int) ((random.nextLong() >>> 1) % 50);
+            out.append(j).append(' ').append(j * 4).append(' ').append(count);
+            for (int b = 0; b < count; b++) {
+                out.append(' ').append(burst);
+            }
+            out.append('\n');
+            bursts += count;
+            firstErrors += Math.abs(10 - burst);
+        }
+        Path file = dir.resolve("same.txt");
+        Files.writeString(file, out);
+
+        for (String algorithm : new String[] { "SJF:predict=last", "SRTF:predict=last" }) {
+            Report report = new SimulationBuilder().file(file.toString()).policy(algorithm).output("quiet").run();
+            assertEquals(200, report.getJobs(), algorithm);
+            assertEquals(bursts, report.predictions, algorithm);
+            assertEquals(firstErrors, report.predictionAbsError, algorithm);
+        }
+    }
+
+    @Test
+    public void badSettingsAreRefused() {
+        for (String settings : new String[] { "alpha=0.5", "predict=guess", "predict=exp,alpha=2", "predict=exp,alpha",
+                "predict=last,initial=-1", "predict=exp,beta=1" }) {
+            Exception e = assertThrows(Exception.class, () -> BurstPredictor.parse("SRTF", settings), settings);
+            assertTrue(e.getMessage().startsWith("Illegal SRTF"), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package cpusim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/*
+ * Checks that a run resumed from a checkpoint ends as the run that saved it did, for every policy, and that a
+ * checkpoint that cannot be written stops the run with its files closed.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class CheckpointTest {
+
+    static final String JOBS = "gen:jobs=2000,seed=1";
+
+    /*
+     * The last checkpoint of a run, taken with jobs on every queue, resumes to
+     * the same totals the run itself reached.
+     */
+    @Test
+    public void resumedRunsMatch(@TempDir Path dir) throws Exception {
+        String ck = dir.resolve("run.ck").toString();
+        for (String algorithm : new String[] { "FCFS", "SJF", "SJF:predict=exp", "RR", "SRTF", "MLFQ:boost=300", "CFS",
+                "EDF", "RM" }) {
+            for (int cores : new int[] { 1, 2 }) {
+                SimulationBuilder builder = new SimulationBuilder().file(JOBS).policy(algorithm).quantum(10)
+                        .cores(cores).io(2, "burst", "exp:25").output("quiet");
+                Report full = builder.checkpoint(ck, 3000, "").run();
+                Report resumed = builder.checkpoint(null, 3000, "").resume(ck, "").run();
+                String run = algorithm + " on " + cores + " cores";
+                assertEquals(full.finalTime, resumed.finalTime, run);
+                assertEquals(full.jobsDone, resumed.jobsDone, run);
+                assertEquals(full.totalWait, resumed.totalWait, run);
+                assertEquals(full.totalTurnaround, resumed.totalTurnaround, run);
+                assertEquals(full.totalShots, resumed.totalShots, run);
+                assertEquals(full.predictions, resumed.predictions, run);
+                assertEquals(full.getWait().valueAt(99), resumed.getWait().valueAt(99), run);
+            }
+        }
+    }
+
+    /*
+     * A checkpoint that cannot be written stops the run at a later checkpoint,
+     * rather than when the run is done, and the reports written before then are
+     * still flushed to their file.
+     */
+    @Test
+    public void failedWriteStopsRun(@TempDir Path dir) throws Exception {
+        Path csv = dir.resolve("jobs.csv");
+        SimulationBuilder builder = new SimulationBuilder().file(JOBS).policy("FCFS").output("csv:" + csv)
+                .checkpoint("no/such/directory/run.ck", 100, "");
+        RuntimeException e = assertThrows(RuntimeException.class, builder::run);
+        assertTrue(e.getMessage().contains("could not be written"), e.getMessage());
+        assertTrue(Files.size(csv) > 0, "the sink was not closed");
+    }
+
+    /*
+     * @returns a checkpoint written in memory, read back past its header.
+     */
+    static Checkpoint reopen(Checkpoint out) throws Exception {
+        Checkpoint in = new Checkpoint(out.toBytes());
+        for (int i = 0; i < 4; i++) {
+            in.readByte();
+        }
+        assertEquals(Checkpoint.VERSION, in.readInt());
+        in.readString();
+        return in;
+    }
+}
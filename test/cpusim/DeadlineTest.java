@@ -0,0 +1,135 @@
+package cpusim;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/*
+ * Checks that periodic jobs run one burst per period, and that EDF and RM turn away the jobs their bounds cannot
+ * take.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class DeadlineTest {
+
+    static final int JOBS = 40;
+
+    // the arrival and period of each job written
+    int[] arrival = new int[JOBS];
+    int[] period = new int[JOBS];
+
+    /*
+     * Writes periodic jobs whose I/O is short next to their periods, so most
+     * bursts would be ready early.
+     */
+    Path write(Path dir) throws Exception {
+        SplitMix64 random = new SplitMix64(3);
+        StringBuilder out = new StringBuilder();
+        for (int j = 0; j < JOBS; j++) {
+            arrival[j] = j * 7;
+            period[j] = 50 << (int) (random.nextLong() & 1);
+            int count = 2 + (int) (random.nextLong() & 3);
+            out.append(j).append(' ').append(arrival[j]).append(' ').append(count);
+            for (int b = 0; b < count; b++) {
+                out.append(' ').append(1 + (int) ((random.nextLong() >>> 1) % (period[j] / 5)));
+            }
+            out.append(" io=");
+            for (int b = 0; b < count - 1; b++) {
+                out.append(b > 0 ? "," : "").append(1 + (int) ((random.nextLong() >>> 1) % 10));
+            }
+            out.append(" period=").append(period[j]).append('\n');
+        }
+        Path file = dir.resolve("periodic.txt");
+        Files.writeString(file, out);
+        return file;
+    }
+
+    /*
+     * No burst of a periodic job is dispatched before the start of its period,
+     * whatever the policy.
+     */
+    @Test
+    public void burstsWaitForTheirPeriod(@TempDir Path dir) throws Exception {
+        String file = write(dir).toString();
+        for (String algorithm : new String[] { "FCFS", "RR", "EDF", "RM" }) {
+            for (int cores : new int[] { 1, 2 }) {
+                // the bursts each job has finished so far
+                HashMap<Integer, Integer> done = new HashMap<>();
+                Report report = TestRuns.run(algorithm, file, cores, (time, kind, flags, core, job, value) -> {
+                    int burst = done.getOrDefault(job, 0);
+                    if (kind == EventLog.DISPATCH) {
+                        int release = arrival[job] + burst * period[job];
+                        assertTrue(time >= release, algorithm + " ran burst " + burst + " of job " + job + " at "
+                                + time + ", before its release at " + release);
+                    } else if (kind == EventLog.COMPLETE && (flags & EventLog.BURST_DONE) != 0) {
+                        done.put(job, burst + 1);
+                    }
+                });
+                assertEquals(JOBS, report.jobsDone + report.rejected, algorithm + " on " + cores + " cores");
+            }
+        }
+    }
+
+    /*
+     * EDF and RM only admit jobs while their bounds hold, so on one core none of
+     * the jobs they run misses a deadline; the others admit every job.
+     */
+    @Test
+    public void admissionRefusesOverload(@TempDir Path dir) throws Exception {
+        SimulationBuilder builder = new SimulationBuilder().file(write(dir).toString());
+        for (String algorithm : new String[] { "EDF", "RM" }) {
+            Report report = builder.policy(algorithm).run();
+            assertTrue(report.rejected > 0, algorithm);
+            assertEquals(0, report.missed, algorithm);
+            assertEquals(JOBS - report.rejected, report.getJobs(), algorithm);
+            assertEquals(JOBS - report.rejected, report.jobsDone, algorithm);
+        }
+        Report fcfs = builder.policy("FCFS").run();
+        assertEquals(0, fcfs.rejected);
+        assertEquals(JOBS, fcfs.jobsDone);
+    }
+
+    /*
+     * Processes without a deadline come out of an EDF queue in the order they
+     * were added, as do ones due at the same time, also after a checkpoint.
+     */
+    @Test
+    public void tiesComeOutInOrder() throws Exception {
+        DeadlineReadyQueue queue = new DeadlineReadyQueue(false);
+        for (int j = 0; j < 6; j++) {
+            queue.addProcess(new PCB(j, 0, 1, new int[] { 5 }));
+        }
+        assertEquals(0, queue.getNext().jobID);
+        queue.addProcess(new PCB(6, 0, 1, new int[] { 5 }));
+        queue.addProcess(new PCB(7, 0, 1, new int[] { 5 }));
+
+        // two due at 40 go before all of them, the earlier added first
+        PCB due = new PCB(8, 0, 1, new int[] { 5 });
+        due.deadline = 40;
+        PCB sameDue = new PCB(9, 20, 1, new int[] { 5 });
+        sameDue.deadline = 20;
+        queue.addProcess(due);
+        queue.addProcess(sameDue);
+
+        Checkpoint out = new Checkpoint("ties");
+        queue.save(out);
+        DeadlineReadyQueue loaded = new DeadlineReadyQueue(false);
+        loaded.load(CheckpointTest.reopen(out));
+
+        for (DeadlineReadyQueue q : new DeadlineReadyQueue[] { queue, loaded }) {
+            int[] order = new int[q.getSize()];
+            for (int k = 0; k < order.length; k++) {
+                order[k] = q.getNext().jobID;
+            }
+            assertArrayEquals(new int[] { 8, 9, 1, 2, 3, 4, 5, 6, 7 }, order);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package cpusim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/*
+ * Checks that the report rebuilt from an event log matches the run that wrote it, and that the replay only keeps the
+ * jobs still in the system.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class EventReplayTest {
+
+    @Test
+    public void rebuildsTheReport(@TempDir Path dir) throws Exception {
+        for (String algorithm : new String[] { "RR", "SRTF" }) {
+            String log = dir.resolve(algorithm + ".log").toString();
+            Report run = new SimulationBuilder().file("gen:jobs=5000,seed=2").policy(algorithm).quantum(10)
+                    .cores(2).eventLog(log).run();
+
+            EventReplay replay = new EventReplay();
+            replay.report = new Report("", 0);
+            replay.read(log);
+            Report rebuilt = replay.finish();
+            assertEquals(run.jobsDone, rebuilt.jobsDone, algorithm);
+            assertEquals(run.finalTime, rebuilt.finalTime, algorithm);
+            assertEquals(run.totalProc, rebuilt.totalProc, algorithm);
+            assertEquals(run.totalWait, rebuilt.totalWait, algorithm);
+            assertEquals(run.totalTurnaround, rebuilt.totalTurnaround, algorithm);
+            assertEquals(run.totalShots, rebuilt.totalShots, algorithm);
+            assertEquals(run.migrations, rebuilt.migrations, algorithm);
+            assertEquals(run.preemptions, rebuilt.preemptions, algorithm);
+
+            // every job exited, so none is left, and there were never as many rows as jobs
+            assertEquals(0, replay.slots.getSize(), algorithm);
+            assertTrue(replay.rows < 5000, algorithm + " kept " + replay.rows + " rows");
+        }
+    }
+
+    /*
+     * Job ids are kept by IntMap, so any id works, a negative or a very large
+     * one included, without growing anything to the id.
+     */
+    @Test
+    public void anyJobIdWorks() {
+        EventReplay replay = new EventReplay();
+        replay.report = new Report("", 0);
+        for (int job : new int[] { -7, Integer.MAX_VALUE, 3 }) {
+            replay.record(10, job, EventLog.DISPATCH, 0, 0, 5);
+            replay.record(15, job, EventLog.COMPLETE, EventLog.BURST_DONE, 0, 5);
+            replay.record(15, job, EventLog.EXIT, 0, 0, 4);
+        }
+        assertEquals(3, replay.report.jobsDone);
+        assertEquals(33, replay.report.totalTurnaround);
+        assertEquals(0, replay.slots.getSize());
+        assertEquals(1, replay.rows);
+        assertEquals(64, replay.pc.length);
+    }
+}
@@ -0,0 +1,104 @@
+package cpusim;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * Checks that the generator gives the same jobs for the same spec and seed, different ones for another seed, and
+ * jobs that follow the distributions asked for.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class GeneratorTest {
+
+    static final String[] SPECS = { "gen:jobs=3000,seed=7", "gen:jobs=3000,seed=7,arrival=bursty:2:50:2000",
+            "gen:jobs=3000,seed=7,burst=lognormal:3:1,cpu=0.8", "gen:jobs=3000,seed=7,burst=bimodal:5:200:0.1" };
+
+    /*
+     * @returns the arrival and every burst of each job, one after the other.
+     */
+    static int[] draw(String spec) throws Exception {
+        Generator generator = new Generator(spec);
+        int[] out = new int[0];
+        int n = 0;
+        while (generator.hasNext()) {
+            PCB p = generator.next();
+            if (n + 2 + p.bursts.length > out.length) {
+                out = Arrays.copyOf(out, Math.max(1024, 2 * (n + 2 + p.bursts.length)));
+            }
+            out[n++] = p.arr;
+            out[n++] = p.bursts.length;
+            for (int b : p.bursts) {
+                out[n++] = b;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    @Test
+    public void sameSeedSameJobs() throws Exception {
+        for (String spec : SPECS) {
+            assertArrayEquals(draw(spec), draw(spec), spec);
+            assertFalse(Arrays.equals(draw(spec), draw(spec.replace("seed=7", "seed=8"))), spec);
+        }
+    }
+
+    @Test
+    public void jobsFollowTheSpec() throws Exception {
+        for (String spec : SPECS) {
+            Generator generator = new Generator(spec);
+            assertEquals(3000, generator.total());
+            int jobs = 0;
+            int last = 0;
+            int cpuBound = 0;
+            while (generator.hasNext()) {
+                assertSame(generator.peek(), generator.peek());
+                PCB p = generator.next();
+                assertEquals(jobs, p.jobID, spec);
+                assertTrue(p.arr >= last, spec + " job " + p.jobID + " arrived before the one before it");
+                last = p.arr;
+                assertTrue(p.bursts.length >= 1 && p.bursts.length <= 24, spec);
+                assertEquals(p.bursts.length - 1, p.burstCount);
+                for (int b : p.bursts) {
+                    assertTrue(b >= 1, spec);
+                }
+                if (p.bursts.length <= 3) {
+                    cpuBound++;
+                }
+                jobs++;
+            }
+            assertEquals(3000, jobs, spec);
+
+            // the share of CPU bound jobs is close to the one asked for
+            double share = spec.contains("cpu=0.8") ? 0.8 : 0.3;
+            assertEquals(share, cpuBound / 3000.0, 0.05, spec);
+        }
+
+        // poisson arrivals are the mean gap apart on average, each gap rounded
+        // down to whole time units, which is 1 / (e^(1/10) - 1) on average
+        Generator poisson = new Generator("gen:jobs=20000,seed=3,arrival=poisson:10");
+        int arr = 0;
+        while (poisson.hasNext()) {
+            arr = poisson.next().arr;
+        }
+        assertEquals(1 / Math.expm1(0.1), arr / 19999.0, 0.2);
+    }
+
+    @Test
+    public void badSpecsAreRefused() {
+        for (String spec : new String[] { "gen:jobs", "gen:color=red", "gen:arrival=uniform:3", "gen:burst=exp:1:2",
+                "gen:cpu=2", "gen:jobs=-1" }) {
+            Exception e = assertThrows(Exception.class, () -> new Generator(spec), spec);
+            assertTrue(e.getMessage().startsWith("Illegal"), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package cpusim;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * Checks the percentiles of a histogram against the exact ones of the values recorded, and that merging and
+ * checkpointing keep every count.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class HistogramTest {
+
+    static final double[] PERCENTILES = { 0, 1, 10, 50, 90, 95, 99, 99.9, 100 };
+
+    /*
+     * @returns values spread over every power of two, so each range of buckets
+     * is used.
+     */
+    static int[] values(int n, long seed) {
+        SplitMix64 random = new SplitMix64(seed);
+        int[] out = new int[n];
+        for (int i = 0; i < n; i++) {
+            int bits = (int) ((random.nextLong() >>> 1) % 32);
+            out[i] = (int) ((random.nextLong() >>> 1) & ((1L << bits) - 1));
+        }
+        return out;
+    }
+
+    /*
+     * Each percentile is the exact one rounded up to the top of its bucket, so
+     * at most 1/64 above it, and exact below 128.
+     */
+    static void check(Histogram histogram, int[] recorded) {
+        int[] sorted = recorded.clone();
+        Arrays.sort(sorted);
+        assertEquals(sorted.length, histogram.count());
+        assertEquals(sorted[sorted.length - 1], histogram.max());
+        for (double p : PERCENTILES) {
+            long exact = sorted[(int) Math.max(0, Math.ceil(p / 100 * sorted.length) - 1)];
+            long got = histogram.valueAt(p);
+            assertTrue(got >= exact && got <= exact + exact / 64, p + "th percentile " + got + ", exactly " + exact);
+            if (exact < 128) {
+                assertEquals(exact, got, p + "th percentile");
+            }
+        }
+    }
+
+    @Test
+    public void percentilesAreWithinABucket() {
+        for (long seed = 1; seed <= 5; seed++) {
+            int[] recorded = values(10000 * (int) seed, seed);
+            Histogram histogram = new Histogram();
+            for (int v : recorded) {
+                histogram.record(v);
+            }
+            check(histogram, recorded);
+        }
+    }
+
+    @Test
+    public void bucketsCoverEveryValue() {
+        int last = 0;
+        for (long v = 0; v <= Integer.MAX_VALUE; v += 1 + v / 300) {
+            int bucket = Histogram.bucket((int) v);
+            assertTrue(bucket >= last && bucket < Histogram.BUCKETS, "value " + v);
+            assertTrue(Histogram.highest(bucket) >= v, "value " + v);
+            last = bucket;
+        }
+        assertEquals(Histogram.BUCKETS - 1, Histogram.bucket(Integer.MAX_VALUE));
+        assertEquals(Integer.MAX_VALUE, Histogram.highest(Histogram.BUCKETS - 1));
+
+        Histogram histogram = new Histogram();
+        histogram.record(-5);
+        histogram.record(Integer.MAX_VALUE);
+        assertEquals(0, histogram.valueAt(50));
+        assertEquals(Integer.MAX_VALUE, histogram.valueAt(100));
+        assertEquals(0, new Histogram().valueAt(99));
+    }
+
+    /*
+     * Merged histograms and one loaded from a checkpoint give the same
+     * percentiles as one that recorded every value itself.
+     */
+    @Test
+    public void mergeAndCheckpointKeepTheCounts() throws Exception {
+        int[] a = values(7000, 11);
+        int[] b = values(3000, 12);
+        Histogram left = new Histogram();
+        Histogram right = new Histogram();
+        Histogram all = new Histogram();
+        for (int v : a) {
+            left.record(v);
+            all.record(v);
+        }
+        for (int v : b) {
+            right.record(v);
+            all.record(v);
+        }
+        left.merge(right);
+        int[] both = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, both, a.length, b.length);
+        check(left, both);
+        assertEquals(3000, right.count());
+
+        Checkpoint out = new Checkpoint("histogram");
+        all.save(out);
+        Histogram loaded = new Histogram();
+        loaded.load(CheckpointTest.reopen(out));
+        assertArrayEquals(all.counts, left.counts);
+        assertArrayEquals(all.counts, loaded.counts);
+        check(loaded, both);
+    }
+}
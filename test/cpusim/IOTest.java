@@ -0,0 +1,169 @@
+package cpusim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/*
+ * Checks the I/O devices: each I/O takes the length the job file gives it, each device serves one process at a time,
+ * jobs keep to their device, and without devices every I/O starts as soon as its burst ends.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class IOTest {
+
+    static final int JOBS = 60;
+
+    // the device named for each job, -1 if none, and the I/O lengths written
+    int[] device = new int[JOBS];
+    int[][] io = new int[JOBS][];
+
+    /*
+     * Writes jobs arriving close together, so the devices have queues, each
+     * with its own I/O lengths and some with a device.
+     */
+    Path write(Path dir) throws Exception {
+        SplitMix64 random = new SplitMix64(6);
+        StringBuilder out = new StringBuilder();
+        for (int j = 0; j < JOBS; j++) {
+            int count = 2 + (int) ((random.nextLong() >>> 1) % 4);
+            out.append(j).append(' ').append(j * 3).append(' ').append(count);
+            for (int b = 0; b < count; b++) {
+                out.append(' ').append(1 + (int) ((random.nextLong() >>> 1) % 20));
+            }
+            io[j] = new int[count - 1];
+            out.append(" io=");
+            for (int b = 0; b < count - 1; b++) {
+                io[j][b] = 1 + (int) ((random.nextLong() >>> 1) % 40);
+                out.append(b > 0 ? "," : "").append(io[j][b]);
+            }
+            device[j] = j % 5 == 0 ? 2 : -1;
+            if (device[j] >= 0) {
+                out.append(" dev=").append(device[j]);
+            }
+            out.append('\n');
+        }
+        Path file = dir.resolve("io.txt");
+        Files.writeString(file, out);
+        return file;
+    }
+
+    /*
+     * Runs the jobs, returning the start and end of every I/O of each device,
+     * worked out from when it finished and how long it was.
+     *
+     * @param devices is the I/O devices, none for no queueing
+     */
+    HashMap<Integer, ArrayList<int[]>> run(String file, IOSubsystem devices, int cores) throws Exception {
+        HashMap<Integer, ArrayList<int[]>> byDevice = new HashMap<>();
+        HashMap<Integer, Integer> blockedAt = new HashMap<>();
+        int[] ios = new int[JOBS];
+        TestRuns.run("RR", file, cores, devices, (time, kind, flags, core, job, value) -> {
+            if (kind == EventLog.BLOCK) {
+                assertEquals(io[job][ios[job]], value, "I/O " + ios[job] + " of job " + job);
+                blockedAt.put(job, time);
+            } else if (kind == EventLog.UNBLOCK) {
+                int start = time - value;
+                int blocked = blockedAt.remove(job);
+                assertTrue(start >= blocked, "job " + job + " began its I/O before it blocked");
+                if (devices.size() == 0) {
+                    assertEquals(blocked, start, "job " + job + " waited for I/O without devices");
+                }
+                int d = devices.size() == 0 ? job
+                        : devices.perBurst ? 0 : Math.floorMod(device[job] >= 0 ? device[job] : job, devices.size());
+                byDevice.computeIfAbsent(d, k -> new ArrayList<>()).add(new int[] { start, time });
+                ios[job]++;
+            }
+        });
+        for (int j = 0; j < JOBS; j++) {
+            assertEquals(io[j].length, ios[j], "I/Os of job " + j);
+        }
+        return byDevice;
+    }
+
+    @Test
+    public void devicesServeOneAtATime(@TempDir Path dir) throws Exception {
+        String file = write(dir).toString();
+        for (int devices : new int[] { 1, 3 }) {
+            for (int cores : new int[] { 1, 2 }) {
+                IOSubsystem io = new IOSubsystem(devices, false, IOSubsystem.FIXED, 10);
+                HashMap<Integer, ArrayList<int[]>> byDevice = run(file, io, cores);
+                assertEquals(devices, byDevice.size());
+                long busy = 0;
+                int served = 0;
+                for (int d = 0; d < devices; d++) {
+                    ArrayList<int[]> spans = byDevice.get(d);
+                    spans.sort((a, b) -> Integer.compare(a[0], b[0]));
+                    for (int k = 1; k < spans.size(); k++) {
+                        assertTrue(spans.get(k)[0] >= spans.get(k - 1)[1], "device " + d + " of " + devices
+                                + " did two I/Os at once at " + spans.get(k)[0]);
+                    }
+                    for (int[] span : spans) {
+                        busy += span[1] - span[0];
+                    }
+                    assertEquals(spans.size(), io.served[d]);
+                    served += io.served[d];
+                }
+                assertEquals(busy, Arrays.stream(io.busy).sum());
+                assertTrue(served > 0);
+            }
+        }
+    }
+
+    /*
+     * Picking a device for each I/O, no more I/Os are under way at once than
+     * there are devices.
+     */
+    @Test
+    public void perBurstUsesEveryDevice(@TempDir Path dir) throws Exception {
+        String file = write(dir).toString();
+        IOSubsystem io = new IOSubsystem(2, true, IOSubsystem.FIXED, 10);
+        ArrayList<int[]> spans = run(file, io, 2).get(0);
+
+        // +1 as each I/O starts, -1 as it ends, ends first at the same time
+        ArrayList<int[]> changes = new ArrayList<>();
+        for (int[] span : spans) {
+            changes.add(new int[] { span[0], 1 });
+            changes.add(new int[] { span[1], -1 });
+        }
+        changes.sort((a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0]) : Integer.compare(a[1], b[1]));
+        int busy = 0;
+        int most = 0;
+        for (int[] change : changes) {
+            busy += change[1];
+            most = Math.max(most, busy);
+        }
+        assertEquals(2, most);
+        assertTrue(io.served[0] > 0 && io.served[1] > 0);
+    }
+
+    /*
+     * Without devices no I/O waits, so each one finishes its length after the
+     * burst before it.
+     */
+    @Test
+    public void noDevicesNoWaiting(@TempDir Path dir) throws Exception {
+        String file = write(dir).toString();
+        IOSubsystem io = new IOSubsystem(0, false, IOSubsystem.FIXED, 10);
+        run(file, io, 2);
+        assertEquals(0, io.delay[0]);
+    }
+
+    @Test
+    public void badOptionsAreRefused() {
+        assertThrows(Exception.class, () -> IOSubsystem.open(-1, "job", "fixed:10"));
+        assertThrows(Exception.class, () -> IOSubsystem.open(2, "core", "fixed:10"));
+        assertThrows(Exception.class, () -> IOSubsystem.open(2, "job", "uniform:9:3"));
+        assertThrows(Exception.class, () -> IOSubsystem.open(2, "job", "normal:3"));
+    }
+}
@@ -0,0 +1,102 @@
+package cpusim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * Checks the heap against java.util.PriorityQueue under random adds and removes: a binary heap gives items with equal
+ * keys out in the same order, a stable heap of any arity in the order they were added, and a wider plain heap at
+ * least gives the keys out in order.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class IntHeapTest {
+
+    static final int STEPS = 200000;
+
+    /*
+     * Adds and removes at random, with few distinct keys so ties are common,
+     * checking each item removed against the PriorityQueue.
+     *
+     * @param order is the order the PriorityQueue gives out {item, key, seq}
+     *
+     * @param sameItems is True if the items must match, not just their keys
+     */
+    static void compare(IntHeap heap, Comparator<int[]> order, boolean sameItems, long seed) {
+        PriorityQueue<int[]> expected = new PriorityQueue<>(order);
+        SplitMix64 random = new SplitMix64(seed);
+        int seq = 0;
+        for (int step = 0; step < STEPS; step++) {
+            long r = random.nextLong() >>> 1;
+
+            // grow the heap for a while, then drain it, so it is often deep
+            boolean add = (step / 5000 % 2 == 0) ? r % 3 != 0 : r % 3 == 0;
+            if (add || expected.isEmpty()) {
+                int item = step;
+                int key = (int) (r % 17);
+                heap.add(item, key);
+                expected.add(new int[] { item, key, seq++ });
+            } else {
+                int[] want = expected.remove();
+                assertEquals(want[1], heap.peekKey(), "step " + step);
+                int item = heap.remove();
+                if (sameItems) {
+                    assertEquals(want[0], item, "step " + step);
+                }
+            }
+            assertEquals(expected.size(), heap.getSize());
+        }
+    }
+
+    @Test
+    public void binaryHeapMatchesPriorityQueue() {
+        compare(new IntHeap(), Comparator.comparingInt(e -> e[1]), true, 1);
+    }
+
+    @Test
+    public void widerHeapGivesKeysInOrder() {
+        for (int arity : new int[] { 3, 4, 8 }) {
+            compare(new IntHeap(arity), Comparator.comparingInt(e -> e[1]), false, arity);
+        }
+    }
+
+    @Test
+    public void stableHeapGivesTiesInOrderAdded() {
+        Comparator<int[]> order = Comparator.<int[]>comparingInt(e -> e[1]).thenComparingInt(e -> e[2]);
+        for (int arity : new int[] { 2, 4 }) {
+            compare(new IntHeap(arity, true), order, true, arity);
+        }
+    }
+
+    /*
+     * A heap put back in array order with restore gives out the same items, and
+     * a stable one carries on numbering after the largest sequence restored.
+     */
+    @Test
+    public void restoreKeepsTheOrder() {
+        for (int arity : new int[] { 2, 4 }) {
+            IntHeap heap = new IntHeap(arity, true);
+            for (int item = 0; item < 100; item++) {
+                heap.add(item, item % 5);
+            }
+            for (int k = 0; k < 30; k++) {
+                heap.remove();
+            }
+            IntHeap copy = new IntHeap(arity, true);
+            for (int k = 0; k < heap.getSize(); k++) {
+                copy.restore(heap.items[k], heap.keys[k], heap.seqAt(k));
+            }
+            heap.add(100, 0);
+            copy.add(100, 0);
+            while (heap.getSize() > 0) {
+                assertEquals(heap.remove(), copy.remove());
+            }
+            assertEquals(0, copy.getSize());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package cpusim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * Checks IntMap against HashMap, and that it stays small when entries come and go.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class IntMapTest {
+
+    @Test
+    public void matchesHashMap() {
+        IntMap map = new IntMap();
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        SplitMix64 random = new SplitMix64(7);
+        for (int i = 0; i < 200000; i++) {
+            int key = (int) (random.nextLong() & 1023);
+            if ((random.nextLong() & 1) == 0) {
+                map.put(key, i);
+                expected.put(key, i);
+            } else {
+                Integer was = expected.remove(key);
+                assertEquals(was == null ? -1 : was, map.remove(key, -1));
+            }
+            assertEquals(expected.size(), map.getSize());
+            int probe = (int) (random.nextLong() & 1023);
+            assertEquals(expected.getOrDefault(probe, -1), map.get(probe, -1));
+        }
+    }
+
+    /*
+     * Like the blocked jobs of a long run: ids keep going up, but only a few
+     * are in the map at once.
+     */
+    @Test
+    public void staysSizeOfLiveEntries() {
+        IntMap map = new IntMap();
+        for (int job = 0; job < 1000000; job++) {
+            map.put(job, job);
+            if (job >= 20) {
+                assertEquals(job - 20, map.remove(job - 20, -1));
+            }
+        }
+        assertEquals(20, map.getSize());
+        assertTrue(map.keys.length <= 64, "grew to " + map.keys.length);
+    }
+}
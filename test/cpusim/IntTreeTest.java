@@ -0,0 +1,177 @@
+package cpusim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/*
+ * Checks the red-black tree against a TreeSet under random adds and removes, ties included, and that the CFS ready
+ * queue built on it comes back from a checkpoint giving out the same processes in the same order.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class IntTreeTest {
+
+    static final int STEPS = 200000;
+
+    /*
+     * Checks the red-black properties and the links of the tree, and that
+     * first is its leftmost node.
+     *
+     * @returns the number of black nodes on every path down from the node
+     */
+    static int check(IntTree tree, int node) {
+        if (node == IntTree.NIL) {
+            return 1;
+        }
+        int l = tree.left[node];
+        int r = tree.right[node];
+        if (l != IntTree.NIL) {
+            assertEquals(node, tree.parent[l]);
+            assertTrue(before(tree, l, node), "left child out of order");
+        }
+        if (r != IntTree.NIL) {
+            assertEquals(node, tree.parent[r]);
+            assertTrue(before(tree, node, r), "right child out of order");
+        }
+        if (tree.red[node]) {
+            assertFalse(tree.red[l] || tree.red[r], "red node with a red child");
+        }
+        int height = check(tree, l);
+        assertEquals(height, check(tree, r), "black heights differ");
+        return height + (tree.red[node] ? 0 : 1);
+    }
+
+    static boolean before(IntTree tree, int a, int b) {
+        return tree.keys[a] < tree.keys[b] || (tree.keys[a] == tree.keys[b] && tree.order[a] < tree.order[b]);
+    }
+
+    static void checkTree(IntTree tree) {
+        assertFalse(tree.red[tree.root], "red root");
+        assertEquals(IntTree.NIL, tree.parent[tree.root]);
+        check(tree, tree.root);
+        int leftmost = tree.root;
+        while (leftmost != IntTree.NIL && tree.left[leftmost] != IntTree.NIL) {
+            leftmost = tree.left[leftmost];
+        }
+        assertEquals(leftmost, tree.first);
+    }
+
+    /*
+     * Adds and removes at random, reusing freed items as the CFS queue reuses
+     * slots, with few distinct keys so ties are common. The TreeSet holds
+     * {key, order added, item}.
+     */
+    @Test
+    public void matchesTreeSet() {
+        IntTree tree = new IntTree();
+        TreeSet<long[]> expected = new TreeSet<>(
+                Comparator.<long[]>comparingLong(e -> e[0]).thenComparingLong(e -> e[1]));
+        IntQueue free = new IntQueue();
+        int items = 0;
+        long added = 0;
+        SplitMix64 random = new SplitMix64(9);
+        for (int step = 0; step < STEPS; step++) {
+            long r = random.nextLong() >>> 1;
+
+            // grow the tree for a while, then drain it
+            boolean add = (step / 4000 % 2 == 0) ? r % 3 != 0 : r % 3 == 0;
+            if (add || expected.isEmpty()) {
+                int item = free.getSize() > 0 ? free.remove() : items++;
+                long key = (r >>> 8) % 23 - 5;
+                tree.add(item, key);
+                expected.add(new long[] { key, added++, item });
+            } else {
+                long[] want = expected.pollFirst();
+                assertEquals(want[2], tree.peek(), "step " + step);
+                assertEquals(want[0], tree.peekKey(), "step " + step);
+                int item = tree.remove();
+                assertEquals(want[2], item, "step " + step);
+                free.add(item);
+            }
+            assertEquals(expected.size(), tree.getSize());
+            if (step % 997 == 0) {
+                checkTree(tree);
+            }
+        }
+        checkTree(tree);
+
+        tree.clear();
+        assertEquals(0, tree.getSize());
+        tree.add(3, 5);
+        tree.add(1, 5);
+        assertEquals(3, tree.remove());
+        assertEquals(1, tree.remove());
+    }
+
+    static PCB process(int id, long vruntime, int shots) {
+        PCB p = new PCB(id, 0, 1, new int[] { 5 });
+        p.vruntime = vruntime;
+        p.cpuShots = shots;
+        return p;
+    }
+
+    /*
+     * A queue loaded from a checkpoint gives out the same processes in the same
+     * order, ties included, also with processes added after the load.
+     */
+    @Test
+    public void queueCheckpointRoundTrip() throws Exception {
+        CFSReadyQueue queue = new CFSReadyQueue(40);
+        SplitMix64 random = new SplitMix64(4);
+        for (int j = 0; j < 200; j++) {
+            queue.addProcess(process(j, (random.nextLong() >>> 1) % 10 * 100, j % 3));
+            if (j % 4 == 3) {
+                queue.getNext();
+            }
+        }
+
+        Checkpoint out = new Checkpoint("cfs");
+        queue.save(out);
+        CFSReadyQueue loaded = new CFSReadyQueue(40);
+        loaded.load(CheckpointTest.reopen(out));
+        assertEquals(queue.minVruntime, loaded.minVruntime);
+        assertEquals(queue.getSize(), loaded.getSize());
+
+        for (CFSReadyQueue q : new CFSReadyQueue[] { queue, loaded }) {
+            q.addProcess(process(1000, 0, 0));
+            q.addProcess(process(1001, 0, 1));
+        }
+        while (queue.getSize() > 0) {
+            PCB want = queue.getNext();
+            PCB got = loaded.getNext();
+            assertEquals(want.jobID, got.jobID);
+            assertEquals(want.vruntime, got.vruntime);
+        }
+        assertEquals(0, loaded.getSize());
+    }
+
+    /*
+     * A CFS run resumed from a checkpoint ends with the same report as the run
+     * that wrote it.
+     */
+    @Test
+    public void resumedRunMatches(@TempDir Path dir) throws Exception {
+        String ck = dir.resolve("cfs.ck").toString();
+        for (int cores : new int[] { 1, 2 }) {
+            SimulationBuilder builder = new SimulationBuilder().file("gen:jobs=3000,seed=6").policy("CFS")
+                    .cores(cores);
+            Report full = builder.checkpoint(ck, 5000, "").run();
+            Report resumed = builder.checkpoint(null, 5000, "").resume(ck, "").run();
+            assertEquals(full.finalTime, resumed.finalTime);
+            assertEquals(full.jobsDone, resumed.jobsDone);
+            assertEquals(full.totalWait, resumed.totalWait);
+            assertEquals(full.totalTurnaround, resumed.totalTurnaround);
+            assertEquals(full.totalShots, resumed.totalShots);
+            assertEquals(full.preemptions, resumed.preemptions);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package cpusim;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * Checks the multi-level feedback queue: its settings, that a process drops a level for using its whole quantum and
+ * goes up one after I/O, that the highest level with work is run first, and that the per level table adds up to the
+ * run.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class MLFQTest {
+
+    static MLFQPolicy policy(String settings) throws Exception {
+        MLFQPolicy policy = new MLFQPolicy();
+        policy.configure(settings);
+        return policy;
+    }
+
+    @Test
+    public void settingsGiveTheQuanta() throws Exception {
+        assertArrayEquals(new int[] { 5, 10, 20, 40 }, policy("levels=4,quanta=5").quanta);
+        assertArrayEquals(new int[] { 3, 7 }, policy("quanta=3/7").quanta);
+        assertArrayEquals(new int[] { 10, 20, 40 }, policy("boost=0").quanta);
+        assertEquals(0, policy("boost=0").boostInterval());
+        assertEquals("MLFQ:levels=2,boost=50", policy("levels=2,boost=50").label());
+        assertEquals("MLFQ", new MLFQPolicy().label());
+        for (String settings : new String[] { "levels=0", "levels=65", "quanta=5/0", "levels=1,quanta=5/10",
+                "boost=-1", "colour=red", "levels" }) {
+            Exception e = assertThrows(Exception.class, () -> policy(settings), settings);
+            assertTrue(e.getMessage().startsWith("Illegal MLFQ"), e.getMessage());
+        }
+    }
+
+    /*
+     * A process that runs its whole quantum drops a level, down to the bottom
+     * one, one whose burst ends first keeps its level, and I/O or a boost
+     * brings it back up.
+     */
+    @Test
+    public void levelsFollowTheQuantaUsed() throws Exception {
+        MLFQPolicy policy = policy("quanta=5/10/20");
+        PCB p = new PCB(0, 0, 2, new int[] { 100, 3 });
+        int[] slices = new int[4];
+        int[] levels = new int[4];
+        for (int i = 0; i < 4; i++) {
+            slices[i] = policy.slice(p, 10);
+            levels[i] = p.level;
+        }
+        assertArrayEquals(new int[] { 5, 10, 20, 20 }, slices);
+        assertArrayEquals(new int[] { 1, 2, 2, 2 }, levels);
+
+        policy.ioDone(p);
+        assertEquals(1, p.level);
+        p.curBurst = 1;
+        assertEquals(3, policy.slice(p, 10));
+        assertEquals(1, p.level);
+
+        MLFQReadyQueue queue = (MLFQReadyQueue) policy.newReadyQueue();
+        policy.boost(queue, p);
+        assertEquals(0, p.level);
+        policy.ioDone(p);
+        assertEquals(0, p.level);
+    }
+
+    /*
+     * The queue hands out the highest level with work first, in the order each
+     * level was joined, and a boost moves everything to the top in level order.
+     */
+    @Test
+    public void highestLevelRunsFirst() throws Exception {
+        MLFQPolicy policy = policy("levels=64,quanta=1");
+        MLFQReadyQueue queue = (MLFQReadyQueue) policy.newReadyQueue();
+        PCB[] jobs = new PCB[8];
+        int[] level = { 63, 5, 0, 5, 63, 40, 0, 40 };
+        for (int j = 0; j < jobs.length; j++) {
+            jobs[j] = new PCB(j, 0, 1, new int[] { 10 });
+            jobs[j].level = level[j];
+            queue.addProcess(jobs[j]);
+        }
+        int[] order = new int[jobs.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = queue.getNext().jobID;
+        }
+        assertArrayEquals(new int[] { 2, 6, 1, 3, 5, 7, 0, 4 }, order);
+        assertEquals(0, queue.getSize());
+
+        for (int j = 0; j < jobs.length; j++) {
+            queue.addProcess(jobs[j]);
+        }
+        queue.boost();
+        for (int i = 0; i < order.length; i++) {
+            PCB p = queue.getNext();
+            assertEquals(0, p.level);
+            order[i] = p.jobID;
+        }
+        assertArrayEquals(new int[] { 2, 6, 1, 3, 5, 7, 0, 4 }, order);
+        assertEquals(2 + jobs.length, queue.shots[0]);
+    }
+
+    /*
+     * Every CPU shot of the run is started at some level, and the CPU time of
+     * the levels is the time the cores were busy.
+     */
+    @Test
+    public void levelTableAddsUp() throws Exception {
+        for (int cores : new int[] { 1, 3 }) {
+            Report report = new SimulationBuilder().file("gen:jobs=2000,seed=5").policy("MLFQ:levels=4,boost=500")
+                    .cores(cores).output("quiet").run();
+            assertEquals(4, report.levelShots.length);
+            assertEquals(report.totalShots, Arrays.stream(report.levelShots).sum());
+            assertEquals(Arrays.stream(report.getCoreBusy()).sum(), Arrays.stream(report.levelTime).sum());
+            assertTrue(report.levelShots[3] > 0, "no process reached the bottom level");
+            assertArrayEquals(new int[] { 10, 20, 40, 80 }, report.levelQuanta);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package cpusim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/*
+ * Checks that samples written by MetricsRecorder come back the same through MetricsConverter, over several blocks,
+ * and that the samples of a run add up to its report.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class MetricsTest {
+
+    @Test
+    public void samplesComeBackAsWritten(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("run.cpum");
+        Path csv = dir.resolve("run.csv");
+        int samples = 2 * MetricsRecorder.BLOCK + 123;
+        int[][] expected = new int[samples][];
+        SplitMix64 random = new SplitMix64(2);
+        try (MetricsRecorder recorder = new MetricsRecorder(file.toString(), 50, 2)) {
+            int time = 0;
+            int completed = 0;
+            long busy = 0;
+            for (int i = 0; i < samples; i++) {
+                time += 1 + (int) ((random.nextLong() >>> 1) % 100);
+                int done = (int) ((random.nextLong() >>> 1) % 5);
+                int ran = (int) ((random.nextLong() >>> 1) % 200);
+                completed += done;
+                busy += ran;
+                int gap = i == 0 ? time : time - expected[i - 1][0];
+                int ready = (int) ((random.nextLong() >>> 1) % 1000);
+                expected[i] = new int[] { time, ready, i % 7, i % 3, ready + 2, done, (int) (1000L * ran / (gap * 2)) };
+                recorder.sample(time, ready, i % 7, i % 3, ready + 2, completed, busy);
+
+                // a second sample at the same time is dropped
+                recorder.sample(time, 0, 0, 0, 0, completed, busy);
+            }
+        }
+
+        MetricsConverter.main(new String[] { file.toString(), csv.toString() });
+        List<String> lines = Files.readAllLines(csv);
+        assertEquals(String.join(",", MetricsRecorder.COLUMNS), lines.get(0));
+        assertEquals(samples + 1, lines.size());
+        for (int i = 0; i < samples; i++) {
+            String[] row = lines.get(i + 1).split(",");
+            for (int c = 0; c < row.length; c++) {
+                assertEquals(expected[i][c], Integer.parseInt(row[c]), MetricsRecorder.COLUMNS[c] + " of sample " + i);
+            }
+        }
+    }
+
+    @Test
+    public void runSamplesAddUp(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("run.cpum");
+        Path csv = dir.resolve("run.csv");
+        Report report = new SimulationBuilder().file("gen:jobs=3000,seed=3").policy("RR").quantum(10).cores(2)
+                .interval(100).metrics(file.toString()).output("quiet").run();
+        MetricsConverter.main(new String[] { file.toString(), csv.toString() });
+
+        List<String> lines = Files.readAllLines(csv);
+        int completed = 0;
+        int last = 0;
+        for (String line : lines.subList(1, lines.size())) {
+            String[] row = line.split(",");
+            int time = Integer.parseInt(row[0]);
+            assertTrue(time > last, line);
+            last = time;
+            assertTrue(Integer.parseInt(row[3]) <= 2, line);
+            int util = Integer.parseInt(row[6]);
+            assertTrue(util >= 0 && util <= 1000, line);
+            completed += Integer.parseInt(row[5]);
+        }
+        assertEquals(report.jobsDone, completed);
+        assertTrue(lines.size() > report.getFinalTime() / 100, "a sample every 100 units");
+    }
+}
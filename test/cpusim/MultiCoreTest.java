@@ -0,0 +1,70 @@
+package cpusim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * Checks the multi-core CPU: each core runs one process at a time and each process runs on one core at a time, a
+ * process only changes core when another core steals it, and the steals and migrations counted are the ones that
+ * happened.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class MultiCoreTest {
+
+    static final String JOBS = "gen:jobs=4000,seed=8,arrival=bursty:2:40:400";
+
+    @Test
+    public void coresRunOneProcessEach() throws Exception {
+        for (String algorithm : new String[] { "FCFS", "RR", "SRTF", "CFS" }) {
+            int cores = 4;
+
+            // the job on each core, -1 while it is idle, and the core of each running job
+            int[] running = { -1, -1, -1, -1 };
+            HashMap<Integer, Integer> coreOf = new HashMap<>();
+            HashMap<Integer, Integer> lastCore = new HashMap<>();
+            int[] counted = new int[2];
+            Report report = TestRuns.run(algorithm, JOBS, cores, (time, kind, flags, core, job, value) -> {
+                if (kind == EventLog.DISPATCH) {
+                    assertEquals(-1, running[core], algorithm + " loaded core " + core + " twice at " + time);
+                    Integer other = coreOf.put(job, core);
+                    assertNull(other, algorithm + " ran job " + job + " on two cores at " + time);
+                    running[core] = job;
+                    Integer last = lastCore.put(job, core);
+                    if (last != null && last != core) {
+                        assertTrue((flags & EventLog.STOLEN) != 0, algorithm + " moved job " + job + " at " + time);
+                        counted[0]++;
+                    }
+                    if ((flags & EventLog.STOLEN) != 0) {
+                        counted[1]++;
+                    }
+                } else if (kind == EventLog.COMPLETE || kind == EventLog.PREEMPT) {
+                    assertEquals(job, running[core], algorithm);
+                    running[core] = -1;
+                    coreOf.remove(job);
+                } else if (kind == EventLog.EXIT) {
+                    lastCore.remove(job);
+                }
+            });
+
+            assertEquals(4000, report.jobsDone, algorithm);
+            assertEquals(counted[0], report.getMigrations(), algorithm);
+            assertEquals(counted[1], report.getSteals(), algorithm);
+            assertTrue(report.getSteals() > 0, algorithm);
+
+            // every core took part, and the jobs each finished add up
+            int done = 0;
+            for (int c = 0; c < cores; c++) {
+                assertTrue(report.getCoreBusy()[c] > 0, algorithm + " never used core " + c);
+                done += report.getCoreJobs()[c];
+            }
+            assertEquals(4000, done, algorithm);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package cpusim;
+
+/*
+ * A policy added with ServiceLoader, as one from outside the simulator would be, listed in the tests'
+ * META-INF/services/cpusim.SchedulingPolicy. It runs processes in the order they arrive for their whole burst, as
+ * FCFS does, so its runs can be checked against FCFS.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class PlainPolicy implements SchedulingPolicy {
+
+    public String name() {
+        return "PLAIN";
+    }
+
+    public ReadyQueue newReadyQueue() {
+        return new FIFOReadyQueue();
+    }
+
+    public int slice(PCB process, int quantum) {
+        return process.bursts[process.curBurst];
+    }
+}
@@ -0,0 +1,98 @@
+package cpusim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/*
+ * Checks that the CSV and JSON sinks write one line per job and per 200 level report, holding the same numbers as
+ * each other and as the final report, and that the sink chosen does not change the run.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class ReportSinkTest {
+
+    static final String JOBS = "gen:jobs=1500,seed=4";
+
+    /*
+     * @returns the value of a field in a JSON line, which FileSink writes
+     * without spaces.
+     */
+    static String field(String line, String name) {
+        int at = line.indexOf("\"" + name + "\":");
+        if (at == -1) {
+            return "";
+        }
+        at += name.length() + 3;
+        int end = at;
+        while (end < line.length() && line.charAt(end) != ',' && line.charAt(end) != '}') {
+            end++;
+        }
+        return line.substring(at, end).replace("\"", "");
+    }
+
+    @Test
+    public void csvAndJsonHoldTheSameEvents(@TempDir Path dir) throws Exception {
+        Path csv = dir.resolve("run.csv");
+        Path json = dir.resolve("run.json");
+        SimulationBuilder builder = new SimulationBuilder().file(JOBS).policy("RR").quantum(10);
+        Report quiet = builder.output("quiet").run();
+        Report fromCsv = builder.output("csv:" + csv).run();
+        Report fromJson = builder.output("json:" + json).run();
+
+        List<String> rows = Files.readAllLines(csv);
+        List<String> lines = Files.readAllLines(json);
+        String[] columns = rows.get(0).split(",");
+        assertEquals("event,time,job,arrival,proc,wait,turnaround,shots,ready,blocked,completed", rows.get(0));
+        assertEquals(rows.size() - 1, lines.size());
+
+        long wait = 0;
+        int jobs = 0;
+        int lastSnapshot = 0;
+        for (int i = 1; i < rows.size(); i++) {
+            String[] row = rows.get(i).split(",", -1);
+            String line = lines.get(i - 1);
+            assertEquals(columns.length, row.length, rows.get(i));
+            for (int c = 0; c < columns.length; c++) {
+                assertEquals(row[c], field(line, columns[c]), "column " + columns[c] + " of line " + i);
+            }
+            if (row[0].equals("job")) {
+                jobs++;
+                wait += Integer.parseInt(row[5]);
+                assertEquals(Integer.parseInt(row[6]), Integer.parseInt(row[4]) + Integer.parseInt(row[5]));
+            } else {
+                assertEquals("snapshot", row[0]);
+                int time = Integer.parseInt(row[1]);
+                // every 200 units, and once more at the end of the run
+                assertTrue(time % 200 == 0 || i == rows.size() - 1, rows.get(i));
+                assertTrue(time > lastSnapshot);
+                lastSnapshot = time;
+                assertEquals(jobs, Integer.parseInt(row[10]), "jobs completed by " + time);
+            }
+        }
+        assertEquals(1500, jobs);
+        assertEquals(fromCsv.totalWait, wait);
+
+        for (Report r : new Report[] { fromCsv, fromJson }) {
+            assertEquals(quiet.getFinalTime(), r.getFinalTime());
+            assertEquals(quiet.totalWait, r.totalWait);
+            assertEquals(quiet.totalTurnaround, r.totalTurnaround);
+        }
+    }
+
+    @Test
+    public void unknownOutputIsRefused() throws Exception {
+        assertSame(ReportSink.QUIET, ReportSink.open("quiet"));
+        assertTrue(assertThrows(Exception.class, () -> ReportSink.open("xml:out.xml")).getMessage()
+                .contains("Illegal output"));
+    }
+}
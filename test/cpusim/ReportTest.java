@@ -0,0 +1,90 @@
+package cpusim;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * Checks that merged reports add up to the reports they were made from, and that tables keep their borders
+ * whatever the labels.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class ReportTest {
+
+    /*
+     * The averages of a merged report are over the jobs of every report, and
+     * its counters and per core tables are the sums of theirs.
+     */
+    @Test
+    public void mergeAddsEveryJob() throws Exception {
+        SimulationBuilder builder = new SimulationBuilder().policy("SRTF").cores(2);
+        Report a = builder.file("gen:jobs=2000,seed=1,arrival=poisson:5").run();
+        Report b = builder.file("gen:jobs=500,seed=2,arrival=bursty:2:20:500").run();
+
+        Report all = new Report("SRTF", 0);
+        all.merge(a);
+        all.merge(b);
+
+        assertEquals(2500, all.getJobs());
+        assertEquals((double) (a.totalWait + b.totalWait) / 2500, all.getAverageWait(), 1e-9);
+        assertEquals((double) (a.totalTurnaround + b.totalTurnaround) / 2500, all.getAverageTurnaround(), 1e-9);
+        assertEquals((double) (a.totalShots + b.totalShots) / 2500, all.getAverageShots(), 1e-9);
+        assertEquals(Math.max(a.getFinalTime(), b.getFinalTime()), all.getFinalTime());
+        assertEquals(a.getMigrations() + b.getMigrations(), all.getMigrations());
+        assertEquals(a.getSteals() + b.getSteals(), all.getSteals());
+        assertEquals(a.getPreemptions() + b.getPreemptions(), all.getPreemptions());
+        assertEquals(2500, all.getWait().count());
+        long[] busy = { a.getCoreBusy()[0] + b.getCoreBusy()[0], a.getCoreBusy()[1] + b.getCoreBusy()[1] };
+        assertArrayEquals(busy, all.getCoreBusy());
+
+        // the reports merged are left as they were
+        assertEquals(2000, a.getJobs());
+        assertEquals(2000, a.getWait().count());
+    }
+
+    /*
+     * A label too long for its column, as policy settings often are, is cut
+     * to fit, and printed whole on a line of its own.
+     */
+    @Test
+    public void longLabelsKeepTheBorders() throws Exception {
+        Report report = new SimulationBuilder().file("gen:jobs=300,seed=1").policy("MLFQ:levels=4,boost=500")
+                .output("quiet").run();
+        Report deadlines = new SimulationBuilder().file("gen:jobs=300,seed=1").policy("FCFS").output("quiet").run();
+        deadlines.algo = "EDF with a long label";
+        deadlines.deadlines = 300;
+        deadlines.missed = 7;
+        deadlines.maxLate = 40;
+        deadlines.tasks = 2;
+        PrintStream out = System.out;
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(printed, true));
+        try {
+            Report.printTable("TITLE", report, deadlines);
+            Report.printPercentiles(report, deadlines);
+            Report.printDeadlines(report, deadlines);
+        } finally {
+            System.setOut(out);
+        }
+
+        int whole = 0;
+        for (String line : printed.toString().split("\\R")) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            assertEquals(91, line.length(), line);
+            if (line.startsWith("|   MLFQ:levels=4,boost=500 ") || line.startsWith("|   EDF with a long label ")) {
+                whole++;
+            }
+        }
+        assertEquals(6, whole);
+        assertTrue(printed.toString().contains("| MLFQ:level.. |"));
+    }
+}
@@ -0,0 +1,66 @@
+package cpusim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * Checks that policies are found by name, built in first and then with ServiceLoader, each time as a new instance,
+ * and that a policy added with ServiceLoader runs on the driver, in a sweep and on the command line as the built in
+ * ones do.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class SchedulingPolicyTest {
+
+    static final String JOBS = "gen:jobs=1000,seed=11";
+
+    @Test
+    public void policiesAreFoundByName() throws Exception {
+        assertEquals(List.of("FCFS", "SJF", "RR", "MLFQ", "CFS", "SRTF", "EDF", "RM", "PLAIN"),
+                SchedulingPolicy.names());
+        for (String name : SchedulingPolicy.names()) {
+            SchedulingPolicy policy = SchedulingPolicy.forName(name);
+            assertEquals(name, policy.name());
+            assertNotSame(policy, SchedulingPolicy.forName(name), name);
+        }
+        assertInstanceOf(PlainPolicy.class, SchedulingPolicy.forName("PLAIN"));
+        assertEquals("SJF:predict=last", SchedulingPolicy.forName("SJF:predict=last").label());
+
+        Exception e = assertThrows(Exception.class, () -> SchedulingPolicy.forName("LIFO"));
+        assertTrue(e.getMessage().contains("PLAIN"), e.getMessage());
+        assertThrows(Exception.class, () -> Main.handleArgs(new String[] { "LIFO", "jobs.txt" }));
+        assertEquals("PLAIN", Main.handleArgs(new String[] { "PLAIN", "jobs.txt" }).get("algorithm"));
+    }
+
+    /*
+     * The added policy orders and slices as FCFS does, so its runs are the
+     * same as FCFS's, alone, on several cores and in a sweep.
+     */
+    @Test
+    public void addedPolicyRunsAsBuiltIn() throws Exception {
+        for (int cores : new int[] { 0, 2 }) {
+            SimulationBuilder builder = new SimulationBuilder().file(JOBS).cores(cores).output("quiet");
+            Report fcfs = builder.policy("FCFS").run();
+            Report plain = builder.policy("PLAIN").run();
+            assertEquals(fcfs.getFinalTime(), plain.getFinalTime());
+            assertEquals(fcfs.totalWait, plain.totalWait);
+            assertEquals(fcfs.totalTurnaround, plain.totalTurnaround);
+            assertEquals("PLAIN", plain.algo);
+        }
+
+        ArrayList<SchedulingPolicy> policies = new ArrayList<>();
+        ArrayList<Integer> quanta = new ArrayList<>();
+        Sweep.parse("FCFS PLAIN RR:5", policies, quanta);
+        assertInstanceOf(PlainPolicy.class, policies.get(1));
+        assertEquals(3, policies.size());
+    }
+}
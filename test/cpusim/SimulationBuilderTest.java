@@ -0,0 +1,101 @@
+package cpusim;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/*
+ * Checks that a builder run again and again, over policies, core counts and stores, gives the reports a new builder
+ * would, keeping its simulation between runs, and that a run that fails closes its files and leaves the builder fit
+ * for the next run.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class SimulationBuilderTest {
+
+    static final String JOBS = "gen:jobs=1500,seed=10";
+
+    static void assertSameRun(Report expected, Report actual, String run) {
+        assertEquals(expected.getFinalTime(), actual.getFinalTime(), run);
+        assertEquals(expected.jobsDone, actual.jobsDone, run);
+        assertEquals(expected.totalWait, actual.totalWait, run);
+        assertEquals(expected.totalTurnaround, actual.totalTurnaround, run);
+        assertEquals(expected.totalShots, actual.totalShots, run);
+        assertEquals(expected.preemptions, actual.preemptions, run);
+        assertArrayEquals(expected.getWait().counts, actual.getWait().counts, run);
+        assertArrayEquals(expected.getCoreBusy(), actual.getCoreBusy(), run);
+    }
+
+    /*
+     * Each run of one builder matches a run of a new one, whatever ran on the
+     * builder before it, including runs of the same policy one after the other.
+     */
+    @Test
+    public void reusedBuilderMatchesNewOne() throws Exception {
+        Workload workload = new Workload(JobSource.open(JOBS));
+        SimulationBuilder reused = new SimulationBuilder().quantum(10).output("quiet");
+        String[] algorithms = { "RR", "SRTF", "RR", "MLFQ", "CFS", "CFS", "SJF:predict=exp", "FCFS", "EDF" };
+        for (int i = 0; i < algorithms.length; i++) {
+            for (int cores : new int[] { 2, 2, 0, 3 }) {
+                boolean fromWorkload = (i + cores) % 2 == 0;
+                SimulationBuilder fresh = new SimulationBuilder().quantum(10).output("quiet");
+                for (SimulationBuilder builder : new SimulationBuilder[] { reused, fresh }) {
+                    if (fromWorkload) {
+                        builder.workload(workload);
+                    } else {
+                        builder.workload(null).file(JOBS);
+                    }
+                    builder.policy(algorithms[i]).cores(cores);
+                }
+                String run = algorithms[i] + " on " + cores + " cores" + (fromWorkload ? " from the workload" : "");
+                assertSameRun(fresh.run(), reused.run(), run);
+            }
+        }
+
+        // the store is switched on the same builder
+        for (String algorithm : new String[] { "FCFS", "SJF", "RR" }) {
+            Report table = reused.workload(workload).policy(algorithm).cores(0).table(true).run();
+            Report pcbs = reused.table(false).run();
+            assertEquals(pcbs.getFinalTime(), table.getFinalTime(), algorithm);
+            assertEquals(pcbs.totalWait, table.totalWait, algorithm);
+        }
+    }
+
+    @Test
+    public void simulationIsKept() throws Exception {
+        SimulationBuilder builder = new SimulationBuilder().file(JOBS).quantum(10).cores(2).output("quiet");
+        builder.policy("RR").run();
+        Simulation first = builder.simulation;
+        builder.policy("CFS").run();
+        assertSame(first, builder.simulation);
+        builder.cores(3).run();
+        assertEquals(3, builder.simulation.cores.length);
+    }
+
+    /*
+     * A run that fails part way, here on a checkpoint it cannot write, still
+     * flushes and closes its output, and the next run of the builder is as a
+     * new builder's.
+     */
+    @Test
+    public void failedRunLeavesBuilderFit(@TempDir Path dir) throws Exception {
+        Path csv = dir.resolve("jobs.csv");
+        SimulationBuilder builder = new SimulationBuilder().file(JOBS).policy("SRTF").cores(2)
+                .output("csv:" + csv).checkpoint(dir.resolve("no/such/run.ck").toString(), 200, "");
+        assertThrows(RuntimeException.class, builder::run);
+        assertTrue(Files.size(csv) > 0, "the sink was not closed");
+
+        Report after = builder.checkpoint(null, 200, "").output("quiet").run();
+        assertSameRun(new SimulationBuilder().file(JOBS).policy("SRTF").cores(2).output("quiet").run(), after,
+                "SRTF after a failed run");
+    }
+}
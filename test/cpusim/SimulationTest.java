@@ -0,0 +1,132 @@
+package cpusim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/*
+ * Checks the simulation driver on jobs that arrive over time rather than all at the start.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class SimulationTest {
+
+    // jobs far enough apart that the system is often empty between them
+    static final String SPREAD = "gen:jobs=1000,seed=1,arrival=poisson:1000,burst=exp:10";
+
+    static final String[] ALGORITHMS = { "FCFS", "SJF", "RR", "SRTF", "MLFQ", "CFS", "EDF", "RM" };
+
+    /*
+     * Every job is run, and none is dispatched before it arrives, on one core
+     * and on several.
+     */
+    @Test
+    public void jobsRunOnlyOnceArrived() throws Exception {
+        for (String algorithm : ALGORITHMS) {
+            for (int cores : new int[] { 1, 4 }) {
+                // the first dispatch of each job, checked against its arrival when it exits
+                HashMap<Integer, Integer> firstRun = new HashMap<>();
+                int[] exits = new int[1];
+                Report report = TestRuns.run(algorithm, SPREAD, cores, (time, kind, flags, core, job, value) -> {
+                    if (kind == EventLog.DISPATCH) {
+                        firstRun.putIfAbsent(job, time);
+                    } else if (kind == EventLog.EXIT) {
+                        assertTrue(firstRun.get(job) >= value, algorithm + " ran job " + job + " before it arrived");
+                        exits[0]++;
+                    }
+                });
+
+                String run = algorithm + " on " + cores + " cores";
+                assertEquals(1000, exits[0], run);
+                assertEquals(1000, report.jobsDone, run);
+                assertTrue(report.totalWait >= 0, run);
+                assertTrue(report.getResponse().valueAt(99) > 0, run);
+            }
+        }
+    }
+
+    /*
+     * The job table admits jobs at the same times as the simulation on PCBs.
+     */
+    @Test
+    public void tableAdmitsAsPcbs() throws Exception {
+        Workload workload = new Workload(JobSource.open(SPREAD));
+        for (String algorithm : new String[] { "FCFS", "SJF", "RR" }) {
+            Report pcbs = new SimulationBuilder().workload(workload).policy(algorithm).quantum(10).run();
+            Report table = new SimulationBuilder().workload(workload).policy(algorithm).quantum(10).table(true).run();
+            assertEquals(pcbs.getFinalTime(), table.getFinalTime(), algorithm);
+            assertEquals(pcbs.totalWait, table.totalWait, algorithm);
+            assertEquals(1000, table.jobsDone, algorithm);
+        }
+    }
+
+    /*
+     * The job table refuses up front every policy it has no queues for, by what
+     * the policy says rather than its name, and jobs with deadlines or periods.
+     */
+    @Test
+    public void tableRefusesWhatItCannotRun(@TempDir Path dir) throws Exception {
+        SimulationBuilder builder = new SimulationBuilder().file(SPREAD).table(true).quantum(10);
+        for (String algorithm : new String[] { "SRTF", "MLFQ", "CFS", "EDF", "RM", "SJF:predict=exp" }) {
+            Exception e = assertThrows(Exception.class, () -> builder.policy(algorithm).run(), algorithm);
+            assertTrue(e.getMessage().contains("cannot run " + algorithm), e.getMessage());
+        }
+
+        // a policy added with ServiceLoader under a built in name is not taken for it
+        SchedulingPolicy plugin = new SchedulingPolicy() {
+            public String name() {
+                return "RR";
+            }
+
+            public ReadyQueue newReadyQueue() {
+                return new SJFReadyQueue();
+            }
+
+            public int slice(PCB process, int quantum) {
+                return process.bursts[process.curBurst];
+            }
+        };
+        assertThrows(Exception.class, () -> builder.policy(plugin).run());
+
+        Path due = dir.resolve("due.txt");
+        Files.writeString(due, "0 0 1 5 deadline=20\n1 3 1 5\n");
+        Exception e = assertThrows(Exception.class, () -> builder.policy("FCFS").file(due.toString()).run());
+        assertTrue(e.getMessage().contains("no deadlines or periods"), e.getMessage());
+    }
+
+    /*
+     * A preemptive policy only takes a core from its running process when no
+     * other core is idle, counting idle cores that already have a dispatch
+     * coming up.
+     */
+    @Test
+    public void noPreemptionWhileACoreIsIdle() throws Exception {
+        for (String algorithm : new String[] { "SRTF", "SRTF:predict=exp" }) {
+            // the job on each core, -1 while it is idle
+            int[] running = { -1, -1, -1, -1 };
+            String jobs = "gen:jobs=5000,seed=5,arrival=poisson:3";
+            Report report = TestRuns.run(algorithm, jobs, 4, (time, kind, flags, core, job, value) -> {
+                if (kind == EventLog.DISPATCH) {
+                    running[core] = job;
+                } else if (kind == EventLog.COMPLETE) {
+                    running[core] = -1;
+                } else if (kind == EventLog.PREEMPT) {
+                    for (int c = 0; c < running.length; c++) {
+                        assertTrue(running[c] != -1, algorithm + " preempted core " + core + " at " + time
+                                + " while core " + c + " was idle");
+                    }
+                    running[core] = -1;
+                }
+            });
+            assertTrue(report.preemptions > 0, algorithm);
+        }
+    }
+}
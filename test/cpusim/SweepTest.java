@@ -0,0 +1,87 @@
+package cpusim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * Checks the reading of sweep configurations, and that each configuration of a sweep gets the report a run of it on
+ * its own would.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class SweepTest {
+
+    @Test
+    public void rangesAndSteps() throws Exception {
+        ArrayList<SchedulingPolicy> policies = new ArrayList<>();
+        ArrayList<Integer> quanta = new ArrayList<>();
+        Sweep.parse("FCFS RR:2,10-30/10,7-9", policies, quanta);
+        assertEquals(List.of(0, 2, 10, 20, 30, 7, 8, 9), quanta);
+        assertEquals("FCFS", policies.get(0).name());
+        assertNotSame(policies.get(1), policies.get(2));
+    }
+
+    /*
+     * A range up to Integer.MAX_VALUE ends there rather than wrapping round to
+     * negative quanta.
+     */
+    @Test
+    public void rangeEndsAtLargestQuantum() throws Exception {
+        ArrayList<SchedulingPolicy> policies = new ArrayList<>();
+        ArrayList<Integer> quanta = new ArrayList<>();
+        Sweep.parse("RR:2147483640-2147483647/5,2147483646-2147483647", policies, quanta);
+        assertEquals(List.of(2147483640, 2147483645, 2147483646, 2147483647), quanta);
+    }
+
+    @Test
+    public void badStepsAreRefused() {
+        ArrayList<SchedulingPolicy> policies = new ArrayList<>();
+        ArrayList<Integer> quanta = new ArrayList<>();
+        assertThrows(Exception.class, () -> Sweep.parse("RR:1-10/0", policies, quanta));
+        assertThrows(Exception.class, () -> Sweep.parse("RR:1-10/-2", policies, quanta));
+        assertThrows(Exception.class, () -> Sweep.parse("RR:10-1", policies, quanta));
+    }
+
+    /*
+     * The configurations share one parsed workload and a builder per thread,
+     * taking whichever builder is free, yet each report is that of a run on
+     * its own.
+     */
+    @Test
+    public void runsMatchSingleRuns() throws Exception {
+        ArrayList<SchedulingPolicy> policies = new ArrayList<>();
+        ArrayList<Integer> quanta = new ArrayList<>();
+        Sweep.parse("FCFS SJF RR:2,5-25/5 SRTF MLFQ:boost=500 CFS SJF:predict=exp", policies, quanta);
+        int n = policies.size();
+        Workload workload = new Workload(JobSource.open("gen:jobs=1000,seed=12"));
+        ForkJoinPool pool = new ForkJoinPool(3);
+        ArrayBlockingQueue<SimulationBuilder> builders = new ArrayBlockingQueue<>(3);
+        for (int i = 0; i < 3; i++) {
+            builders.add(new SimulationBuilder().workload(workload).cores(2).output("quiet"));
+        }
+        Report[] reports = new Report[n];
+        int[] q = quanta.stream().mapToInt(Integer::intValue).toArray();
+        pool.invoke(new Sweep(builders, policies.toArray(new SchedulingPolicy[n]), q, reports, 0, n));
+        pool.shutdown();
+
+        for (int i = 0; i < n; i++) {
+            SchedulingPolicy policy = policies.get(i);
+            Report alone = new SimulationBuilder().workload(workload).cores(2).output("quiet")
+                    .policy(SchedulingPolicy.forName(policy.label())).quantum(q[i]).run();
+            assertEquals(alone.algo, reports[i].algo);
+            assertEquals(alone.getFinalTime(), reports[i].getFinalTime(), alone.algo);
+            assertEquals(alone.totalWait, reports[i].totalWait, alone.algo);
+            assertEquals(alone.totalTurnaround, reports[i].totalTurnaround, alone.algo);
+            assertEquals(alone.totalShots, reports[i].totalShots, alone.algo);
+        }
+    }
+}
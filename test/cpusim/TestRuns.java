@@ -0,0 +1,46 @@
+package cpusim;
+
+/*
+ * Runs a simulation for a test, handing every event it reports to the test as it happens, so the test can check what
+ * happened when as well as the final report, which has the per core table as a multi-core run's does.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+final class TestRuns {
+    static final int QUANTUM = 10;
+
+    private TestRuns() {
+    }
+
+    /*
+     * @param algorithm is the name of the policy, with any settings
+     *
+     * @param jobs is the job file or generator spec
+     *
+     * @param cores is the number of cores, at least 1
+     *
+     * @param recorder gets every event of the run
+     *
+     * @returns the report of the run
+     */
+    static Report run(String algorithm, String jobs, int cores, EventRecorder recorder) throws Exception {
+        return run(algorithm, jobs, cores, new IOSubsystem(), recorder);
+    }
+
+    /*
+     * @param io is the I/O devices
+     */
+    static Report run(String algorithm, String jobs, int cores, IOSubsystem io, EventRecorder recorder)
+            throws Exception {
+        SchedulingPolicy policy = SchedulingPolicy.forName(algorithm);
+        Report report = new Report(policy.label(), 0);
+        try (JobSource source = JobSource.open(jobs)) {
+            Simulation simulation = new Simulation(source, report, policy, QUANTUM, cores, io);
+            simulation.recordTo(recorder);
+            simulation.run();
+            report.setCores(simulation.cores);
+        }
+        return report;
+    }
+}
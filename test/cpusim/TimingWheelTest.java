@@ -0,0 +1,152 @@
+package cpusim;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * Checks the timing wheel against a TreeMap of due times under random adds and advances, starting just short of the
+ * points where the second, third and fourth wheels roll over, with timers from a few units to many millions ahead and
+ * jumps over long stretches of empty time.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class TimingWheelTest {
+
+    static final int STEPS = 20000;
+
+    // how far ahead timers are set, one scale per wheel
+    static final int[] SCALES = { 1 << 4, 1 << 9, 1 << 17, 1 << 25 };
+
+    /*
+     * Runs the wheel from a start time, checking that each advance hands back
+     * exactly the timers due by then, in order of time, and that nextTime
+     * never passes the earliest timer.
+     */
+    static void compare(int start, long seed) {
+        TimingWheel wheel = new TimingWheel();
+        IntQueue due = new IntQueue();
+        wheel.advance(start, due);
+        assertEquals(0, due.getSize());
+
+        TreeMap<Integer, ArrayList<Integer>> expected = new TreeMap<>();
+        HashMap<Integer, Integer> timeOf = new HashMap<>();
+        SplitMix64 random = new SplitMix64(seed);
+        int now = start;
+        int value = 0;
+        for (int step = 0; step < STEPS; step++) {
+            long r = random.nextLong() >>> 1;
+            if (r % 5 < 3) {
+
+                // a few timers, some already due or passed, which count as now
+                for (int n = 0; n <= r % 4; n++) {
+                    int scale = SCALES[(int) ((random.nextLong() >>> 1) % SCALES.length)];
+                    int time = now + (int) ((random.nextLong() >>> 1) % scale) - (r % 7 == 0 ? 3 : 0);
+                    wheel.add(time, value);
+                    expected.computeIfAbsent(Math.max(time, now), t -> new ArrayList<>()).add(value);
+                    timeOf.put(value, Math.max(time, now));
+                    value++;
+                }
+            } else {
+                int next = wheel.nextTime();
+                if (expected.isEmpty()) {
+                    assertEquals(Integer.MAX_VALUE, next);
+                } else {
+                    assertTrue(next >= now && next <= expected.firstKey(), "nextTime " + next + " at " + now);
+                }
+
+                // to just before the next time, to the earliest timer, or a jump past
+                // several, rarely one far enough to keep the clock well short of overflow
+                int to;
+                if (r % 3 == 0 && next != Integer.MAX_VALUE && next > now) {
+                    to = next - 1;
+                } else if (r % 3 == 1 && !expected.isEmpty()) {
+                    to = expected.firstKey();
+                } else {
+                    long jump = random.nextLong() >>> 1;
+                    int scale = SCALES[jump % 128 == 0 ? 3 : (int) (jump % 3)];
+                    to = now + (int) ((random.nextLong() >>> 1) % scale);
+                }
+                wheel.advance(to, due);
+                now = to;
+                check(expected, timeOf, due, now);
+            }
+            assertEquals(timeOf.size(), wheel.getSize());
+        }
+
+        wheel.advance(Integer.MAX_VALUE - 1, due);
+        check(expected, timeOf, due, Integer.MAX_VALUE - 1);
+        assertEquals(0, wheel.getSize());
+        assertEquals(Integer.MAX_VALUE, wheel.nextTime());
+    }
+
+    /*
+     * Takes the timers due by a time out of the TreeMap and checks the wheel
+     * handed back the same ones, time by time. Timers due at the same time may
+     * come out in any order, as they reach the lowest wheel at different times.
+     */
+    static void check(TreeMap<Integer, ArrayList<Integer>> expected, HashMap<Integer, Integer> timeOf, IntQueue due,
+            int now) {
+        int last = Integer.MIN_VALUE;
+        while (!expected.isEmpty() && expected.firstKey() <= now) {
+            int time = expected.firstKey();
+            ArrayList<Integer> values = expected.remove(time);
+            int[] want = new int[values.size()];
+            int[] got = new int[values.size()];
+            for (int k = 0; k < want.length; k++) {
+                want[k] = values.get(k);
+                assertTrue(due.getSize() > 0, "timers due at " + time + " missing at " + now);
+                got[k] = due.remove();
+                int at = timeOf.remove(got[k]);
+                assertTrue(at >= last, "timer due at " + at + " came after one due at " + last);
+                last = at;
+            }
+            Arrays.sort(want);
+            Arrays.sort(got);
+            assertArrayEquals(want, got, "timers due at " + time);
+        }
+        assertEquals(0, due.getSize(), "timers handed back early at " + now);
+    }
+
+    @Test
+    public void matchesTreeMapFromZero() {
+        compare(0, 1);
+    }
+
+    @Test
+    public void matchesTreeMapAcrossWheelBoundaries() {
+        compare((1 << 8) - 5, 2);
+        compare((1 << 16) - 300, 3);
+        compare((1 << 24) - 70000, 4);
+        compare(5 * (1 << 24) - 20, 5);
+    }
+
+    /*
+     * Clearing puts the wheel back to time 0 with no timers, reusing the nodes.
+     */
+    @Test
+    public void clearStartsOver() {
+        TimingWheel wheel = new TimingWheel();
+        IntQueue due = new IntQueue();
+        for (int k = 0; k < 100; k++) {
+            wheel.add(k * 1000, k);
+        }
+        wheel.advance(5000, due);
+        wheel.clear();
+        assertEquals(0, wheel.getSize());
+        assertEquals(Integer.MAX_VALUE, wheel.nextTime());
+        wheel.add(3, 7);
+        assertEquals(3, wheel.nextTime());
+        due = new IntQueue();
+        wheel.advance(3, due);
+        assertEquals(7, due.remove());
+    }
+}
@@ -0,0 +1,111 @@
+package cpusim;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/*
+ * Checks that a trace holds a slice for every time a job ran on a core or was blocked, adding up to the run, and that
+ * the ranges of jobs and time given cut it down to the slices that overlap them.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class TraceExporterTest {
+
+    static final String JOBS = "gen:jobs=500,seed=8";
+    static final Pattern SLICE = Pattern.compile(
+            "\\{\"ph\":\"X\",\"pid\":(\\d+),\"tid\":(\\d+),\"ts\":(\\d+),\"dur\":(\\d+),\"name\":\"[^\"]*\","
+                    + "\"args\":\\{\"job\":(\\d+),\"end\":\"[^\"]*\"\\}\\},?");
+
+    /*
+     * @returns pid, tid, start, length and job of every slice of a trace,
+     * checking each line is an event of the format.
+     */
+    static List<int[]> slices(Path trace) throws Exception {
+        List<String> lines = Files.readAllLines(trace);
+        assertTrue(lines.get(0).startsWith("{\"displayTimeUnit\":\"ms\",\"traceEvents\":["));
+        assertEquals("]}", lines.get(lines.size() - 1));
+        List<int[]> out = new ArrayList<>();
+        for (String line : lines.subList(1, lines.size() - 1)) {
+            if (line.startsWith("{\"ph\":\"M\"")) {
+                continue;
+            }
+            Matcher m = SLICE.matcher(line);
+            assertTrue(m.matches(), line);
+            int[] slice = new int[5];
+            for (int i = 0; i < 5; i++) {
+                slice[i] = Integer.parseInt(m.group(i + 1));
+            }
+            out.add(slice);
+        }
+        return out;
+    }
+
+    /*
+     * The slices on each core never overlap and add up to the time the core was
+     * busy, and every job is blocked once per I/O.
+     */
+    @Test
+    public void slicesAddUpToTheRun(@TempDir Path dir) throws Exception {
+        Path trace = dir.resolve("run.json");
+        Report report = new SimulationBuilder().file(JOBS).policy("RR").quantum(10).cores(2).output("quiet")
+                .trace(trace.toString(), null, null).run();
+        long[] busy = new long[2];
+        int[] lastEnd = new int[2];
+        int blocked = 0;
+        for (int[] slice : slices(trace)) {
+            if (slice[0] == TraceExporter.CPU) {
+                assertTrue(slice[2] >= lastEnd[slice[1]], "core " + slice[1] + " ran two jobs at " + slice[2]);
+                lastEnd[slice[1]] = slice[2] + slice[3];
+                busy[slice[1]] += slice[3];
+            } else {
+                assertEquals(TraceExporter.JOBS, slice[0]);
+                assertEquals(slice[4], slice[1]);
+                blocked++;
+            }
+        }
+        assertArrayEquals(report.getCoreBusy(), busy);
+
+        int ios = 0;
+        Generator generator = new Generator(JOBS);
+        while (generator.hasNext()) {
+            ios += generator.next().burstCount;
+        }
+        assertEquals(ios, blocked);
+        String all = Files.readString(trace);
+        for (int j = 0; j < 500; j++) {
+            assertTrue(all.contains("\"args\":{\"name\":\"job " + j + "\"}"), "job " + j + " has no track");
+        }
+    }
+
+    @Test
+    public void rangesCutTheTrace(@TempDir Path dir) throws Exception {
+        Path trace = dir.resolve("cut.json");
+        new SimulationBuilder().file(JOBS).policy("RR").quantum(10).cores(2).output("quiet")
+                .trace(trace.toString(), "100-149", "15000-20000").run();
+        List<int[]> slices = slices(trace);
+        assertTrue(slices.size() > 0);
+        for (int[] slice : slices) {
+            assertTrue(slice[4] >= 100 && slice[4] <= 149, "job " + slice[4]);
+            assertTrue(slice[2] <= 20000 && slice[2] + slice[3] >= 15000, "slice at " + slice[2]);
+        }
+
+        assertArrayEquals(new int[] { 7, 7 }, TraceExporter.range("7", "--trace-jobs"));
+        assertArrayEquals(new int[] { 0, Integer.MAX_VALUE }, TraceExporter.range(null, "--trace-jobs"));
+        for (String range : new String[] { "9-3", "-1", "x" }) {
+            assertThrows(Exception.class, () -> TraceExporter.range(range, "--trace-window"), range);
+        }
+    }
+}
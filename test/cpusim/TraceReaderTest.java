@@ -0,0 +1,79 @@
+package cpusim;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/*
+ * Checks that the text job reader refuses lines Integer.parseInt and the count field would not allow, and that it
+ * lets go of its file when closed.
+ *
+ * @author Jay Turnsek
+ * @date 2026-10-18
+ */
+public class TraceReaderTest {
+
+    @TempDir
+    Path dir;
+
+    TraceReader open(String text) throws Exception {
+        Path file = dir.resolve("jobs.txt");
+        Files.writeString(file, text);
+        return new TraceReader(file.toString());
+    }
+
+    /*
+     * @returns the message of the error reading the first job of the text.
+     */
+    String error(String text) throws Exception {
+        try (TraceReader reader = open(text)) {
+            return assertThrows(NumberFormatException.class, reader::next).getMessage();
+        }
+    }
+
+    @Test
+    public void readsJobsAndFields() throws Exception {
+        try (TraceReader reader = open("0 0 2 5 2147483647 io=3 dev=1\n1 -2147483648 1 7 deadline=20\n")) {
+            PCB first = reader.next();
+            assertArrayEquals(new int[] { 5, Integer.MAX_VALUE }, first.bursts);
+            assertArrayEquals(new int[] { 3 }, first.io);
+            assertEquals(1, first.device);
+            PCB second = reader.next();
+            assertEquals(Integer.MIN_VALUE, second.arr);
+            assertEquals(20, second.deadline);
+            assertEquals(2, reader.total());
+        }
+    }
+
+    @Test
+    public void numbersTooLargeAreRefused() throws Exception {
+        assertTrue(error("1 0 1 99999999999\n").contains("too large"));
+        assertTrue(error("1 0 1 2147483648\n").contains("too large"));
+        assertTrue(error("1 -2147483649 1 5\n").contains("too large"));
+        assertTrue(error("1 0 1 5 deadline=99999999999\n").contains("too large"));
+    }
+
+    @Test
+    public void countMustMatchBursts() throws Exception {
+        assertTrue(error("1 0 2 5\n").contains("Line 1"));
+        String message = error("\n\n1 0 2 5 6 7\n");
+        assertTrue(message.contains("Line 3") && message.contains("3 bursts but a count of 2"), message);
+    }
+
+    @Test
+    public void closeLetsGoOfTheFile() throws Exception {
+        TraceReader reader = open("0 0 1 5\n1 0 1 5\n");
+        reader.next();
+        reader.close();
+        assertNull(reader.in);
+        assertNull(reader.peek());
+    }
+}